@@ -0,0 +1,70 @@
+package sqlancer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.ComparatorHelper;
+import sqlancer.Randomly;
+
+/**
+ * Measures the comparison of two result sets that contain the same values in a different order, which is the common
+ * case for the TLP and NoREC oracles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparatorHelperBenchmark {
+
+    @Param({ "0" })
+    public long seed;
+
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    private List<String> resultSet;
+    private List<String> shuffledResultSet;
+    private final List<String> combinedString = Arrays.asList("");
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Randomly r = new Randomly(seed);
+        resultSet = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // also produce duplicates and NULL values
+            if (Randomly.getBooleanWithRatherLowProbability()) {
+                resultSet.add(null);
+            } else {
+                resultSet.add(String.valueOf(r.getInteger() % size));
+            }
+        }
+        shuffledResultSet = new ArrayList<>(resultSet);
+        Collections.shuffle(shuffledResultSet, new Random(seed));
+    }
+
+    @Benchmark
+    public List<String> assumeResultSetsAreEqual() {
+        ComparatorHelper.assumeResultSetsAreEqual(resultSet, shuffledResultSet, "", combinedString, null);
+        return resultSet;
+    }
+
+}
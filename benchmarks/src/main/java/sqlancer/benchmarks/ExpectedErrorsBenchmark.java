@@ -0,0 +1,61 @@
+package sqlancer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.sqlite3.SQLite3Errors;
+
+/**
+ * Measures the matching of error messages against the expected errors that are typically added for a query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpectedErrorsBenchmark {
+
+    private static final String EXPECTED_ERROR = "[SQLITE_ERROR] SQL error or missing database (integer overflow)";
+    private static final String UNEXPECTED_ERROR = "[SQLITE_CORRUPT] The database disk image is malformed (database disk image is malformed)";
+
+    private ExpectedErrors errors;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        errors = new ExpectedErrors();
+        SQLite3Errors.addExpectedExpressionErrors(errors);
+        SQLite3Errors.addMatchQueryErrors(errors);
+        SQLite3Errors.addQueryErrors(errors);
+    }
+
+    @Benchmark
+    public boolean expectedError() {
+        return errors.errorIsExpected(EXPECTED_ERROR);
+    }
+
+    @Benchmark
+    public boolean unexpectedError() {
+        return errors.errorIsExpected(UNEXPECTED_ERROR);
+    }
+
+    @Benchmark
+    public boolean newExpectedErrors() {
+        ExpectedErrors newErrors = new ExpectedErrors();
+        SQLite3Errors.addExpectedExpressionErrors(newErrors);
+        return newErrors.errorIsExpected(EXPECTED_ERROR);
+    }
+
+}
@@ -0,0 +1,99 @@
+package sqlancer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+import sqlancer.postgres.PostgresGlobalState;
+import sqlancer.postgres.PostgresOptions;
+import sqlancer.postgres.PostgresSchema.PostgresColumn;
+import sqlancer.postgres.PostgresSchema.PostgresDataType;
+import sqlancer.postgres.PostgresSchema.PostgresTable;
+import sqlancer.postgres.PostgresSchema.PostgresTable.TableType;
+import sqlancer.postgres.PostgresVisitor;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.gen.PostgresExpressionGenerator;
+
+/**
+ * Measures the generation of random, typed PostgreSQL expressions and their rendering to SQL strings. The expressions
+ * refer to the columns of an in-memory table, so no database is needed; since no connection is set, collations are not
+ * tested.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostgresExpressionBenchmark {
+
+    private static final int NR_EXPRESSIONS = 1000;
+
+    @Param({ "0" })
+    public long seed;
+
+    private PostgresExpressionGenerator generator;
+    private final List<PostgresExpression> expressions = new ArrayList<>();
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PostgresGlobalState state = new PostgresGlobalState();
+        state.setRandomly(new Randomly(seed));
+        state.setMainOptions(new MainOptions());
+        PostgresOptions options = new PostgresOptions();
+        options.testCollations = false;
+        state.setDbmsSpecificOptions(options);
+        List<PostgresColumn> columns = new ArrayList<>();
+        columns.add(new PostgresColumn("c0", PostgresDataType.INT));
+        columns.add(new PostgresColumn("c1", PostgresDataType.TEXT));
+        columns.add(new PostgresColumn("c2", PostgresDataType.BOOLEAN));
+        columns.add(new PostgresColumn("c3", PostgresDataType.DECIMAL));
+        PostgresTable table = new PostgresTable("t0", columns, Collections.emptyList(), TableType.STANDARD,
+                Collections.emptyList(), false, true);
+        for (PostgresColumn c : columns) {
+            c.setTable(table);
+        }
+        generator = new PostgresExpressionGenerator(state).setColumns(columns);
+        for (int i = 0; i < NR_EXPRESSIONS; i++) {
+            expressions.add(generateExpression());
+        }
+    }
+
+    @Benchmark
+    public PostgresExpression generateExpression() {
+        // as during testing, expressions that cannot be generated are skipped
+        while (true) {
+            try {
+                return generator.generateExpression(0);
+            } catch (IgnoreMeException e) {
+                continue;
+            }
+        }
+    }
+
+    @Benchmark
+    public String asString() {
+        PostgresExpression expression = expressions.get(index);
+        index = (index + 1) % NR_EXPRESSIONS;
+        return PostgresVisitor.asString(expression);
+    }
+
+}
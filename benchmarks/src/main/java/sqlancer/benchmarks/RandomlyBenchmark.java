@@ -0,0 +1,51 @@
+package sqlancer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.Randomly;
+
+/**
+ * Measures the generation of random values, which are used by all generators.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomlyBenchmark {
+
+    @Param({ "0" })
+    public long seed;
+
+    private Randomly r;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        r = new Randomly(seed);
+    }
+
+    @Benchmark
+    public String getString() {
+        return r.getString();
+    }
+
+    @Benchmark
+    public long getInteger() {
+        return r.getInteger();
+    }
+
+}
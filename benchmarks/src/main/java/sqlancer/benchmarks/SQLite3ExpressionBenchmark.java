@@ -0,0 +1,95 @@
+package sqlancer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Visitor;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.gen.SQLite3ExpressionGenerator;
+import sqlancer.sqlite3.schema.SQLite3DataType;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column.SQLite3CollateSequence;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
+
+/**
+ * Measures the generation of random SQLite expressions and their rendering to SQL strings. The expressions refer to the
+ * columns of an in-memory table, so no database is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLite3ExpressionBenchmark {
+
+    private static final int NR_EXPRESSIONS = 1000;
+
+    @Param({ "0" })
+    public long seed;
+
+    private SQLite3ExpressionGenerator generator;
+    private final List<SQLite3Expression> expressions = new ArrayList<>();
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setRandomly(new Randomly(seed));
+        state.setMainOptions(new MainOptions());
+        state.setDbmsSpecificOptions(new SQLite3Options());
+        List<SQLite3Column> columns = new ArrayList<>();
+        columns.add(new SQLite3Column("c0", SQLite3DataType.INT, true, false, null));
+        columns.add(new SQLite3Column("c1", SQLite3DataType.TEXT, false, false, SQLite3CollateSequence.NOCASE));
+        columns.add(new SQLite3Column("c2", SQLite3DataType.REAL, false, false, null));
+        columns.add(new SQLite3Column("c3", SQLite3DataType.NONE, false, false, null));
+        SQLite3Table table = new SQLite3Table("t0", columns, TableKind.MAIN, false, false, false, false);
+        for (SQLite3Column c : columns) {
+            c.setTable(table);
+        }
+        generator = new SQLite3ExpressionGenerator(state).setColumns(columns);
+        for (int i = 0; i < NR_EXPRESSIONS; i++) {
+            expressions.add(generateExpression());
+        }
+    }
+
+    @Benchmark
+    public SQLite3Expression generateExpression() {
+        // as during testing, expressions that cannot be generated are skipped
+        while (true) {
+            try {
+                return generator.generateExpression();
+            } catch (IgnoreMeException e) {
+                continue;
+            }
+        }
+    }
+
+    @Benchmark
+    public String asString() {
+        SQLite3Expression expression = expressions.get(index);
+        index = (index + 1) % NR_EXPRESSIONS;
+        return SQLite3Visitor.asString(expression);
+    }
+
+}
@@ -0,0 +1,124 @@
+package sqlancer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adjusts how often the {@link StatementExecutor} performs each action, based on the success ratio and the cost
+ * (generation and execution time) that were observed for the action's most recent statements. Actions that yield more
+ * successfully-executed statements per second are performed more often, and actions that mostly fail or are slow, less
+ * often. The number of statements per database stays the same, and each action that the provider selected is still
+ * performed at least once.
+ *
+ * The observations are kept per thread, so that they carry over to the following databases of a thread without
+ * contention across threads. Since the weights depend on the observed latencies, executions with the same seed are no
+ * longer deterministic, which is why this is opt-in (see {@link MainOptions#useAdaptiveActionWeights()}).
+ */
+final class AdaptiveActionWeights {
+
+    // the number of most recent statements per action that are considered
+    static final int WINDOW_SIZE = 100;
+    // the bounds for the factor by which the provider-specific number of statements of an action is scaled
+    static final double MIN_FACTOR = 0.1;
+    static final double MAX_FACTOR = 4;
+
+    private static final ThreadLocal<AdaptiveActionWeights> INSTANCE = ThreadLocal
+            .withInitial(AdaptiveActionWeights::new);
+
+    private final Map<Object, Window> windows = new HashMap<>();
+
+    static AdaptiveActionWeights get() {
+        return INSTANCE.get();
+    }
+
+    void record(Object action, boolean success, long nanos) {
+        windows.computeIfAbsent(action, a -> new Window()).add(success, nanos);
+    }
+
+    /**
+     * Scales the number of statements that should be generated per action by the observed usefulness of the actions.
+     *
+     * @param actions
+     *            the actions
+     * @param counts
+     *            the number of statements per action, as determined by the provider, which is updated in place
+     *
+     * @return the total number of statements, which is the same as before, unless it had to be increased so that each
+     *         action with a non-zero count is still performed
+     */
+    int reweight(Object[] actions, int... counts) {
+        double[] usefulness = new double[actions.length];
+        double usefulnessSum = 0;
+        int nrObserved = 0;
+        int total = 0;
+        for (int i = 0; i < actions.length; i++) {
+            total += counts[i];
+            Window window = windows.get(actions[i]);
+            if (counts[i] != 0 && window != null && window.size != 0) {
+                usefulness[i] = window.getSuccessfulStatementsPerSecond();
+                usefulnessSum += usefulness[i];
+                nrObserved++;
+            } else {
+                usefulness[i] = Double.NaN;
+            }
+        }
+        if (nrObserved == 0 || usefulnessSum == 0) {
+            return total;
+        }
+        double meanUsefulness = usefulnessSum / nrObserved;
+        double[] factors = new double[actions.length];
+        double weightSum = 0;
+        for (int i = 0; i < actions.length; i++) {
+            double factor = Double.isNaN(usefulness[i]) ? 1
+                    : Math.max(MIN_FACTOR, Math.min(MAX_FACTOR, usefulness[i] / meanUsefulness));
+            factors[i] = factor;
+            weightSum += counts[i] * factor;
+        }
+        int newTotal = 0;
+        for (int i = 0; i < actions.length; i++) {
+            if (counts[i] != 0) {
+                counts[i] = Math.max(1, (int) Math.round(total * counts[i] * factors[i] / weightSum));
+                newTotal += counts[i];
+            }
+        }
+        return newTotal;
+    }
+
+    /**
+     * The outcomes and durations of the most recent statements of an action, stored in a ring buffer.
+     */
+    private static final class Window {
+
+        private final boolean[] successes = new boolean[WINDOW_SIZE];
+        private final long[] durations = new long[WINDOW_SIZE];
+        private int next;
+        private int size;
+        private int nrSuccesses;
+        private long totalNanos;
+
+        void add(boolean success, long nanos) {
+            if (size == WINDOW_SIZE) {
+                if (successes[next]) {
+                    nrSuccesses--;
+                }
+                totalNanos -= durations[next];
+            } else {
+                size++;
+            }
+            successes[next] = success;
+            durations[next] = nanos;
+            if (success) {
+                nrSuccesses++;
+            }
+            totalNanos += nanos;
+            next = (next + 1) % WINDOW_SIZE;
+        }
+
+        double getSuccessfulStatementsPerSecond() {
+            // avoid a division by zero for statements that are faster than the timer resolution
+            return nrSuccesses / (Math.max(totalNanos, 1) / 1e9);
+        }
+
+    }
+
+}
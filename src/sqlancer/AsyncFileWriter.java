@@ -0,0 +1,165 @@
+package sqlancer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A writer for the log of the current database (see {@link Main.StateLogger}), which is written after every statement.
+ * Writing only appends to an in-memory buffer; the buffer is written to the file by a background thread at least every
+ * {@link #FLUSH_INTERVAL_MS} milliseconds, so that the log is up to date also when the DBMS under test hangs or
+ * crashes. {@link #flush()} and {@link #close()} write the buffer synchronously. If the background thread fails to
+ * write the buffer, the failure is thrown by the next call of the writer.
+ */
+final class AsyncFileWriter extends Writer {
+
+    private static final long FLUSH_INTERVAL_MS = 100;
+    private static final int MAX_BUFFERED_CHARS = 1 << 20;
+    private static final Set<AsyncFileWriter> OPEN_WRITERS = ConcurrentHashMap.newKeySet();
+
+    static {
+        Thread flusher = new Thread(AsyncFileWriter::flushPeriodically, "sqlancer-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncFileWriter::drainAll));
+    }
+
+    private final Writer out;
+    // the buffer is guarded by this, the spare buffer and the file are guarded by out
+    private StringBuilder buffer = new StringBuilder();
+    private StringBuilder spareBuffer = new StringBuilder();
+    private boolean isClosed;
+    private boolean isOutClosed;
+    // the first failure of the background thread, guarded by this
+    private IOException failure;
+
+    AsyncFileWriter(File file) throws IOException {
+        this(new BufferedWriter(new FileWriter(file, false)));
+    }
+
+    AsyncFileWriter(Writer out) {
+        this.out = out;
+        OPEN_WRITERS.add(this);
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        boolean isFull;
+        synchronized (this) {
+            ensureOpen();
+            buffer.append(str);
+            isFull = buffer.length() >= MAX_BUFFERED_CHARS;
+        }
+        if (isFull) {
+            drain();
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        boolean isFull;
+        synchronized (this) {
+            ensureOpen();
+            buffer.append(cbuf, off, len);
+            isFull = buffer.length() >= MAX_BUFFERED_CHARS;
+        }
+        if (isFull) {
+            drain();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkFailure();
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+        }
+        OPEN_WRITERS.remove(this);
+        synchronized (out) {
+            try {
+                checkFailure();
+                drain();
+            } finally {
+                isOutClosed = true;
+                out.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (isClosed) {
+            throw new IOException("the writer is closed");
+        }
+        checkFailure();
+    }
+
+    private synchronized void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("writing the log failed", failure);
+        }
+    }
+
+    private void drain() throws IOException {
+        synchronized (out) {
+            if (isOutClosed) {
+                return;
+            }
+            synchronized (this) {
+                if (buffer.length() == 0) {
+                    return;
+                }
+                StringBuilder filledBuffer = buffer;
+                buffer = spareBuffer;
+                spareBuffer = filledBuffer;
+            }
+            out.append(spareBuffer);
+            spareBuffer.setLength(0);
+            out.flush();
+        }
+    }
+
+    private static void flushPeriodically() {
+        while (true) {
+            try {
+                Thread.sleep(FLUSH_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            drainAll();
+        }
+    }
+
+    /*
+     * Performs the work of the background thread. A failure is recorded before the file is released, so that it is
+     * visible to any call that drains the buffer afterwards.
+     */
+    static void drainAll() {
+        for (AsyncFileWriter writer : OPEN_WRITERS) {
+            synchronized (writer.out) {
+                try {
+                    writer.drain();
+                } catch (IOException e) {
+                    synchronized (writer) {
+                        if (writer.failure == null) {
+                            writer.failure = e;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
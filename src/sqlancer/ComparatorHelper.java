@@ -1,12 +1,14 @@
 package sqlancer;
 
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import sqlancer.common.query.ExpectedErrors;
@@ -15,6 +17,9 @@ import sqlancer.common.query.SQLancerResultSet;
 
 public final class ComparatorHelper {
 
+    private static final Pattern TRAILING_ZEROS = Pattern.compile("[\\.]0+$");
+    private static final long NULL_HASH = 0x9E3779B97F4A7C15L;
+
     private ComparatorHelper() {
     }
 
@@ -38,32 +43,103 @@ public final class ComparatorHelper {
 
     public static List<String> getResultSetFirstColumnAsString(String queryString, ExpectedErrors errors,
             SQLGlobalState<?, ?> state) throws SQLException {
-        if (state.getOptions().logEachSelect()) {
+        List<String> resultSet = new ArrayList<>();
+        readResultSetFirstColumn(queryString, errors, state, true, resultSet::add);
+        return resultSet;
+    }
+
+    /**
+     * Reads the first column of the query's result set row by row and passes each value, without its trailing zeros,
+     * to the consumer, so that the caller does not need to keep the result set in memory.
+     *
+     * @param result
+     *            the result set, which is not closed by this method
+     * @param consumer
+     *            the consumer of the values
+     *
+     * @return the number of rows
+     *
+     * @throws SQLException
+     *             if a row cannot be read
+     */
+    public static int forEachFirstColumnValue(SQLancerResultSet result, Consumer<String> consumer) throws SQLException {
+        int nrRows = 0;
+        while (result.next()) {
+            String value = result.getString(1);
+            if (value != null) {
+                value = removeTrailingZeros(value);
+            }
+            consumer.accept(value);
+            nrRows++;
+        }
+        return nrRows;
+    }
+
+    /**
+     * Counts the rows of the result set without reading their values.
+     *
+     * @param result
+     *            the result set, which is not closed by this method
+     *
+     * @return the number of rows
+     *
+     * @throws SQLException
+     *             if a row cannot be fetched
+     */
+    public static int countRows(SQLancerResultSet result) throws SQLException {
+        int nrRows = 0;
+        while (result.next()) {
+            nrRows++;
+        }
+        return nrRows;
+    }
+
+    /**
+     * Sums up the integer values in the first column of the result set, which is read row by row.
+     *
+     * @param result
+     *            the result set, which is not closed by this method
+     *
+     * @return the sum of the values, where NULL counts as zero
+     *
+     * @throws SQLException
+     *             if a row cannot be read
+     */
+    public static long sumFirstColumn(SQLancerResultSet result) throws SQLException {
+        long sum = 0;
+        while (result.next()) {
+            sum += result.getLong(1);
+        }
+        return sum;
+    }
+
+    /*
+     * The queries are only logged and passed to the differential execution when they are executed for the first time,
+     * and not when they are executed again to report a mismatch.
+     */
+    private static int readResultSetFirstColumn(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state,
+            boolean firstExecution, Consumer<String> consumer) throws SQLException {
+        if (firstExecution && state.getOptions().logEachSelect()) {
             // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
         }
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors);
-        List<String> resultSet = new ArrayList<>();
+        List<String> differentialResultSet = firstExecution && state.getDifferentialExecution() != null
+                ? new ArrayList<>() : null;
         SQLancerResultSet result = null;
         try {
             result = q.executeAndGet(state);
             if (result == null) {
                 throw new IgnoreMeException();
             }
-            while (result.next()) {
-                String resultTemp = result.getString(1);
-                if (resultTemp != null) {
-                    resultTemp = resultTemp.replaceAll("[\\.]0+$", ""); // Remove the trailing zeros as many DBMS treat
-                                                                        // it as non-bugs
-                }
-                resultSet.add(resultTemp);
+            int nrRows = forEachFirstColumnValue(result, differentialResultSet == null ? consumer : value -> {
+                consumer.accept(value);
+                differentialResultSet.add(value);
+            });
+            if (differentialResultSet != null) {
+                state.getDifferentialExecution().queryExecuted(queryString, differentialResultSet);
             }
+            return nrRows;
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
                 throw e;
@@ -72,8 +148,8 @@ public final class ComparatorHelper {
             if (e.getMessage() == null) {
                 throw new AssertionError(queryString, e);
             }
-            if (errors.errorIsExpected(e.getMessage())) {
-                throw new IgnoreMeException();
+            if (errors.exceptionIsExpected(e)) {
+                throw new IgnoreMeException("expected error");
             }
             throw new AssertionError(queryString, e);
         } finally {
@@ -81,7 +157,62 @@ public final class ComparatorHelper {
                 result.close();
             }
         }
-        return resultSet;
+    }
+
+    /**
+     * Executes the original query and the combined queries, and checks that the result set of the original query is
+     * equal to the union of the result sets of the combined queries, as multisets of the values in their first column.
+     * The rows are streamed into a multiset of the hashes of their values, so the values are only kept in memory if the
+     * result sets mismatch, in which case the queries are executed again to report the missing values.
+     *
+     * @param originalQueryString
+     *            the original query
+     * @param combinedString
+     *            the queries whose result sets are expected to add up to the one of the original query
+     * @param errors
+     *            the errors that are expected when executing the queries
+     * @param state
+     *            the global state
+     *
+     * @throws SQLException
+     *             if the result sets cannot be closed
+     */
+    public static void assumeResultSetsAreEqual(String originalQueryString, List<String> combinedString,
+            ExpectedErrors errors, SQLGlobalState<?, ?> state) throws SQLException {
+        assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state, UnaryOperator.identity());
+    }
+
+    public static void assumeResultSetsAreEqual(String originalQueryString, List<String> combinedString,
+            ExpectedErrors errors, SQLGlobalState<?, ?> state, UnaryOperator<String> canonicalizationRule)
+            throws SQLException {
+        HashMultiset hashes = new HashMultiset();
+        int size = readResultSetFirstColumn(originalQueryString, errors, state, true,
+                value -> hashes.add(hash(canonicalizationRule.apply(value))));
+        int secondSize = 0;
+        for (String queryString : combinedString) {
+            secondSize += readResultSetFirstColumn(queryString, errors, state, true,
+                    value -> hashes.remove(hash(canonicalizationRule.apply(value))));
+        }
+        if (size == secondSize && hashes.isBalanced()) {
+            return;
+        }
+        List<String> resultSet = new ArrayList<>();
+        readResultSetFirstColumn(originalQueryString, errors, state, false, resultSet::add);
+        List<String> secondResultSet = new ArrayList<>();
+        for (String queryString : combinedString) {
+            readResultSetFirstColumn(queryString, errors, state, false, secondResultSet::add);
+        }
+        assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString, state,
+                canonicalizationRule);
+        // the queries computed equal result sets when executing them again
+        String queryFormatString = "-- %s;\n-- cardinality: %d";
+        String firstQueryString = String.format(queryFormatString, originalQueryString, size);
+        String secondQueryString = String.format(queryFormatString,
+                combinedString.stream().collect(Collectors.joining(";")), secondSize);
+        state.getState().getLocalState().log(String.format("%s\n%s", firstQueryString, secondQueryString));
+        throw new AssertionError(String.format(
+                "the result sets mismatch, but not when executing the queries again!\n%s\n%s", firstQueryString,
+                secondQueryString));
     }
 
     public static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
@@ -97,14 +228,9 @@ public final class ComparatorHelper {
             throw new AssertionError(assertionMessage);
         }
 
-        Set<String> firstHashSet = new HashSet<>(resultSet);
-        Set<String> secondHashSet = new HashSet<>(secondResultSet);
-
-        if (!firstHashSet.equals(secondHashSet)) {
-            Set<String> firstResultSetMisses = new HashSet<>(firstHashSet);
-            firstResultSetMisses.removeAll(secondHashSet);
-            Set<String> secondResultSetMisses = new HashSet<>(secondHashSet);
-            secondResultSetMisses.removeAll(firstHashSet);
+        if (!areEqualMultisets(resultSet, secondResultSet)) {
+            List<String> firstResultSetMisses = getMisses(resultSet, secondResultSet);
+            List<String> secondResultSetMisses = getMisses(secondResultSet, resultSet);
             String queryFormatString = "-- %s;\n-- misses: %s";
             String firstQueryString = String.format(queryFormatString, originalQueryString, firstResultSetMisses);
             String secondQueryString = String.format(queryFormatString,
@@ -117,6 +243,65 @@ public final class ComparatorHelper {
         }
     }
 
+    // Remove the trailing zeros as many DBMS treat it as non-bugs
+    static String removeTrailingZeros(String value) {
+        if (value.indexOf('.') == -1) {
+            return value;
+        }
+        return TRAILING_ZEROS.matcher(value).replaceAll("");
+    }
+
+    /*
+     * The result sets are compared as multisets of the 64-bit hashes of their values, which only requires memory for
+     * the distinct values; the values themselves are only compared to report a mismatch.
+     */
+    static boolean areEqualMultisets(List<String> resultSet, List<String> secondResultSet) {
+        HashMultiset hashes = new HashMultiset();
+        for (String value : resultSet) {
+            hashes.add(hash(value));
+        }
+        for (String value : secondResultSet) {
+            hashes.remove(hash(value));
+        }
+        return hashes.isBalanced();
+    }
+
+    // the values that occur more often in the first than in the second result set
+    static List<String> getMisses(List<String> resultSet, List<String> secondResultSet) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String value : resultSet) {
+            counts.merge(value, 1, Integer::sum);
+        }
+        for (String value : secondResultSet) {
+            counts.merge(value, -1, Integer::sum);
+        }
+        List<String> misses = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                misses.add(entry.getKey());
+            }
+        }
+        return misses;
+    }
+
+    // FNV-1a followed by the finalizer of MurmurHash3
+    private static long hash(String value) {
+        if (value == null) {
+            return NULL_HASH;
+        }
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
     public static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
             String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state,
             UnaryOperator<String> canonicalizationRule) {
@@ -129,53 +314,39 @@ public final class ComparatorHelper {
                 combinedString, state);
     }
 
-    public static List<String> getCombinedResultSet(String firstQueryString, String secondQueryString,
-            String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
-            ExpectedErrors errors) throws SQLException {
-        List<String> secondResultSet;
+    /**
+     * Returns the queries whose result sets add up to the one of the original query, to be passed to
+     * {@link #assumeResultSetsAreEqual(String, List, ExpectedErrors, SQLGlobalState)}.
+     *
+     * @param firstQueryString
+     *            the query for the predicate
+     * @param secondQueryString
+     *            the query for the negated predicate
+     * @param thirdQueryString
+     *            the query for the predicate being NULL
+     * @param asUnion
+     *            whether to combine the queries using UNION ALL, or to execute them separately
+     *
+     * @return the combined queries
+     */
+    public static List<String> getCombinedQueryStrings(String firstQueryString, String secondQueryString,
+            String thirdQueryString, boolean asUnion) {
         if (asUnion) {
-            String unionString = firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL "
-                    + thirdQueryString;
-            combinedString.add(unionString);
-            secondResultSet = getResultSetFirstColumnAsString(unionString, errors, state);
+            return Arrays.asList(
+                    firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL " + thirdQueryString);
         } else {
-            secondResultSet = new ArrayList<>();
-            secondResultSet.addAll(getResultSetFirstColumnAsString(firstQueryString, errors, state));
-            secondResultSet.addAll(getResultSetFirstColumnAsString(secondQueryString, errors, state));
-            secondResultSet.addAll(getResultSetFirstColumnAsString(thirdQueryString, errors, state));
-            combinedString.add(firstQueryString);
-            combinedString.add(secondQueryString);
-            combinedString.add(thirdQueryString);
+            return Arrays.asList(firstQueryString, secondQueryString, thirdQueryString);
         }
-        return secondResultSet;
     }
 
-    public static List<String> getCombinedResultSetNoDuplicates(String firstQueryString, String secondQueryString,
-            String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
-            ExpectedErrors errors) throws SQLException {
-        String unionString;
+    public static List<String> getCombinedQueryStringsNoDuplicates(String firstQueryString, String secondQueryString,
+            String thirdQueryString, boolean asUnion) {
         if (asUnion) {
-            unionString = firstQueryString + " UNION " + secondQueryString + " UNION " + thirdQueryString;
+            return Arrays.asList(firstQueryString + " UNION " + secondQueryString + " UNION " + thirdQueryString);
         } else {
-            unionString = "SELECT DISTINCT * FROM (" + firstQueryString + " UNION ALL " + secondQueryString
-                    + " UNION ALL " + thirdQueryString + ")";
+            return Arrays.asList("SELECT DISTINCT * FROM (" + firstQueryString + " UNION ALL " + secondQueryString
+                    + " UNION ALL " + thirdQueryString + ")");
         }
-        List<String> secondResultSet;
-        combinedString.add(unionString);
-        secondResultSet = getResultSetFirstColumnAsString(unionString, errors, state);
-        return secondResultSet;
     }
 
-    public static List<String> getIntersectedResultSet(String firstQueryString, String secondQueryString, 
-            List<String> combinedString, SQLGlobalState<?, ?> state,
-            ExpectedErrors errors) throws SQLException {
-        String intersectString;
-        intersectString = firstQueryString + " INTERSECT " + secondQueryString;
-        List<String> secondResultSet;
-        combinedString.add(intersectString);
-        secondResultSet = getResultSetFirstColumnAsString(intersectString, errors, state);
-        return secondResultSet;
-    }
-
-
 }
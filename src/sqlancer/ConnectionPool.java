@@ -0,0 +1,98 @@
+package sqlancer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the administrative connections of server-based DBMSs open across the databases that a thread generates.
+ * Providers use such connections, for example, to drop and create the database to be tested; establishing a new
+ * connection for every database, including the TLS and authentication handshakes, is comparably expensive. Since each
+ * thread generates its databases sequentially, the connections are kept per thread.
+ */
+public final class ConnectionPool {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private static final ThreadLocal<Map<String, Connection>> CONNECTIONS = ThreadLocal.withInitial(HashMap::new);
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection connect() throws SQLException;
+    }
+
+    private ConnectionPool() {
+    }
+
+    /**
+     * Returns a connection of the calling thread to the given URL, which is only established if the thread does not yet
+     * have a usable connection. The connection must not be closed by the caller.
+     *
+     * @param url
+     *            the JDBC URL, which identifies the connection
+     * @param factory
+     *            establishes a new connection to the URL
+     * @param resetStatement
+     *            the statement that discards the session state of a reused connection (e.g., DISCARD ALL), or
+     *            {@code null} if the session state does not need to be reset
+     *
+     * @return the connection
+     *
+     * @throws SQLException
+     *             if a new connection cannot be established
+     */
+    public static Connection getConnection(String url, ConnectionFactory factory, String resetStatement)
+            throws SQLException {
+        Map<String, Connection> connections = CONNECTIONS.get();
+        Connection con = connections.get(url);
+        if (con != null) {
+            if (reset(con, resetStatement)) {
+                return con;
+            }
+            closeQuietly(con);
+        }
+        con = factory.connect();
+        connections.put(url, con);
+        return con;
+    }
+
+    /**
+     * Closes the connections of the calling thread.
+     */
+    public static void closeConnections() {
+        Map<String, Connection> connections = CONNECTIONS.get();
+        for (Connection con : connections.values()) {
+            closeQuietly(con);
+        }
+        connections.clear();
+    }
+
+    /*
+     * A reused connection might have been terminated by the server in the meantime, for example, due to a crash, in
+     * which case a new connection needs to be established.
+     */
+    private static boolean reset(Connection con, String resetStatement) {
+        try {
+            if (resetStatement == null) {
+                return con.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute(resetStatement);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection con) {
+        try {
+            con.close();
+        } catch (SQLException e) {
+            // the connection is not used anymore
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package sqlancer;
+
+/**
+ * Signals that no further statements can be executed on the current database, for example, because its connection was
+ * left interrupted by a cancelled statement (see {@link StatementWatchdog}). Unlike an {@link IgnoreMeException}, which
+ * is caught to skip a single statement or test case, it is only caught once the database is abandoned, so that loops
+ * that retry failed statements cannot spin on the unusable connection.
+ */
+public class DatabaseAbandonedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DatabaseAbandonedException(String reason) {
+        super(reason, null, false, false);
+    }
+
+    /**
+     * Checks whether the throwable or any of its causes signals that the database was abandoned, since code that
+     * catches any exception might have wrapped it (e.g., in an {@link AssertionError}).
+     *
+     * @param t
+     *            the throwable
+     *
+     * @return whether the database was abandoned
+     */
+    public static boolean isCause(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseAbandonedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
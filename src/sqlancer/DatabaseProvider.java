@@ -32,6 +32,65 @@ public interface DatabaseProvider<G extends GlobalState<O, ?, C>, O extends DBMS
 
     C createDatabase(G globalState) throws Exception;
 
+    /**
+     * Whether the provider can clone databases from a snapshot of a generated database. Only if this is the case,
+     * {@link #createSnapshot(GlobalState)}, {@link #createDatabaseFromSnapshot(GlobalState)}, and
+     * {@link #dropSnapshot(GlobalState)} are called, which the provider must then override; by default, no snapshot is
+     * created and every database is generated from scratch.
+     *
+     * @return true if databases can be cloned from snapshots
+     */
+    default boolean supportsSnapshots() {
+        return false;
+    }
+
+    /**
+     * Creates a snapshot of the database after it has been generated, from which further databases can be cloned using
+     * {@link #createDatabaseFromSnapshot(GlobalState)}. This is only called if {@link #supportsSnapshots()} holds.
+     *
+     * @param globalState
+     *            the state of the generated database
+     *
+     * @return whether a snapshot was created, which is not the case if the state of the database cannot be fully
+     *         captured
+     *
+     * @throws Exception
+     *             if creating the snapshot fails
+     */
+    default boolean createSnapshot(G globalState) throws Exception {
+        return false;
+    }
+
+    /**
+     * Drops the snapshot that was created by {@link #createSnapshot(GlobalState)}, once no further databases are cloned
+     * from it or the thread that created it stops. This is called by the thread that created the snapshot, possibly
+     * after its database was abandoned or an exception was thrown.
+     *
+     * @param globalState
+     *            the state of the database from which the snapshot was created
+     *
+     * @throws Exception
+     *             if dropping the snapshot fails
+     */
+    default void dropSnapshot(G globalState) throws Exception {
+    }
+
+    /**
+     * Creates a database as a clone of the snapshot that was last created by {@link #createSnapshot(GlobalState)}. This
+     * is only called if {@link #supportsSnapshots()} holds and a snapshot was created.
+     *
+     * @param globalState
+     *            the state created for the cloned database
+     *
+     * @return the connection to the cloned database
+     *
+     * @throws Exception
+     *             if cloning the database fails
+     */
+    default C createDatabaseFromSnapshot(G globalState) throws Exception {
+        return createDatabase(globalState);
+    }
+
     /**
      * The DBMS name is used to name the log directory and command to test the respective DBMS.
      *
@@ -0,0 +1,119 @@
+package sqlancer;
+
+import java.util.List;
+
+import sqlancer.common.query.Query;
+
+/**
+ * Keeps track of a snapshot of a generated database, from which a thread can clone further databases instead of
+ * generating them from scratch. The snapshot itself (e.g., a copy of the database file) is managed by the
+ * {@link DatabaseProvider}; this class records the statements that generated it, so that the statements can be logged
+ * for every database cloned from it. The snapshot is dropped when it is released, which the owning thread also does
+ * when it stops, so that a snapshot is not left behind after an exception.
+ */
+public final class DatabaseSnapshot {
+
+    @FunctionalInterface
+    public interface SnapshotDropper {
+        void drop() throws Exception;
+    }
+
+    private final int nrClones;
+    private StatementHistory statements;
+    private SnapshotDropper dropper;
+    private int remainingClones;
+    private boolean isClone;
+
+    public DatabaseSnapshot(int nrClones) {
+        if (nrClones <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.nrClones = nrClones;
+    }
+
+    /**
+     * Determines whether the next database should be cloned from the snapshot, or whether it should be generated.
+     *
+     * @return true if the next database should be cloned from the snapshot
+     */
+    public boolean startNextDatabase() {
+        isClone = statements != null && remainingClones > 0;
+        if (isClone) {
+            remainingClones--;
+        } else {
+            release();
+        }
+        return isClone;
+    }
+
+    /**
+     * Whether the current database was cloned from the snapshot, in which case it does not need to be generated.
+     *
+     * @return true if the current database is a clone
+     */
+    public boolean isClone() {
+        return isClone;
+    }
+
+    /**
+     * Whether the current database is the last one cloned from the snapshot, after which the snapshot can be dropped.
+     *
+     * @return true if the current database is the last clone
+     */
+    public boolean isLastClone() {
+        return isClone && remainingClones == 0;
+    }
+
+    /**
+     * Records that a snapshot of the current database has been created.
+     *
+     * @param generatingStatements
+     *            the statements that were used to generate the database
+     * @param dropper
+     *            drops the snapshot once it is released
+     */
+    public void capture(List<Query<?>> generatingStatements, SnapshotDropper dropper) {
+        release();
+        this.dropper = dropper;
+        // a separate history, since the one of the generated database is released with it; older statements are spilled
+        statements = new StatementHistory();
+        for (Query<?> q : generatingStatements) {
+            statements.add(q);
+        }
+        remainingClones = nrClones;
+    }
+
+    /**
+     * Returns the statements that generated the snapshot. As for {@link StateToReproduce#getStatements()}, only the
+     * most recent statements are kept in memory, so the other statements are read back from a temporary file.
+     *
+     * @return the generating statements
+     */
+    public List<Query<?>> getStatements() {
+        if (statements == null) {
+            throw new IllegalStateException();
+        }
+        return statements.asList();
+    }
+
+    /**
+     * Drops the snapshot and releases the resources used to store the generating statements, after which no further
+     * databases are cloned. Since this is also called when the owning thread stops, a failure to drop the snapshot is
+     * only reported.
+     */
+    public void release() {
+        if (dropper != null) {
+            try {
+                dropper.drop();
+            } catch (Exception e) {
+                System.err.println("Could not drop the database snapshot: " + e.getMessage());
+            }
+            dropper = null;
+        }
+        if (statements != null) {
+            statements.close();
+            statements = null;
+        }
+    }
+
+}
@@ -0,0 +1,311 @@
+package sqlancer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.regex.Pattern;
+
+import sqlancer.GlobalState.BatchOutcome;
+import sqlancer.common.schema.AbstractTable;
+
+/**
+ * Sends the workload of the DBMS under test to further DBMSs and checks that they compute the same results (see
+ * {@link MainOptions#getDifferentialDBMSs()}). The statements that were executed on the DBMS under test are executed in
+ * the same order on the other DBMSs, including the failed ones, which might still have had an effect (e.g., a partially
+ * executed INSERT), and the queries whose results are fetched using {@link ComparatorHelper} as well as the contents of
+ * the tables after generating the database are compared. Each other DBMS is driven by its own thread, which receives
+ * the statements through a bounded queue, so the DBMSs execute them concurrently, and the generating thread only blocks
+ * once the queue of the slowest DBMS is full.
+ *
+ * Since the statements are generated for the DBMS under test, the other DBMSs might not support them. Once a statement
+ * succeeds on only one of the DBMSs, the database of the other DBMS is considered to have diverged, and its results are
+ * no longer compared for the current database. This also applies to any failed statement within an explicit
+ * transaction, since some DBMSs abort the transaction (e.g., PostgreSQL rolls back on the subsequent COMMIT), while
+ * others do not. Queries that fail on another DBMS are skipped.
+ */
+final class DifferentialExecution {
+
+    private static final Task END = new Task(null, null, false, true);
+    private static final Task DIVERGE = new Task(null, null, false, false);
+
+    private static final Pattern BEGIN = Pattern.compile("^\\s*(BEGIN|START\\s+TRANSACTION)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern END_TRANSACTION = Pattern.compile(
+            "^\\s*(COMMIT|END|ABORT|ROLLBACK(?!\\s+(WORK\\s+|TRANSACTION\\s+)?TO\\b))\\b", Pattern.CASE_INSENSITIVE);
+
+    private final String dbmsName;
+    private final int queueSize;
+    private final List<Mirror> mirrors = new ArrayList<>();
+    private volatile AssertionError mismatch;
+    // only accessed by the generating thread
+    private boolean inTransaction;
+
+    DifferentialExecution(String dbmsName, int queueSize) {
+        this.dbmsName = dbmsName;
+        this.queueSize = queueSize;
+    }
+
+    void addMirror(String mirrorName, SQLConnection connection) {
+        Mirror mirror = new Mirror(mirrorName, connection, new ArrayBlockingQueue<>(queueSize));
+        mirrors.add(mirror);
+        mirror.thread.setName(Thread.currentThread().getName() + "-" + mirrorName);
+        mirror.thread.setDaemon(true);
+        mirror.thread.start();
+    }
+
+    void statementExecuted(String statement, boolean success) {
+        if (!success && inTransaction) {
+            submit(DIVERGE);
+            return;
+        }
+        if (success && BEGIN.matcher(statement).find()) {
+            inTransaction = true;
+        } else if (END_TRANSACTION.matcher(statement).find()) {
+            // even a failed COMMIT ends the transaction
+            inTransaction = false;
+        }
+        submit(new Task(statement, null, false, success));
+    }
+
+    /**
+     * Forwards a statement that was executed as part of a batch. Statements that were not executed are executed again
+     * individually, so they are forwarded then; however, the batch failed, which aborts an explicit transaction in some
+     * DBMSs, as any other failed statement does.
+     *
+     * @param statement
+     *            the statement
+     * @param outcome
+     *            the outcome of the statement in the batch
+     */
+    void statementExecuted(String statement, BatchOutcome outcome) {
+        switch (outcome) {
+        case EXECUTED:
+            statementExecuted(statement, true);
+            break;
+        case FAILED:
+            statementExecuted(statement, false);
+            break;
+        case NOT_EXECUTED:
+            if (inTransaction) {
+                submit(DIVERGE);
+            }
+            break;
+        default:
+            throw new AssertionError(outcome);
+        }
+    }
+
+    void queryExecuted(String query, List<String> firstColumn) {
+        submit(new Task(query, new ArrayList<>(firstColumn), false, true));
+    }
+
+    /**
+     * Compares the contents of all tables of the DBMS under test with those of the other DBMSs.
+     *
+     * @param globalState
+     *            the global state of the DBMS under test
+     *
+     * @throws SQLException
+     *             if the tables cannot be read on the DBMS under test
+     */
+    void compareTables(GlobalState<?, ?, ?> globalState) throws SQLException {
+        SQLConnection connection = (SQLConnection) globalState.getConnection();
+        for (AbstractTable<?, ?, ?> table : globalState.getSchema().getDatabaseTables()) {
+            String query = "SELECT * FROM " + table.getName();
+            submit(new Task(query, getRows(connection, query, true), true, true));
+        }
+    }
+
+    /**
+     * Waits until the other DBMSs have processed all statements and reports the first mismatch, if any.
+     *
+     * @throws AssertionError
+     *             if another DBMS computed a different result
+     */
+    void finish() {
+        for (Mirror mirror : mirrors) {
+            put(mirror, END);
+        }
+        for (Mirror mirror : mirrors) {
+            mirror.join();
+        }
+        close();
+        checkMismatch();
+    }
+
+    /**
+     * Discards the statements that the other DBMSs have not yet executed, and closes their connections.
+     */
+    void close() {
+        for (Mirror mirror : mirrors) {
+            mirror.queue.clear();
+            // only the generating thread adds to the queue, so there is space after clearing it
+            mirror.queue.add(END);
+        }
+        for (Mirror mirror : mirrors) {
+            mirror.join();
+            try {
+                mirror.connection.close();
+            } catch (SQLException e) {
+                // the connection is not used anymore
+            }
+            mirror.recordMetrics();
+        }
+        mirrors.clear();
+    }
+
+    private void submit(Task task) {
+        checkMismatch();
+        for (Mirror mirror : mirrors) {
+            put(mirror, task);
+        }
+    }
+
+    private static void put(Mirror mirror, Task task) {
+        try {
+            mirror.queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IgnoreMeException();
+        }
+    }
+
+    private void checkMismatch() {
+        AssertionError error = mismatch;
+        if (error != null) {
+            throw new AssertionError(error.getMessage(), error);
+        }
+    }
+
+    private synchronized void reportMismatch(AssertionError error) {
+        if (mismatch == null) {
+            mismatch = error;
+        }
+    }
+
+    static List<String> getRows(SQLConnection connection, String query, boolean allColumns) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement s = connection.createStatement(); ResultSet rs = s.executeQuery(query)) {
+            int nrColumns = allColumns ? rs.getMetaData().getColumnCount() : 1;
+            while (rs.next()) {
+                List<String> values = new ArrayList<>();
+                for (int i = 1; i <= nrColumns; i++) {
+                    String value = rs.getString(i);
+                    values.add(value == null ? null : ComparatorHelper.removeTrailingZeros(value));
+                }
+                rows.add(allColumns ? values.toString() : values.get(0));
+            }
+        }
+        return rows;
+    }
+
+    private static final class Task {
+
+        private final String sql;
+        // the result on the DBMS under test, or null for statements whose result is not compared
+        private final List<String> expectedResult;
+        private final boolean allColumns;
+        // whether the statement succeeded on the DBMS under test
+        private final boolean success;
+
+        Task(String sql, List<String> expectedResult, boolean allColumns, boolean success) {
+            this.sql = sql;
+            this.expectedResult = expectedResult;
+            this.allColumns = allColumns;
+            this.success = success;
+        }
+
+    }
+
+    private final class Mirror implements Runnable {
+
+        private final String mirrorName;
+        private final SQLConnection connection;
+        private final BlockingQueue<Task> queue;
+        private final Thread thread = new Thread(this);
+        private boolean diverged;
+        private long nrEqual;
+        private long nrSkipped;
+        private long nrMismatches;
+
+        Mirror(String mirrorName, SQLConnection connection, BlockingQueue<Task> queue) {
+            this.mirrorName = mirrorName;
+            this.connection = connection;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Task task = queue.take();
+                    if (task == END) {
+                        return;
+                    }
+                    if (task == DIVERGE) {
+                        diverged = true;
+                    }
+                    if (!diverged && mismatch == null) {
+                        process(task);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // the database is closed
+            }
+        }
+
+        private void process(Task task) {
+            if (task.expectedResult == null) {
+                boolean success;
+                try (Statement s = connection.createStatement()) {
+                    s.execute(task.sql);
+                    success = true;
+                } catch (Exception e) {
+                    success = false;
+                }
+                if (success != task.success) {
+                    diverged = true;
+                }
+                return;
+            }
+            List<String> result;
+            try {
+                result = getRows(connection, task.sql, task.allColumns);
+            } catch (Exception e) {
+                nrSkipped++;
+                return;
+            }
+            if (ComparatorHelper.areEqualMultisets(task.expectedResult, result)) {
+                nrEqual++;
+            } else {
+                nrMismatches++;
+                reportMismatch(new AssertionError(String.format(
+                        "the results differ between %s and %s!%n-- %s;%n-- only in %s: %s%n-- only in %s: %s", dbmsName,
+                        mirrorName, task.sql, dbmsName, ComparatorHelper.getMisses(task.expectedResult, result),
+                        mirrorName, ComparatorHelper.getMisses(result, task.expectedResult))));
+            }
+        }
+
+        void join() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // called after the thread has terminated, so that no recorder is registered for the short-lived thread
+        void recordMetrics() {
+            Metrics.add(Metrics.DIFFERENTIAL_COMPARISONS, nrEqual, "mirror", mirrorName, "outcome", "equal");
+            Metrics.add(Metrics.DIFFERENTIAL_COMPARISONS, nrSkipped, "mirror", mirrorName, "outcome", "skipped");
+            Metrics.add(Metrics.DIFFERENTIAL_COMPARISONS, nrMismatches, "mirror", mirrorName, "outcome", "mismatch");
+            Metrics.add(Metrics.DIFFERENTIAL_DIVERGED_DATABASES, diverged ? 1 : 0, "mirror", mirrorName);
+        }
+
+    }
+
+}
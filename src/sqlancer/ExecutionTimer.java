@@ -2,21 +2,25 @@ package sqlancer;
 
 public final class ExecutionTimer {
 
-    private long startTime;
-    private long endTime;
+    private long startNanos;
+    private long endNanos;
 
     public ExecutionTimer start() {
-        startTime = System.currentTimeMillis();
+        startNanos = System.nanoTime();
         return this;
     }
 
     public ExecutionTimer end() {
-        endTime = System.currentTimeMillis();
+        endNanos = System.nanoTime();
         return this;
     }
 
+    public long getElapsedNanos() {
+        return endNanos - startNanos;
+    }
+
     public String asString() {
-        long timeMillis = endTime - startTime;
+        long timeMillis = getElapsedNanos() / 1_000_000;
         return timeMillis + "ms";
     }
 
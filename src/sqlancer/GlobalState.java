@@ -1,12 +1,16 @@
 package sqlancer;
 
+import java.util.Arrays;
+import java.util.List;
+
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.common.schema.AbstractSchema;
-import sqlancer.common.schema.AbstractTable;
 
 public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends AbstractSchema<?, ?>, C extends SQLancerDBConnection> {
 
+    private static final String NO_ACTION = "none";
+
     protected C databaseConnection;
     private Randomly r;
     private MainOptions options;
@@ -16,6 +20,9 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     private StateToReproduce state;
     private Main.QueryManager<C> manager;
     private String databaseName;
+    private DatabaseSnapshot databaseSnapshot;
+    private String currentAction = NO_ACTION;
+    private DifferentialExecution differentialExecution;
 
     public void setConnection(C con) {
         this.databaseConnection = con;
@@ -82,6 +89,22 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         this.databaseName = databaseName;
     }
 
+    public DatabaseSnapshot getDatabaseSnapshot() {
+        return databaseSnapshot;
+    }
+
+    public void setDatabaseSnapshot(DatabaseSnapshot databaseSnapshot) {
+        this.databaseSnapshot = databaseSnapshot;
+    }
+
+    DifferentialExecution getDifferentialExecution() {
+        return differentialExecution;
+    }
+
+    void setDifferentialExecution(DifferentialExecution differentialExecution) {
+        this.differentialExecution = differentialExecution;
+    }
+
     private ExecutionTimer executePrologue(Query<?> q) throws Exception {
         boolean logExecutionTime = getOptions().logExecutionTime();
         ExecutionTimer timer = null;
@@ -103,16 +126,83 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
 
     protected abstract void executeEpilogue(Query<?> q, boolean success, ExecutionTimer timer) throws Exception;
 
+    /**
+     * Sets the action whose statements are executed next, which is recorded in the {@link Metrics}.
+     *
+     * @param action
+     *            the action, or {@code null} if the statements do not belong to an action
+     */
+    void setCurrentAction(Object action) {
+        currentAction = action == null ? NO_ACTION : action.toString();
+    }
+
+    private void recordStatementMetrics(Query<C> q, long startNanos, String outcome) {
+        String errorClass = q.getErrorClass();
+        Metrics.recordDuration(Metrics.STATEMENT_DURATION, System.nanoTime() - startNanos, "action", currentAction,
+                "outcome", outcome, "error_class",
+                errorClass != null ? errorClass : outcome.equals("success") ? "none" : "unknown");
+    }
+
+    private static String getOutcome(Throwable t) {
+        return t instanceof IgnoreMeException ? "ignored" : "unexpected_error";
+    }
+
     public boolean executeStatement(Query<C> q, String... fills) throws Exception {
         ExecutionTimer timer = executePrologue(q);
-        boolean success = manager.execute(q, fills);
+        boolean success;
+        try {
+            success = executeAndRecordMetrics(q, fills);
+        } catch (IgnoreMeException e) {
+            // e.g., the statement was cancelled, which has the same effect as a failure
+            notifyDifferentialExecution(q, false, fills);
+            throw e;
+        }
         executeEpilogue(q, success, timer);
+        notifyDifferentialExecution(q, success, fills);
         return success;
     }
 
+    private boolean executeAndRecordMetrics(Query<C> q, String... fills) throws Exception {
+        if (!Metrics.isEnabled()) {
+            return manager.execute(q, fills);
+        }
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = manager.execute(q, fills);
+        } catch (Exception | AssertionError e) {
+            recordStatementMetrics(q, start, getOutcome(e));
+            throw e;
+        }
+        recordStatementMetrics(q, start, success ? "success" : "expected_error");
+        return success;
+    }
+
+    /*
+     * Failed statements are sent as well, since they might still affect the database, for example, by aborting the
+     * current transaction.
+     */
+    private void notifyDifferentialExecution(Query<C> q, boolean success, String... fills) {
+        if (differentialExecution != null && fills.length == 0) {
+            differentialExecution.statementExecuted(q.getQueryString(), success);
+        }
+    }
+
     public SQLancerResultSet executeStatementAndGet(Query<C> q, String... fills) throws Exception {
         ExecutionTimer timer = executePrologue(q);
-        SQLancerResultSet result = manager.executeAndGet(q, fills);
+        SQLancerResultSet result;
+        if (Metrics.isEnabled()) {
+            long start = System.nanoTime();
+            try {
+                result = manager.executeAndGet(q, fills);
+            } catch (Exception | AssertionError e) {
+                recordStatementMetrics(q, start, getOutcome(e));
+                throw e;
+            }
+            recordStatementMetrics(q, start, result != null ? "success" : "expected_error");
+        } else {
+            result = manager.executeAndGet(q, fills);
+        }
         boolean success = result != null;
         if (success) {
             result.registerEpilogue(() -> {
@@ -126,6 +216,47 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         return result;
     }
 
+    /**
+     * Determines whether the given statement can be sent to the DBMS as part of a batch, see
+     * {@link #executeStatementBatch(List)}. Only statements that cannot affect the schema can be batched.
+     *
+     * @param q
+     *            the statement to be executed
+     *
+     * @return true if the statement can be batched
+     */
+    public boolean canBeBatched(Query<?> q) {
+        return false;
+    }
+
+    /**
+     * Sends the given statements to the DBMS as a single batch. Statements that were executed or that failed are logged
+     * in the order of the batch, and it is checked whether the failures were expected. Statements that were not
+     * executed, or whose effects were rolled back, because another statement in the batch failed are not logged and
+     * need to be executed individually using {@link #executeStatement(Query, String...)}.
+     *
+     * @param queries
+     *            the statements, for which {@link #canBeBatched(Query)} must hold
+     *
+     * @return for each statement, the outcome of its execution
+     *
+     * @throws Exception
+     *             if the batch could not be executed
+     */
+    public BatchOutcome[] executeStatementBatch(List<Query<C>> queries) throws Exception {
+        // without batch support, none of the statements is executed, so that they are executed individually
+        BatchOutcome[] outcomes = new BatchOutcome[queries.size()];
+        Arrays.fill(outcomes, BatchOutcome.NOT_EXECUTED);
+        return outcomes;
+    }
+
+    /**
+     * The outcome of a statement that was executed as part of a batch (see {@link #executeStatementBatch(List)}).
+     */
+    public enum BatchOutcome {
+        EXECUTED, FAILED, NOT_EXECUTED
+    }
+
     public S getSchema() {
         if (schema == null) {
             try {
@@ -143,11 +274,54 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
 
     public void updateSchema() throws Exception {
         setSchema(readSchema());
-        for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
-            table.recomputeCount();
+    }
+
+    /**
+     * Updates the schema after executing a statement that could have affected it. For a successful statement, the
+     * schema is derived from the current one using {@link #applySchemaChange(AbstractSchema, Query)}, and only re-read
+     * from the database if this is not possible. A failed statement always results in the schema being re-read, since
+     * some DBMSs roll back the current transaction when a statement fails.
+     *
+     * @param q
+     *            the statement that was executed
+     * @param success
+     *            whether the statement was executed successfully
+     *
+     * @throws Exception
+     *             if re-reading the schema fails
+     */
+    public void updateSchema(Query<?> q, boolean success) throws Exception {
+        if (schema == null || !success) {
+            updateSchema();
+            return;
+        }
+        S updatedSchema = applySchemaChange(schema, q);
+        if (updatedSchema == null) {
+            updateSchema();
+        } else {
+            setSchema(updatedSchema);
         }
     }
 
     protected abstract S readSchema() throws Exception;
 
+    /**
+     * Computes the schema that results from successfully executing the given statement on the given schema, without
+     * re-reading the whole schema. Implementations may query the database for the objects that the statement created,
+     * should only handle statements whose effect can be determined exactly, and should not modify the passed schema.
+     *
+     * @param currentSchema
+     *            the schema before the statement was executed
+     * @param q
+     *            the successfully-executed statement
+     *
+     * @return the new schema, or {@code null} if the schema needs to be re-read from the database
+     *
+     * @throws Exception
+     *             if querying the created objects fails
+     */
+    protected S applySchemaChange(S currentSchema, Query<?> q) throws Exception {
+        return null;
+    }
+
 }
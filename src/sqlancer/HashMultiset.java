@@ -0,0 +1,81 @@
+package sqlancer;
+
+/**
+ * A multiset of 64-bit hashes, implemented as an open-addressing hash table from a hash to its count. The counts can
+ * become negative, so that two collections can be compared by adding the elements of one and removing the elements of
+ * the other one.
+ */
+final class HashMultiset {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private boolean[] occupied = new boolean[INITIAL_CAPACITY];
+    private int size;
+    private int nrNonZeroCounts;
+
+    void add(long hash) {
+        update(hash, 1);
+    }
+
+    void remove(long hash) {
+        update(hash, -1);
+    }
+
+    /**
+     * Whether each hash has been added as often as it has been removed.
+     *
+     * @return true if all counts are zero
+     */
+    boolean isBalanced() {
+        return nrNonZeroCounts == 0;
+    }
+
+    private void update(long hash, int delta) {
+        int index = findSlot(keys, occupied, hash);
+        if (!occupied[index]) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+                index = findSlot(keys, occupied, hash);
+            }
+            occupied[index] = true;
+            keys[index] = hash;
+            size++;
+        }
+        int oldCount = counts[index];
+        counts[index] += delta;
+        if (oldCount == 0) {
+            nrNonZeroCounts++;
+        } else if (counts[index] == 0) {
+            nrNonZeroCounts--;
+        }
+    }
+
+    private static int findSlot(long[] keys, boolean[] occupied, long hash) {
+        int mask = keys.length - 1;
+        int index = (int) hash & mask;
+        while (occupied[index] && keys[index] != hash) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        long[] newKeys = new long[keys.length * 2];
+        int[] newCounts = new int[keys.length * 2];
+        boolean[] newOccupied = new boolean[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (occupied[i]) {
+                int index = findSlot(newKeys, newOccupied, keys[i]);
+                newOccupied[index] = true;
+                newKeys[index] = keys[i];
+                newCounts[index] = counts[i];
+            }
+        }
+        keys = newKeys;
+        counts = newCounts;
+        occupied = newOccupied;
+    }
+
+}
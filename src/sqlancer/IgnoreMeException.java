@@ -1,7 +1,34 @@
 package sqlancer;
 
+/**
+ * Signals that the current statement, test case, or database should be skipped, for example, because the generator
+ * cannot generate a valid statement for the current schema. Since it is used for control flow rather than to indicate
+ * an error, and is thrown for a large share of the generated test cases, it does not capture a stack trace.
+ */
 public class IgnoreMeException extends RuntimeException {
 
+    public static final String UNSPECIFIED_REASON = "unspecified";
+
     private static final long serialVersionUID = 1L;
 
+    private final String reason;
+
+    public IgnoreMeException() {
+        this(UNSPECIFIED_REASON);
+    }
+
+    /**
+     * @param reason
+     *            a short description of why the work was skipped, used as the {@code reason} label of
+     *            {@link Metrics#IGNORED}
+     */
+    public IgnoreMeException(String reason) {
+        super(reason, null, false, false);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
 }
@@ -0,0 +1,129 @@
+package sqlancer;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of durations in nanoseconds with logarithmically-sized buckets, similar to an HdrHistogram. Each power of
+ * two is divided into {@link #SUB_BUCKETS} buckets, so that the bucket of a value is at most 12.5% wider than the
+ * value, independent of its magnitude. The histogram is not thread safe.
+ */
+final class LatencyHistogram {
+
+    static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    private long[] counts = new long[0];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int index = getBucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, index + 1);
+        }
+        counts[index]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void add(LatencyHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getSum() {
+        return sum;
+    }
+
+    long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * Computes the value below which the given fraction of the recorded values lies.
+     *
+     * @param quantile
+     *            a value between 0 and 1
+     *
+     * @return the upper bound of the bucket that contains the quantile, or 0 if no values were recorded
+     */
+    long getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Counts the recorded values that are at most the given value. Values in the bucket that contains the given value
+     * are only counted if the whole bucket lies below it.
+     *
+     * @param nanos
+     *            the upper bound
+     *
+     * @return the number of values at most the upper bound
+     */
+    long getCountAtMost(long nanos) {
+        long result = 0;
+        for (int i = 0; i < counts.length && getBucketUpperBound(i) <= nanos; i++) {
+            result += counts[i];
+        }
+        return result;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lowerBound = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+}
@@ -16,9 +16,11 @@ import java.util.ServiceLoader;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.JCommander.Builder;
@@ -30,10 +32,12 @@ import sqlancer.common.query.SQLancerResultSet;
 public final class Main {
 
     public static final File LOG_DIRECTORY = new File("logs");
-    public static volatile AtomicLong nrQueries = new AtomicLong();
-    public static volatile AtomicLong nrDatabases = new AtomicLong();
-    public static volatile AtomicLong nrSuccessfulActions = new AtomicLong();
-    public static volatile AtomicLong nrUnsuccessfulActions = new AtomicLong();
+    // incremented by every thread for every statement, so striped counters avoid contention; they are only summed up
+    // when the statistics are printed or exported
+    public static final LongAdder nrQueries = new LongAdder();
+    public static final LongAdder nrDatabases = new LongAdder();
+    public static final LongAdder nrSuccessfulActions = new LongAdder();
+    public static final LongAdder nrUnsuccessfulActions = new LongAdder();
     public static volatile AtomicLong threadsShutdown = new AtomicLong();
     static boolean progressMonitorStarted;
 
@@ -50,9 +54,11 @@ public final class Main {
     public static final class StateLogger {
 
         private final File loggerFile;
+        private final File performanceIssueFile;
+        private boolean loggedPerformanceIssue;
         private File curFile;
         private FileWriter logFileWriter;
-        public FileWriter currentFileWriter;
+        public Writer currentFileWriter;
         private static final List<String> INITIALIZED_PROVIDER_NAMES = new ArrayList<>();
         private final boolean logEachSelect;
         private final DatabaseProvider<?, ?, ?> databaseProvider;
@@ -83,6 +89,7 @@ public final class Main {
             }
             ensureExistsAndIsEmpty(dir, provider);
             loggerFile = new File(dir, databaseName + ".log");
+            performanceIssueFile = new File(dir, databaseName + "-performance.log");
             logEachSelect = options.logEachSelect();
             if (logEachSelect) {
                 curFile = new File(dir, databaseName + "-cur.log");
@@ -124,13 +131,13 @@ public final class Main {
             return logFileWriter;
         }
 
-        public FileWriter getCurrentFileWriter() {
+        public Writer getCurrentFileWriter() {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
             if (currentFileWriter == null) {
                 try {
-                    currentFileWriter = new FileWriter(curFile, false);
+                    currentFileWriter = new AsyncFileWriter(curFile);
                 } catch (IOException e) {
                     throw new AssertionError(e);
                 }
@@ -165,8 +172,6 @@ public final class Main {
             }
             try {
                 getCurrentFileWriter().write(loggable.getLogString());
-
-                currentFileWriter.flush();
             } catch (IOException e) {
                 throw new AssertionError();
             }
@@ -190,11 +195,35 @@ public final class Main {
             }
         }
 
+        /**
+         * Logs a potential performance issue, such as a statement that was cancelled because it exceeded its time
+         * budget (see {@link StatementWatchdog}). For the first such issue of a database, the statements to reproduce
+         * the database are logged as well.
+         *
+         * @param description
+         *            the description of the issue (e.g., the reason for the cancellation)
+         * @param statement
+         *            the affected statement or statements
+         * @param state
+         *            the state of the database
+         */
+        public void logPerformanceIssue(String description, String statement, StateToReproduce state) {
+            try (FileWriter writer = new FileWriter(performanceIssueFile, loggedPerformanceIssue)) {
+                if (!loggedPerformanceIssue) {
+                    printState(writer, state);
+                    loggedPerformanceIssue = true;
+                }
+                writer.write("-- " + description + "\n" + statement + "\n");
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+
         private Loggable getStackTrace(Throwable e1) {
             return databaseProvider.getLoggableFactory().convertStacktraceToLoggable(e1);
         }
 
-        private void printState(FileWriter writer, StateToReproduce state) {
+        private void printState(Writer writer, StateToReproduce state) {
             StringBuilder sb = new StringBuilder();
 
             sb.append(databaseProvider.getLoggableFactory()
@@ -225,7 +254,7 @@ public final class Main {
             globalState.getState().logStatement(q);
             boolean success;
             success = q.execute(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
+            Main.nrSuccessfulActions.increment();
             return success;
         }
 
@@ -233,16 +262,16 @@ public final class Main {
             globalState.getState().logStatement(q);
             SQLancerResultSet result;
             result = q.executeAndGet(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
+            Main.nrSuccessfulActions.increment();
             return result;
         }
 
         public void incrementSelectQueryCount() {
-            Main.nrQueries.addAndGet(1);
+            Main.nrQueries.increment();
         }
 
         public void incrementCreateDatabase() {
-            Main.nrDatabases.addAndGet(1);
+            Main.nrDatabases.increment();
         }
 
     }
@@ -260,6 +289,8 @@ public final class Main {
         private StateLogger logger;
         private StateToReproduce stateToRepro;
         private final Randomly r;
+        private DatabaseSnapshot databaseSnapshot;
+        private List<DBMSExecutorFactory<?, ?, ?>> differentialFactories = new ArrayList<>();
 
         public DBMSExecutor(DatabaseProvider<G, O, C> provider, MainOptions options, O dbmsSpecificOptions,
                 String databaseName, Randomly r) {
@@ -282,6 +313,28 @@ public final class Main {
             return command;
         }
 
+        public void setDatabaseSnapshot(DatabaseSnapshot databaseSnapshot) {
+            this.databaseSnapshot = databaseSnapshot;
+        }
+
+        void setDifferentialFactories(List<DBMSExecutorFactory<?, ?, ?>> differentialFactories) {
+            this.differentialFactories = differentialFactories;
+        }
+
+        /**
+         * Creates a database on which the statements of another DBMS under test are replayed, see
+         * {@link DifferentialExecution}.
+         *
+         * @return the connection to the database
+         *
+         * @throws Exception
+         *             if the database cannot be created
+         */
+        SQLConnection createDifferentialDatabase() throws Exception {
+            G state = getInitializedGlobalState(r.getSeed());
+            return (SQLConnection) provider.createDatabase(state);
+        }
+
         public void testConnection() throws Exception {
             G state = getInitializedGlobalState(options.getRandomSeed());
             try (SQLancerDBConnection con = provider.createDatabase(state)) {
@@ -299,7 +352,14 @@ public final class Main {
             state.setDatabaseName(databaseName);
             state.setMainOptions(options);
             state.setDbmsSpecificOptions(command);
-            try (C con = provider.createDatabase(state)) {
+            state.setDatabaseSnapshot(databaseSnapshot);
+            boolean cloneDatabase = databaseSnapshot != null && databaseSnapshot.startNextDatabase();
+            try (C con = cloneDatabase ? provider.createDatabaseFromSnapshot(state) : provider.createDatabase(state)) {
+                if (cloneDatabase) {
+                    for (Query<?> q : databaseSnapshot.getStatements()) {
+                        stateToRepro.logStatement(q);
+                    }
+                }
                 QueryManager<C> manager = new QueryManager<>(state);
                 try {
                     stateToRepro.databaseVersion = con.getDatabaseVersion();
@@ -312,13 +372,44 @@ public final class Main {
                 if (options.logEachSelect()) {
                     logger.writeCurrent(state.getState());
                 }
-                provider.generateAndTestDatabase(state);
+                DifferentialExecution differential = null;
+                if (!differentialFactories.isEmpty()) {
+                    differential = new DifferentialExecution(provider.getDBMSName(),
+                            options.getDifferentialQueueSize());
+                    state.setDifferentialExecution(differential);
+                }
+                try {
+                    if (differential != null) {
+                        for (DBMSExecutorFactory<?, ?, ?> factory : differentialFactories) {
+                            differential.addMirror(factory.getProvider().getDBMSName(),
+                                    factory.getDBMSExecutor(databaseName, r).createDifferentialDatabase());
+                        }
+                        if (cloneDatabase) {
+                            for (Query<?> q : databaseSnapshot.getStatements()) {
+                                differential.statementExecuted(q.getQueryString(), true);
+                            }
+                        }
+                    }
+                    provider.generateAndTestDatabase(state);
+                    if (differential != null) {
+                        differential.finish();
+                    }
+                } finally {
+                    if (differential != null) {
+                        differential.close();
+                    }
+                }
                 try {
                     logger.getCurrentFileWriter().close();
                     logger.currentFileWriter = null;
                 } catch (IOException e) {
                     throw new AssertionError(e);
                 }
+            } finally {
+                // the provider might have replaced the connection (e.g., after creating a snapshot)
+                if (state.getConnection() != null) {
+                    state.getConnection().close();
+                }
             }
         }
 
@@ -405,6 +496,14 @@ public final class Main {
         }
 
         Randomly.initialize(options);
+        if (options.collectMetrics()) {
+            try {
+                MetricsExporter.start(jc.getParsedCommand(), options);
+            } catch (IOException e) {
+                System.err.println("Could not start the metrics exporter: " + e.getMessage());
+                return options.getErrorExitCode();
+            }
+        }
         if (options.printProgressInformation()) {
             startProgressMonitor();
             if (options.printProgressSummary()) {
@@ -414,12 +513,12 @@ public final class Main {
                     public void run() {
                         System.out.println("Overall execution statistics");
                         System.out.println("============================");
-                        System.out.println(formatInteger(nrQueries.get()) + " queries");
-                        System.out.println(formatInteger(nrDatabases.get()) + " databases");
+                        System.out.println(formatInteger(nrQueries.sum()) + " queries");
+                        System.out.println(formatInteger(nrDatabases.sum()) + " databases");
                         System.out.println(
-                                formatInteger(nrSuccessfulActions.get()) + " successfully-executed statements");
+                                formatInteger(nrSuccessfulActions.sum()) + " successfully-executed statements");
                         System.out.println(
-                                formatInteger(nrUnsuccessfulActions.get()) + " unsuccessfuly-executed statements");
+                                formatInteger(nrUnsuccessfulActions.sum()) + " unsuccessfuly-executed statements");
                     }
 
                     private String formatInteger(long intValue) {
@@ -433,13 +532,33 @@ public final class Main {
             }
         }
 
-        ExecutorService execService = Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
+        ThreadFactory threadFactory = Executors.defaultThreadFactory();
+        if (options.useVirtualThreads()) {
+            threadFactory = getVirtualThreadFactory();
+            if (threadFactory == null) {
+                System.err.println("Virtual threads require Java 21 or later.");
+                return options.getErrorExitCode();
+            }
+        }
+        ExecutorService execService = Executors.newFixedThreadPool(options.getNumberConcurrentThreads(), threadFactory);
         DBMSExecutorFactory<?, ?, ?> executorFactory = nameToProvider.get(jc.getParsedCommand());
+        List<DBMSExecutorFactory<?, ?, ?>> differentialFactories = new ArrayList<>();
+        for (String name : options.getDifferentialDBMSs()) {
+            DBMSExecutorFactory<?, ?, ?> factory = nameToProvider.get(name);
+            if (factory == null || factory == executorFactory || !(factory.getProvider() instanceof SQLProviderAdapter)
+                    || !(executorFactory.getProvider() instanceof SQLProviderAdapter)) {
+                System.err.println(
+                        "--differential-dbms requires names of SQL-based DBMSs other than the tested one: " + name);
+                return options.getErrorExitCode();
+            }
+            differentialFactories.add(factory);
+        }
 
         if (options.performConnectionTest()) {
             try {
                 executorFactory.getDBMSExecutor(options.getDatabasePrefix() + "connectiontest", new Randomly())
                         .testConnection();
+                ConnectionPool.closeConnections();
             } catch (Exception e) {
                 System.err.println(
                         "SQLancer failed creating a test database, indicating that SQLancer might have failed connecting to the DBMS. In order to change the username, password, host and port, you can use the --username, --password, --host and --port options.\n\n");
@@ -467,17 +586,26 @@ public final class Main {
 
                 private void runThread(final String databaseName) {
                     Randomly r = new Randomly(seed);
+                    DatabaseSnapshot snapshot = null;
+                    if (options.getNrDatabaseClones() > 0 && executorFactory.getProvider().supportsSnapshots()) {
+                        snapshot = new DatabaseSnapshot(options.getNrDatabaseClones());
+                    }
                     try {
                         int maxNrDbs = options.getMaxGeneratedDatabases();
                         // run without a limit if maxNrDbs == -1
                         for (int i = 0; i < maxNrDbs || maxNrDbs == -1; i++) {
-                            Boolean continueRunning = run(options, execService, executorFactory, r, databaseName);
+                            Boolean continueRunning = run(options, execService, executorFactory, r, databaseName,
+                                    snapshot);
                             if (!continueRunning) {
                                 someOneFails.set(true);
                                 break;
                             }
                         }
                     } finally {
+                        if (snapshot != null) {
+                            snapshot.release();
+                        }
+                        ConnectionPool.closeConnections();
                         threadsShutdown.addAndGet(1);
                         if (threadsShutdown.get() == options.getTotalNumberTries()) {
                             execService.shutdown();
@@ -486,20 +614,33 @@ public final class Main {
                 }
 
                 private boolean run(MainOptions options, ExecutorService execService,
-                        DBMSExecutorFactory<?, ?, ?> executorFactory, Randomly r, final String databaseName) {
+                        DBMSExecutorFactory<?, ?, ?> executorFactory, Randomly r, final String databaseName,
+                        DatabaseSnapshot snapshot) {
                     DBMSExecutor<?, ?, ?> executor = executorFactory.getDBMSExecutor(databaseName, r);
+                    executor.setDatabaseSnapshot(snapshot);
+                    executor.setDifferentialFactories(differentialFactories);
                     try {
                         executor.run();
                         return true;
                     } catch (IgnoreMeException e) {
+                        Metrics.ignored("database", executorFactory.getProvider().getDBMSName(), e);
                         return true;
                     } catch (Throwable reduce) {
+                        if (DatabaseAbandonedException.isCause(reduce)) {
+                            Metrics.increment(Metrics.IGNORED, "phase", "database", "source",
+                                    executorFactory.getProvider().getDBMSName(), "reason", "database abandoned");
+                            return true;
+                        }
                         reduce.printStackTrace();
                         executor.getStateToReproduce().exception = reduce.getMessage();
                         executor.getLogger().logFileWriter = null;
                         executor.getLogger().logException(reduce, executor.getStateToReproduce());
                         return false;
                     } finally {
+                        StatementWatchdog.connectionClosed();
+                        if (executor.getStateToReproduce() != null) {
+                            executor.getStateToReproduce().releaseStatements();
+                        }
                         try {
                             if (options.logEachSelect()) {
                                 if (executor.getLogger().currentFileWriter != null) {
@@ -527,6 +668,19 @@ public final class Main {
         return someOneFails.get() ? options.getErrorExitCode() : 0;
     }
 
+    /*
+     * Virtual threads are only available as of Java 21, while SQLancer targets Java 11, so the factory is obtained
+     * using reflection.
+     */
+    private static ThreadFactory getVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
     /**
      * To register a new provider, it is necessary to implement the DatabaseProvider interface and add an additional
      * configuration file, see https://docs.oracle.com/javase/9/docs/api/java/util/ServiceLoader.html. Currently, we use
@@ -569,14 +723,15 @@ public final class Main {
             @Override
             public void run() {
                 long elapsedTimeMillis = System.currentTimeMillis() - timeMillis;
-                long currentNrQueries = nrQueries.get();
+                long currentNrQueries = nrQueries.sum();
                 long nrCurrentQueries = currentNrQueries - lastNrQueries;
                 double throughput = nrCurrentQueries / (elapsedTimeMillis / 1000d);
-                long currentNrDbs = nrDatabases.get();
+                long currentNrDbs = nrDatabases.sum();
                 long nrCurrentDbs = currentNrDbs - lastNrDbs;
                 double throughputDbs = nrCurrentDbs / (elapsedTimeMillis / 1000d);
-                long successfulStatementsRatio = (long) (100.0 * nrSuccessfulActions.get()
-                        / (nrSuccessfulActions.get() + nrUnsuccessfulActions.get()));
+                long currentNrSuccessfulActions = nrSuccessfulActions.sum();
+                long successfulStatementsRatio = (long) (100.0 * currentNrSuccessfulActions
+                        / (currentNrSuccessfulActions + nrUnsuccessfulActions.sum()));
                 DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
                 Date date = new Date();
                 System.out.println(String.format(
@@ -1,5 +1,8 @@
 package sqlancer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 
@@ -16,6 +19,9 @@ public class MainOptions {
             "--num-threads" }, description = "How many threads should run concurrently to test separate databases")
     private int nrConcurrentThreads = 16; // NOPMD
 
+    @Parameter(names = "--use-virtual-threads", description = "Test the databases on virtual threads rather than on platform threads, which allows a larger number of threads (requires Java 21 or later)", arity = 1)
+    private boolean useVirtualThreads; // NOPMD
+
     @Parameter(names = {
             "--random-seed" }, description = "A seed value != -1 that can be set to make the query and database generation deterministic")
     private long randomSeed = -1; // NOPMD
@@ -38,6 +44,42 @@ public class MainOptions {
             "--num-statement-kind-retries" }, description = "Specifies the number of times a specific statement kind (e.g., INSERT) should be retried when the DBMS indicates that it failed")
     private int nrStatementRetryCount = 1000; // NOPMD
 
+    @Parameter(names = "--statement-batch-size", description = "The maximum number of consecutive statements that cannot affect the schema, which are sent to the DBMS as a single batch while generating a database (only supported by some DBMS; 1 disables batching)")
+    private int statementBatchSize = 1; // NOPMD
+
+    @Parameter(names = "--adaptive-action-weights", description = "Adapts how often each action is performed while generating a database to the success ratio and duration observed for its recent statements, so that more statements are executed successfully per second (executions are then no longer deterministic)", arity = 1)
+    private boolean useAdaptiveActionWeights; // NOPMD
+
+    @Parameter(names = "--differential-dbms", description = "Comma-separated names of further DBMSs, which are used with their default options, to which the statements executed on the tested DBMS are also sent, comparing the query results and table contents across the DBMSs (only supported for SQL-based DBMSs)")
+    private List<String> differentialDBMSs = new ArrayList<>(); // NOPMD
+
+    @Parameter(names = "--differential-queue-size", description = "The maximum number of statements that are queued for each DBMS specified by --differential-dbms before the generation of statements blocks")
+    private int differentialQueueSize = 1000; // NOPMD
+
+    @Parameter(names = "--statement-timeout-ms", description = "Cancels statements that take longer than the given number of milliseconds; cancelled statements are not reported as bugs, but logged as potential performance issues in the -performance.log file of the database (-1 disables the timeout)")
+    private long statementTimeoutMillis = -1; // NOPMD
+
+    @Parameter(names = "--statement-timeout-p99-factor", description = "Cancels statements that take longer than the given factor times the 99th percentile of the recent execution times of statements of the same kind (e.g., SELECT or INSERT), but at least one second and at most --statement-timeout-ms (0 disables the adaptive timeout)")
+    private double statementTimeoutP99Factor; // NOPMD
+
+    @Parameter(names = "--query-plan-guidance", description = "Obtains the query plan of the queries generated by the test oracles that support it using EXPLAIN, and changes the database state (e.g., using ANALYZE or CREATE INDEX) once no new query plans were observed for --query-plan-mutation-threshold queries", arity = 1)
+    private boolean useQueryPlanGuidance; // NOPMD
+
+    @Parameter(names = "--query-plan-cache-size", description = "The maximum number of query plans per database that are remembered by --query-plan-guidance")
+    private int queryPlanCacheSize = 10000; // NOPMD
+
+    @Parameter(names = "--query-plan-mutation-threshold", description = "The number of consecutive queries with an already tested query plan after which --query-plan-guidance executes a statement that might change the query plans")
+    private int queryPlanMutationThreshold = 100; // NOPMD
+
+    @Parameter(names = "--performance-ratio-threshold", description = "The factor by which a query must be slower than an equivalent query to be logged as a potential performance issue by the PERFORMANCE test oracles")
+    private double performanceRatioThreshold = 10; // NOPMD
+
+    @Parameter(names = "--performance-min-ms", description = "The minimum runtime in milliseconds of the slower query for the PERFORMANCE test oracles to log a potential performance issue, which avoids reporting differences caused by measurement noise")
+    private long performanceMinMillis = 10; // NOPMD
+
+    @Parameter(names = "--performance-repetitions", description = "The number of times that the PERFORMANCE test oracles execute each query, of which the fastest execution is compared")
+    private int performanceRepetitions = 3; // NOPMD
+
     @Parameter(names = "--log-each-select", description = "Logs every statement issued", arity = 1)
     private boolean logEachSelect = true; // NOPMD
 
@@ -68,6 +110,9 @@ public class MainOptions {
     @Parameter(names = "--max-generated-databases", description = "The maximum number of databases that are generated by each thread")
     private int maxGeneratedDatabases = -1; // NOPMD
 
+    @Parameter(names = "--num-database-clones", description = "The number of databases that each thread clones from a snapshot of a generated database before generating a new one (only supported by some DBMS)")
+    private int nrDatabaseClones; // NOPMD
+
     @Parameter(names = "--exit-code-error", description = "The exit code that should be returned when an error is encountered (or a bug is found)")
     private int errorExitCode = -1; // NOPMD
 
@@ -101,6 +146,15 @@ public class MainOptions {
     @Parameter(names = "--database-prefix", description = "The prefix used for each database created")
     private String databasePrefix = "database"; // NOPMD
 
+    @Parameter(names = "--metrics-port", description = "The local port on which latency histograms and counters are served in the Prometheus text format (at /metrics) and as JSON (at /metrics.json)")
+    private int metricsPort = MainOptions.NO_SET_PORT; // NOPMD
+
+    @Parameter(names = "--metrics-file", description = "A file to which latency histograms and counters are periodically written as JSON")
+    private String metricsFile; // NOPMD
+
+    @Parameter(names = "--metrics-interval-seconds", description = "The interval in seconds in which the file specified by --metrics-file is written")
+    private int metricsIntervalSeconds = 10; // NOPMD
+
     public int getMaxExpressionDepth() {
         return maxExpressionDepth;
     }
@@ -113,6 +167,10 @@ public class MainOptions {
         return nrConcurrentThreads;
     }
 
+    public boolean useVirtualThreads() {
+        return useVirtualThreads;
+    }
+
     public boolean logEachSelect() {
         return logEachSelect;
     }
@@ -150,6 +208,54 @@ public class MainOptions {
         return nrStatementRetryCount;
     }
 
+    public int getStatementBatchSize() {
+        return statementBatchSize;
+    }
+
+    public List<String> getDifferentialDBMSs() {
+        return differentialDBMSs;
+    }
+
+    public int getDifferentialQueueSize() {
+        return differentialQueueSize;
+    }
+
+    public long getStatementTimeoutMillis() {
+        return statementTimeoutMillis;
+    }
+
+    public double getStatementTimeoutP99Factor() {
+        return statementTimeoutP99Factor;
+    }
+
+    public boolean useQueryPlanGuidance() {
+        return useQueryPlanGuidance;
+    }
+
+    public int getQueryPlanCacheSize() {
+        return queryPlanCacheSize;
+    }
+
+    public int getQueryPlanMutationThreshold() {
+        return queryPlanMutationThreshold;
+    }
+
+    public double getPerformanceRatioThreshold() {
+        return performanceRatioThreshold;
+    }
+
+    public long getPerformanceMinMillis() {
+        return performanceMinMillis;
+    }
+
+    public int getPerformanceRepetitions() {
+        return performanceRepetitions;
+    }
+
+    public boolean useAdaptiveActionWeights() {
+        return useAdaptiveActionWeights;
+    }
+
     public String getUserName() {
         return userName;
     }
@@ -182,6 +288,10 @@ public class MainOptions {
         return maxGeneratedDatabases;
     }
 
+    public int getNrDatabaseClones() {
+        return nrDatabaseClones;
+    }
+
     public int getErrorExitCode() {
         return errorExitCode;
     }
@@ -226,4 +336,20 @@ public class MainOptions {
         return useConnectionTest;
     }
 
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    public int getMetricsIntervalSeconds() {
+        return metricsIntervalSeconds;
+    }
+
+    public boolean collectMetrics() {
+        return metricsPort != NO_SET_PORT || metricsFile != null;
+    }
+
 }
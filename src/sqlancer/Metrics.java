@@ -0,0 +1,234 @@
+package sqlancer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import sqlancer.common.oracle.TestOracle;
+
+/**
+ * Counters and latency histograms that describe where SQLancer spends its time, for example, per action and per test
+ * oracle. Each thread records into its own maps, which are only merged when the metrics are exported (see
+ * {@link MetricsExporter}), so recording does not contend across threads. Recording is a no-op unless the metrics were
+ * enabled using {@link #enable(String)}.
+ *
+ * Labels are given as alternating names and values, for example, {@code "action", "INSERT", "outcome", "success"}.
+ */
+public final class Metrics {
+
+    public static final String STATEMENT_DURATION = "sqlancer_statement_duration_seconds";
+    public static final String STATEMENT_BATCH_DURATION = "sqlancer_statement_batch_duration_seconds";
+    public static final String ORACLE_CHECK_DURATION = "sqlancer_oracle_check_duration_seconds";
+    public static final String DATABASE_CREATION_DURATION = "sqlancer_database_creation_duration_seconds";
+    public static final String STATEMENT_TIMEOUTS = "sqlancer_statement_timeouts_total";
+    public static final String IGNORED = "sqlancer_ignored_total";
+    public static final String QUERY_PLANS = "sqlancer_query_plans_total";
+    public static final String QUERY_PLAN_MUTATIONS = "sqlancer_query_plan_mutations_total";
+    public static final String PERFORMANCE_ISSUES = "sqlancer_performance_issues_total";
+    public static final String DIFFERENTIAL_COMPARISONS = "sqlancer_differential_comparisons_total";
+    public static final String DIFFERENTIAL_DIVERGED_DATABASES = "sqlancer_differential_diverged_databases_total";
+
+    private static final Set<Recorder> RECORDERS = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Recorder> RECORDER = ThreadLocal.withInitial(() -> {
+        Recorder recorder = new Recorder();
+        RECORDERS.add(recorder);
+        return recorder;
+    });
+    private static volatile boolean enabled;
+    private static volatile String dbmsName = "";
+
+    private Metrics() {
+    }
+
+    /**
+     * Enables recording.
+     *
+     * @param dbms
+     *            the name of the DBMS under test, which is added as the {@code dbms} label to all metrics
+     */
+    public static void enable(String dbms) {
+        dbmsName = dbms;
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    static String getDbmsName() {
+        return dbmsName;
+    }
+
+    public static void recordDuration(String name, long nanos, String... labels) {
+        if (!enabled) {
+            return;
+        }
+        Recorder recorder = RECORDER.get();
+        Key key = new Key(name, labels);
+        synchronized (recorder) {
+            recorder.histograms.computeIfAbsent(key, k -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    public static void increment(String name, String... labels) {
+        add(name, 1, labels);
+    }
+
+    public static void add(String name, long amount, String... labels) {
+        if (!enabled) {
+            return;
+        }
+        Recorder recorder = RECORDER.get();
+        Key key = new Key(name, labels);
+        synchronized (recorder) {
+            recorder.counters.computeIfAbsent(key, k -> new long[1])[0] += amount;
+        }
+    }
+
+    /**
+     * Counts a statement, test case, or database that was skipped due to an {@link IgnoreMeException}, so that the
+     * share of wasted work is visible per source and reason.
+     *
+     * @param phase
+     *            the phase in which the exception was thrown, for example, {@code "generation"}
+     * @param source
+     *            the action or test oracle that threw the exception
+     * @param e
+     *            the exception
+     */
+    public static void ignored(String phase, String source, IgnoreMeException e) {
+        increment(IGNORED, "phase", phase, "source", source, "reason", e.getReason());
+    }
+
+    /**
+     * Wraps the given test oracle so that the duration and outcome of each check is recorded.
+     *
+     * @param oracleName
+     *            the name used as the {@code oracle} label
+     * @param oracle
+     *            the test oracle
+     *
+     * @return the wrapped test oracle, or the given one if recording is disabled
+     */
+    public static TestOracle timed(String oracleName, TestOracle oracle) {
+        if (!enabled) {
+            return oracle;
+        }
+        return () -> {
+            long start = System.nanoTime();
+            String outcome = "failure";
+            try {
+                oracle.check();
+                outcome = "success";
+            } catch (IgnoreMeException e) {
+                outcome = "ignored";
+                ignored("oracle", oracleName, e);
+                throw e;
+            } finally {
+                recordDuration(ORACLE_CHECK_DURATION, System.nanoTime() - start, "oracle", oracleName, "outcome",
+                        outcome);
+            }
+        };
+    }
+
+    /**
+     * Merges the metrics recorded by all threads.
+     *
+     * @return the merged histograms, ordered by name and labels
+     */
+    static Map<Key, LatencyHistogram> getHistograms() {
+        Map<Key, LatencyHistogram> result = new TreeMap<>();
+        for (Recorder recorder : RECORDERS) {
+            synchronized (recorder) {
+                for (Map.Entry<Key, LatencyHistogram> entry : recorder.histograms.entrySet()) {
+                    LatencyHistogram histogram = result.get(entry.getKey());
+                    if (histogram == null) {
+                        result.put(entry.getKey(), entry.getValue().copy());
+                    } else {
+                        histogram.add(entry.getValue());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    static Map<Key, Long> getCounters() {
+        Map<Key, Long> result = new TreeMap<>();
+        for (Recorder recorder : RECORDERS) {
+            synchronized (recorder) {
+                for (Map.Entry<Key, long[]> entry : recorder.counters.entrySet()) {
+                    result.merge(entry.getKey(), entry.getValue()[0], Long::sum);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class Recorder {
+        private final Map<Key, LatencyHistogram> histograms = new HashMap<>();
+        private final Map<Key, long[]> counters = new HashMap<>();
+    }
+
+    static final class Key implements Comparable<Key> {
+
+        private final String name;
+        private final String[] labels;
+        private final int hashCode;
+
+        Key(String name, String... labels) {
+            if (labels.length % 2 != 0) {
+                throw new IllegalArgumentException(Arrays.toString(labels));
+            }
+            this.name = name;
+            this.labels = labels.clone();
+            this.hashCode = 31 * name.hashCode() + Arrays.hashCode(labels);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * The labels, including the {@code dbms} label, as alternating names and values.
+         *
+         * @return the labels
+         */
+        String[] getLabels() {
+            String[] result = new String[labels.length + 2];
+            result[0] = "dbms";
+            result[1] = getDbmsName().toLowerCase(Locale.ROOT);
+            System.arraycopy(labels, 0, result, 2, labels.length);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && name.equals(other.name) && Arrays.equals(labels, other.labels);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            int result = name.compareTo(o.name);
+            if (result != 0) {
+                return result;
+            }
+            return Arrays.compare(labels, o.labels);
+        }
+
+    }
+
+}
@@ -0,0 +1,238 @@
+package sqlancer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exposes the {@link Metrics} in the Prometheus text format at {@code http://localhost:<port>/metrics} and as JSON at
+ * {@code /metrics.json}, and periodically writes the JSON to a file.
+ */
+final class MetricsExporter {
+
+    // the upper bounds of the exported histogram buckets, in seconds
+    private static final double[] BUCKET_BOUNDS = { 0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1,
+            0.5, 1, 5, 10, 60 };
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+    private static final String[] QUANTILE_NAMES = { "p50", "p90", "p99", "p999" };
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private static boolean started;
+
+    private MetricsExporter() {
+    }
+
+    static synchronized void start(String dbms, MainOptions options) throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+        Metrics.enable(dbms);
+        if (options.getMetricsPort() != MainOptions.NO_SET_PORT) {
+            HttpServer server = HttpServer
+                    .create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getMetricsPort()), 0);
+            server.createContext("/metrics",
+                    exchange -> respond(exchange, "text/plain; version=0.0.4", MetricsExporter::toPrometheus));
+            server.createContext("/metrics.json",
+                    exchange -> respond(exchange, "application/json", MetricsExporter::toJson));
+            server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "sqlancer-metrics-server");
+                t.setDaemon(true);
+                return t;
+            }));
+            server.start();
+        }
+        if (options.getMetricsFile() != null) {
+            Path file = Paths.get(options.getMetricsFile());
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "sqlancer-metrics-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            int interval = options.getMetricsIntervalSeconds();
+            scheduler.scheduleAtFixedRate(() -> writeJson(file), interval, interval, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeJson(file)));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, Supplier<String> body) throws IOException {
+        byte[] response = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    /*
+     * The file is replaced atomically, so that readers never see a partially-written file.
+     */
+    private static void writeJson(Path file) {
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, toJson().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write the metrics file " + file + ": " + e.getMessage());
+        }
+    }
+
+    static String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        String dbmsLabel = "{dbms=\"" + escape(Metrics.getDbmsName().toLowerCase(Locale.ROOT)) + "\"}";
+        appendCounter(sb, "sqlancer_queries_total", dbmsLabel, Main.nrQueries.sum());
+        appendCounter(sb, "sqlancer_databases_total", dbmsLabel, Main.nrDatabases.sum());
+        appendCounter(sb, "sqlancer_successful_statements_total", dbmsLabel, Main.nrSuccessfulActions.sum());
+        appendCounter(sb, "sqlancer_unsuccessful_statements_total", dbmsLabel, Main.nrUnsuccessfulActions.sum());
+        String lastName = null;
+        for (Map.Entry<Metrics.Key, Long> entry : Metrics.getCounters().entrySet()) {
+            String name = entry.getKey().getName();
+            if (!name.equals(lastName)) {
+                sb.append("# TYPE ").append(name).append(" counter\n");
+                lastName = name;
+            }
+            sb.append(name).append(formatLabels(entry.getKey().getLabels(), null, null)).append(' ')
+                    .append(entry.getValue()).append('\n');
+        }
+        lastName = null;
+        for (Map.Entry<Metrics.Key, LatencyHistogram> entry : Metrics.getHistograms().entrySet()) {
+            String name = entry.getKey().getName();
+            String[] labels = entry.getKey().getLabels();
+            LatencyHistogram histogram = entry.getValue();
+            if (!name.equals(lastName)) {
+                sb.append("# TYPE ").append(name).append(" histogram\n");
+                lastName = name;
+            }
+            for (double bound : BUCKET_BOUNDS) {
+                long count = histogram.getCountAtMost((long) (bound * NANOS_PER_SECOND));
+                sb.append(name).append("_bucket").append(formatLabels(labels, "le", Double.toString(bound))).append(' ')
+                        .append(count).append('\n');
+            }
+            sb.append(name).append("_bucket").append(formatLabels(labels, "le", "+Inf")).append(' ')
+                    .append(histogram.getCount()).append('\n');
+            sb.append(name).append("_sum").append(formatLabels(labels, null, null)).append(' ')
+                    .append(histogram.getSum() / NANOS_PER_SECOND).append('\n');
+            sb.append(name).append("_count").append(formatLabels(labels, null, null)).append(' ')
+                    .append(histogram.getCount()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void appendCounter(StringBuilder sb, String name, String labels, long value) {
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        sb.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static String formatLabels(String[] labels, String extraName, String extraValue) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            sb.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        if (extraName != null) {
+            sb.append(',').append(extraName).append("=\"").append(extraValue).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    static String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"timestamp\":").append(System.currentTimeMillis());
+        sb.append(",\"dbms\":\"").append(escapeJson(Metrics.getDbmsName())).append('"');
+        sb.append(",\"queries\":").append(Main.nrQueries.sum());
+        sb.append(",\"databases\":").append(Main.nrDatabases.sum());
+        sb.append(",\"successful_statements\":").append(Main.nrSuccessfulActions.sum());
+        sb.append(",\"unsuccessful_statements\":").append(Main.nrUnsuccessfulActions.sum());
+        sb.append(",\"counters\":[");
+        boolean first = true;
+        for (Map.Entry<Metrics.Key, Long> entry : Metrics.getCounters().entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendJsonKey(sb, entry.getKey());
+            sb.append(",\"value\":").append(entry.getValue()).append('}');
+        }
+        sb.append("],\"histograms\":[");
+        first = true;
+        for (Map.Entry<Metrics.Key, LatencyHistogram> entry : Metrics.getHistograms().entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            LatencyHistogram histogram = entry.getValue();
+            appendJsonKey(sb, entry.getKey());
+            sb.append(",\"count\":").append(histogram.getCount());
+            sb.append(",\"sum_seconds\":").append(histogram.getSum() / NANOS_PER_SECOND);
+            sb.append(",\"min_seconds\":").append(histogram.getMin() / NANOS_PER_SECOND);
+            sb.append(",\"max_seconds\":").append(histogram.getMax() / NANOS_PER_SECOND);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                sb.append(",\"").append(QUANTILE_NAMES[i]).append("_seconds\":")
+                        .append(histogram.getValueAtQuantile(QUANTILES[i]) / NANOS_PER_SECOND);
+            }
+            sb.append('}');
+        }
+        sb.append("]}\n");
+        return sb.toString();
+    }
+
+    private static void appendJsonKey(StringBuilder sb, Metrics.Key key) {
+        sb.append("{\"name\":\"").append(key.getName()).append("\",\"labels\":{");
+        String[] labels = key.getLabels();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(escapeJson(labels[i])).append("\":\"").append(escapeJson(labels[i + 1]))
+                    .append('"');
+        }
+        sb.append('}');
+    }
+
+    /*
+     * The label values of the Prometheus text format only escape backslashes, double quotes, and line feeds; all other
+     * characters are written as UTF-8. JSON strings additionally escape the other control characters.
+     */
+    private static String escape(String s) {
+        return escape(s, false);
+    }
+
+    private static String escapeJson(String s) {
+        return escape(s, true);
+    }
+
+    private static String escape(String s, boolean escapeControlCharacters) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else if (escapeControlCharacters && c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,104 @@
+package sqlancer;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.query.SQLancerResultSet;
+
+/**
+ * Compares the runtimes of semantically equivalent queries. Since such queries compute the same result, a query that is
+ * much slower than an equivalent one indicates a potential performance issue, such as a missed optimization or an
+ * inefficient query plan. Such issues are not reported as bugs, but logged to the -performance.log file of the
+ * database.
+ */
+public final class PerformanceComparatorHelper {
+
+    private PerformanceComparatorHelper() {
+    }
+
+    /**
+     * The rewrite by which an equivalent query was derived from a generated query.
+     */
+    public enum Rewrite {
+        /**
+         * A query with a predicate {@code p} in its WHERE clause and the same query with {@code NOT (NOT p)}.
+         */
+        DOUBLE_NEGATION,
+        /**
+         * A query without WHERE clause and the union of its Ternary Logic Partitioning (TLP) partitions, which is
+         * expected to be at most a few times slower.
+         */
+        PARTITIONING,
+        /**
+         * A query that counts the rows satisfying a WHERE clause and the Non-optimizing Reference Engine Construction
+         * (NoREC) query that evaluates the predicate on every row, which is expected to be faster only if the
+         * optimizations for the WHERE clause backfire.
+         */
+        NO_OPTIMIZATION;
+    }
+
+    /**
+     * Executes the two equivalent queries {@link MainOptions#getPerformanceRepetitions()} times, and logs a potential
+     * performance issue if the fastest execution of the first query is more than
+     * {@link MainOptions#getPerformanceRatioThreshold()} times slower than the one of the reference query.
+     *
+     * @param state
+     *            the global state of the current database
+     * @param errors
+     *            the errors that are expected when executing the queries
+     * @param rewrite
+     *            the rewrite by which the queries were derived
+     * @param query
+     *            the query that is expected not to be slower
+     * @param referenceQuery
+     *            the equivalent query
+     *
+     * @throws SQLException
+     *             if the result of a query cannot be fetched
+     */
+    public static void assumeNotSlower(SQLGlobalState<?, ?> state, ExpectedErrors errors, Rewrite rewrite, String query,
+            String referenceQuery) throws SQLException {
+        MainOptions options = state.getOptions();
+        if (options.logEachSelect()) {
+            state.getLogger().writeCurrent(query);
+            state.getLogger().writeCurrent(referenceQuery);
+        }
+        long nanos = Long.MAX_VALUE;
+        long referenceNanos = Long.MAX_VALUE;
+        // alternating the executions distributes load fluctuations across both queries
+        for (int i = 0; i < options.getPerformanceRepetitions(); i++) {
+            nanos = Math.min(nanos, getRuntimeNanos(state, errors, query));
+            referenceNanos = Math.min(referenceNanos, getRuntimeNanos(state, errors, referenceQuery));
+        }
+        if (isPerformanceIssue(nanos, referenceNanos, options.getPerformanceRatioThreshold(),
+                options.getPerformanceMinMillis())) {
+            Metrics.increment(Metrics.PERFORMANCE_ISSUES, "rewrite", rewrite.name());
+            String description = String.format("%s: %.3f ms compared to %.3f ms for the equivalent query", rewrite,
+                    nanos / 1e6, referenceNanos / 1e6);
+            state.getLogger().logPerformanceIssue(description, query + ";\n" + referenceQuery + ";", state.getState());
+        }
+    }
+
+    static boolean isPerformanceIssue(long nanos, long referenceNanos, double ratioThreshold, long minMillis) {
+        return nanos >= TimeUnit.MILLISECONDS.toNanos(minMillis) && nanos > ratioThreshold * referenceNanos;
+    }
+
+    private static long getRuntimeNanos(SQLGlobalState<?, ?> state, ExpectedErrors errors, String query)
+            throws SQLException {
+        SQLQueryAdapter q = new SQLQueryAdapter(query, errors);
+        long start = System.nanoTime();
+        try (SQLancerResultSet rs = q.executeAndGet(state)) {
+            if (rs == null) {
+                throw new IgnoreMeException("expected error");
+            }
+            // the runtime includes fetching the result, which some DBMSs compute lazily
+            while (rs.next()) {
+                continue;
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+}
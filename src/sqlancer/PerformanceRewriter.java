@@ -0,0 +1,141 @@
+package sqlancer;
+
+import java.sql.SQLException;
+
+import sqlancer.PerformanceComparatorHelper.Rewrite;
+import sqlancer.common.query.ExpectedErrors;
+
+/**
+ * Derives a query that is equivalent to a generated query by one of the {@link Rewrite}s, and compares the runtimes of
+ * both queries by {@link PerformanceComparatorHelper#assumeNotSlower}. The rewrites operate on the SELECT statement of
+ * a Ternary Logic Partitioning (TLP) oracle, which each DBMS modifies and prints by the hooks of this class.
+ *
+ * @param <E>
+ *            the expression type
+ */
+public abstract class PerformanceRewriter<E> {
+
+    /**
+     * Sets the WHERE clause of the SELECT statement.
+     *
+     * @param whereClause
+     *            the WHERE clause, or {@code null} to remove it
+     */
+    protected abstract void setWhereClause(E whereClause);
+
+    /**
+     * Replaces the fetch columns of the SELECT statement by a single column.
+     *
+     * @param fetchColumn
+     *            the fetch column
+     */
+    protected abstract void setFetchColumn(E fetchColumn);
+
+    /**
+     * @return the SELECT statement as a string
+     */
+    protected abstract String asString();
+
+    /**
+     * @param predicate
+     *            the predicate to negate
+     *
+     * @return the predicate in the negation syntax of the DBMS
+     */
+    protected abstract E negatePredicate(E predicate);
+
+    /**
+     * @return the fetch column {@code COUNT(*)}
+     */
+    protected abstract E getCountColumn();
+
+    /**
+     * Returns a fetch column named {@code count} that is 1 for the rows for which the predicate is true and 0 for the
+     * others. The DBMS has to evaluate the predicate on every row, which disables the optimizations for it.
+     *
+     * @param predicate
+     *            the predicate of the WHERE clause
+     *
+     * @return the fetch column
+     */
+    protected abstract E getUnoptimizedCountColumn(E predicate);
+
+    /**
+     * Rewrites the SELECT statement by a randomly chosen rewrite and logs a potential performance issue if the original
+     * query is much slower than the rewritten one. For {@link Rewrite#DOUBLE_NEGATION}, the roles of both queries are
+     * swapped randomly, since neither is expected to be slower.
+     *
+     * @param state
+     *            the global state of the current database
+     * @param errors
+     *            the errors that are expected when executing the queries
+     * @param predicate
+     *            the TLP predicate
+     * @param negatedPredicate
+     *            the negation of the TLP predicate
+     * @param isNullPredicate
+     *            the TLP predicate that checks the predicate for NULL
+     *
+     * @throws SQLException
+     *             if the result of a query cannot be fetched
+     */
+    public void assumeNotSlower(SQLGlobalState<?, ?> state, ExpectedErrors errors, E predicate, E negatedPredicate,
+            E isNullPredicate) throws SQLException {
+        Rewrite rewrite = Randomly.fromOptions(Rewrite.values());
+        String[] queries = rewrite(rewrite, predicate, negatedPredicate, isNullPredicate);
+        if (rewrite == Rewrite.DOUBLE_NEGATION && Randomly.getBoolean()) {
+            PerformanceComparatorHelper.assumeNotSlower(state, errors, rewrite, queries[1], queries[0]);
+        } else {
+            PerformanceComparatorHelper.assumeNotSlower(state, errors, rewrite, queries[0], queries[1]);
+        }
+    }
+
+    /**
+     * Rewrites the SELECT statement, whose WHERE clause is expected to be empty.
+     *
+     * @param rewrite
+     *            the rewrite to apply
+     * @param predicate
+     *            the TLP predicate
+     * @param negatedPredicate
+     *            the negation of the TLP predicate
+     * @param isNullPredicate
+     *            the TLP predicate that checks the predicate for NULL
+     *
+     * @return the query and the equivalent reference query
+     */
+    String[] rewrite(Rewrite rewrite, E predicate, E negatedPredicate, E isNullPredicate) {
+        String query;
+        String referenceQuery;
+        switch (rewrite) {
+        case DOUBLE_NEGATION:
+            setWhereClause(predicate);
+            query = asString();
+            setWhereClause(negatePredicate(negatedPredicate));
+            referenceQuery = asString();
+            break;
+        case PARTITIONING:
+            query = asString();
+            setWhereClause(predicate);
+            String firstQueryString = asString();
+            setWhereClause(negatedPredicate);
+            String secondQueryString = asString();
+            setWhereClause(isNullPredicate);
+            String thirdQueryString = asString();
+            referenceQuery = firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL " + thirdQueryString;
+            break;
+        case NO_OPTIMIZATION:
+            setFetchColumn(getCountColumn());
+            setWhereClause(predicate);
+            query = asString();
+            setFetchColumn(getUnoptimizedCountColumn(predicate));
+            setWhereClause(null);
+            referenceQuery = "SELECT SUM(count) FROM (" + asString() + ") as res";
+            break;
+        default:
+            throw new AssertionError(rewrite);
+        }
+        return new String[] { query, referenceQuery };
+    }
+
+}
@@ -37,9 +37,24 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
     @Override
     public void generateAndTestDatabase(G globalState) throws Exception {
         try {
-            generateDatabase(globalState);
-            checkViewsAreValid(globalState);
+            DatabaseSnapshot snapshot = globalState.getDatabaseSnapshot();
+            long start = System.nanoTime();
+            if (snapshot != null && snapshot.isClone()) {
+                prepareClonedDatabase(globalState);
+                Metrics.recordDuration(Metrics.DATABASE_CREATION_DURATION, System.nanoTime() - start, "kind", "clone");
+            } else {
+                generateDatabase(globalState);
+                checkViewsAreValid(globalState);
+                if (snapshot != null && createSnapshot(globalState)) {
+                    snapshot.capture(globalState.getState().getStatements(), () -> dropSnapshot(globalState));
+                }
+                Metrics.recordDuration(Metrics.DATABASE_CREATION_DURATION, System.nanoTime() - start, "kind",
+                        "generation");
+            }
             globalState.getManager().incrementCreateDatabase();
+            if (globalState.getDifferentialExecution() != null) {
+                globalState.getDifferentialExecution().compareTables(globalState);
+            }
 
             TestOracle oracle = getTestOracle(globalState);
             for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
@@ -70,14 +85,14 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
         boolean userRequiresMoreThanZeroRows = globalState.getOptions().testOnlyWithMoreThanZeroRows();
         boolean checkZeroRows = testOracleRequiresMoreThanZeroRows || userRequiresMoreThanZeroRows;
         if (checkZeroRows && globalState.getSchema().containsTableWithZeroRows(globalState)) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("empty table");
         }
         if (testOracleFactory.size() == 1) {
-            return testOracleFactory.get(0).create(globalState);
+            return createTestOracle(testOracleFactory.get(0), globalState);
         } else {
             return new CompositeTestOracle(testOracleFactory.stream().map(o -> {
                 try {
-                    return o.create(globalState);
+                    return createTestOracle(o, globalState);
                 } catch (Exception e1) {
                     throw new AssertionError(e1);
                 }
@@ -85,6 +100,37 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
         }
     }
 
+    /**
+     * Creates a test oracle using the given factory, whose checks are recorded in the {@link Metrics} under the name of
+     * the factory.
+     *
+     * @param factory
+     *            the test oracle factory
+     * @param globalState
+     *            the state of the database to be tested
+     *
+     * @return the test oracle
+     *
+     * @throws Exception
+     *             if the test oracle cannot be created
+     */
+    protected TestOracle createTestOracle(OracleFactory<G> factory, G globalState) throws Exception {
+        return Metrics.timed(factory.toString(), factory.create(globalState));
+    }
+
     public abstract void generateDatabase(G globalState) throws Exception;
 
+    /**
+     * Prepares a database that was cloned from a snapshot for testing, in place of {@link #generateDatabase}. This can
+     * be used to restore state that is not part of the snapshot, such as session settings.
+     *
+     * @param globalState
+     *            the state of the cloned database
+     *
+     * @throws Exception
+     *             if preparing the database fails
+     */
+    protected void prepareClonedDatabase(G globalState) throws Exception {
+    }
+
 }
@@ -0,0 +1,93 @@
+package sqlancer;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import sqlancer.common.query.Query;
+
+/**
+ * Remembers the query plans of the queries that were tested on the current database (see
+ * {@link MainOptions#useQueryPlanGuidance()}). Since queries with the same plan exercise largely the same code in the
+ * DBMS, the database state is changed once the generated queries have not resulted in a new plan for a while, by
+ * executing a statement that might change the query plans, such as ANALYZE or CREATE INDEX. Queries with known plans
+ * are still executed, since they might still detect bugs, for example, in the evaluation of expressions.
+ *
+ * The plans are remembered in a bounded map in least-recently-used order, so plans that have not been generated for a
+ * long time are considered new again.
+ */
+final class QueryPlanGuidance {
+
+    private final Map<String, Boolean> plans;
+    private final int mutationThreshold;
+    private int nrConsecutiveKnownPlans;
+
+    QueryPlanGuidance(int cacheSize, int mutationThreshold) {
+        this.plans = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+
+        };
+        this.mutationThreshold = mutationThreshold;
+    }
+
+    /**
+     * Records the query's plan, and changes the database state if no new plans were observed for a while.
+     *
+     * @param globalState
+     *            the global state of the current database
+     * @param query
+     *            the query that the test oracle is about to execute
+     */
+    void check(SQLGlobalState<?, ?> globalState, String query) {
+        String plan;
+        try {
+            plan = globalState.getQueryPlan(query);
+        } catch (SQLException e) {
+            // the query is likely invalid, which is checked when the test oracle executes it
+            return;
+        }
+        if (plan == null || isNewPlan(plan)) {
+            return;
+        }
+        if (isStagnating()) {
+            nrConsecutiveKnownPlans = 0;
+            mutate(globalState);
+        }
+    }
+
+    boolean isNewPlan(String plan) {
+        boolean isNew = plans.put(plan, Boolean.TRUE) == null;
+        Metrics.increment(Metrics.QUERY_PLANS, "outcome", isNew ? "new" : "known");
+        if (isNew) {
+            nrConsecutiveKnownPlans = 0;
+        } else {
+            nrConsecutiveKnownPlans++;
+        }
+        return isNew;
+    }
+
+    boolean isStagnating() {
+        return nrConsecutiveKnownPlans >= mutationThreshold;
+    }
+
+    private static void mutate(SQLGlobalState<?, ?> globalState) {
+        try {
+            Query<SQLConnection> mutation = globalState.getQueryPlanMutation();
+            if (mutation != null) {
+                Metrics.increment(Metrics.QUERY_PLAN_MUTATIONS);
+                globalState.executeStatement(mutation);
+            }
+        } catch (IgnoreMeException e) {
+            // no statement could be generated for the current schema
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+}
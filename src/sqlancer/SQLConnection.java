@@ -2,12 +2,32 @@ package sqlancer;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class SQLConnection implements SQLancerDBConnection {
 
+    private static final int MAX_CACHED_PREPARED_STATEMENTS = 64;
+
     private final Connection connection;
+    private Statement reusableStatement;
+    private final Map<String, PreparedStatement> preparedStatements = new LinkedHashMap<String, PreparedStatement>(16,
+            0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() <= MAX_CACHED_PREPARED_STATEMENTS) {
+                return false;
+            }
+            closeQuietly(eldest.getValue());
+            return true;
+        }
+    };
 
     public SQLConnection(Connection connection) {
         this.connection = connection;
@@ -21,9 +41,25 @@ public class SQLConnection implements SQLancerDBConnection {
 
     @Override
     public void close() throws SQLException {
+        closeCachedStatements();
         connection.close();
     }
 
+    /**
+     * Closes the statements returned by {@link #getReusableStatement()} and {@link #getPreparedStatement(String)},
+     * which are recreated on their next use. This resets any state that a cancelled statement might have left behind.
+     */
+    public void closeCachedStatements() {
+        for (PreparedStatement s : preparedStatements.values()) {
+            closeQuietly(s);
+        }
+        preparedStatements.clear();
+        if (reusableStatement != null) {
+            closeQuietly(reusableStatement);
+            reusableStatement = null;
+        }
+    }
+
     public Statement prepareStatement(String arg) throws SQLException {
         return connection.prepareStatement(arg);
     }
@@ -31,4 +67,53 @@ public class SQLConnection implements SQLancerDBConnection {
     public Statement createStatement() throws SQLException {
         return connection.createStatement();
     }
+
+    /**
+     * Returns a statement that is shared by all callers of this method and remains open until the connection is closed.
+     * It must not be closed by the caller, and a result set obtained from it is closed when the statement is executed
+     * again; {@link #createStatement()} should be used if the result set needs to outlive the next statement.
+     *
+     * @return the shared statement
+     *
+     * @throws SQLException
+     *             if the statement cannot be created
+     */
+    public Statement getReusableStatement() throws SQLException {
+        if (reusableStatement == null || reusableStatement.isClosed()) {
+            reusableStatement = connection.createStatement();
+        }
+        return reusableStatement;
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL string from a bounded cache, in which the least-recently used
+     * statement is closed when the cache is full. Like {@link #getReusableStatement()}, the statement must not be
+     * closed by the caller; its parameters are cleared before it is returned.
+     *
+     * @param sql
+     *            the SQL string to be prepared
+     *
+     * @return the cached prepared statement
+     *
+     * @throws SQLException
+     *             if the statement cannot be prepared
+     */
+    public PreparedStatement getPreparedStatement(String sql) throws SQLException {
+        PreparedStatement s = preparedStatements.get(sql);
+        if (s == null || s.isClosed()) {
+            s = connection.prepareStatement(sql);
+            preparedStatements.put(sql, s);
+        } else {
+            s.clearParameters();
+        }
+        return s;
+    }
+
+    private static void closeQuietly(Statement s) {
+        try {
+            s.close();
+        } catch (SQLException e) {
+            // the connection might already be broken, in which case the statement does not need to be closed
+        }
+    }
 }
@@ -1,7 +1,13 @@
 package sqlancer;
 
+import java.sql.SQLException;
+import java.util.List;
+
 import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.schema.AbstractSchema;
+import sqlancer.common.schema.RowSampleCache;
+import sqlancer.common.schema.TableRowCounts;
 
 /**
  * Represents a global state that is valid for a testing session on a given database.
@@ -14,8 +20,94 @@ import sqlancer.common.schema.AbstractSchema;
 public abstract class SQLGlobalState<O extends DBMSSpecificOptions<?>, S extends AbstractSchema<?, ?>>
         extends GlobalState<O, S, SQLConnection> {
 
+    private final RowSampleCache rowSamples = new RowSampleCache();
+    private TableRowCounts rowCounts;
+    private QueryPlanGuidance queryPlanGuidance;
+
+    /**
+     * The sampled rows of the tables, which are discarded after every executed statement.
+     *
+     * @return the row samples
+     */
+    public RowSampleCache getRowSamples() {
+        return rowSamples;
+    }
+
+    /**
+     * The known numbers of rows of the tables and views, which are updated after every executed statement.
+     *
+     * @return the row counts
+     */
+    public TableRowCounts getRowCounts() {
+        if (rowCounts == null) {
+            rowCounts = new TableRowCounts();
+            DatabaseSnapshot snapshot = getDatabaseSnapshot();
+            if (snapshot != null && snapshot.isClone()) {
+                // the statements that created the cloned database determine whether it contains, e.g., triggers
+                for (Query<?> q : snapshot.getStatements()) {
+                    rowCounts.statementExecuted(q.getQueryString(), true, TableRowCounts.UNKNOWN_UPDATE_COUNT);
+                }
+            }
+        }
+        return rowCounts;
+    }
+
+    /**
+     * Records the query's plan if {@link MainOptions#useQueryPlanGuidance()} is enabled, and changes the database state
+     * if no new plans were observed for a while (see {@link QueryPlanGuidance}).
+     *
+     * @param query
+     *            the query that the test oracle is about to execute
+     */
+    public void checkQueryPlan(String query) {
+        if (!getOptions().useQueryPlanGuidance()) {
+            return;
+        }
+        if (queryPlanGuidance == null) {
+            queryPlanGuidance = new QueryPlanGuidance(getOptions().getQueryPlanCacheSize(),
+                    getOptions().getQueryPlanMutationThreshold());
+        }
+        queryPlanGuidance.check(this, query);
+    }
+
+    /**
+     * Obtains the plan that the DBMS uses to execute the query, normalized so that it describes the plan's shape (e.g.,
+     * the operators and access paths), but not, for example, constants in predicates.
+     *
+     * @param query
+     *            the query
+     *
+     * @return the normalized query plan, or {@code null} if the DBMS does not support obtaining query plans
+     *
+     * @throws SQLException
+     *             if the query plan cannot be obtained
+     */
+    protected String getQueryPlan(String query) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Generates a statement that might change the plans that the DBMS chooses for the queries, for example, by updating
+     * the table statistics or creating an index.
+     *
+     * @return the statement, or {@code null} if the DBMS does not support obtaining query plans
+     *
+     * @throws Exception
+     *             if the statement cannot be generated
+     */
+    protected Query<SQLConnection> getQueryPlanMutation() throws Exception {
+        return null;
+    }
+
+    private static int getUpdateCount(Query<?> q) {
+        return q instanceof SQLQueryAdapter ? ((SQLQueryAdapter) q).getUpdateCount()
+                : TableRowCounts.UNKNOWN_UPDATE_COUNT;
+    }
+
     @Override
     protected void executeEpilogue(Query<?> q, boolean success, ExecutionTimer timer) throws Exception {
+        rowSamples.clear();
+        getRowCounts().statementExecuted(q.getQueryString(), success, getUpdateCount(q));
         boolean logExecutionTime = getOptions().logExecutionTime();
         if (success && getOptions().printSucceedingStatements()) {
             System.out.println(q.getQueryString());
@@ -24,7 +116,84 @@ public abstract class SQLGlobalState<O extends DBMSSpecificOptions<?>, S extends
             getLogger().writeCurrent(" -- " + timer.end().asString());
         }
         if (q.couldAffectSchema()) {
-            updateSchema();
+            updateSchema(q, success);
+        }
+    }
+
+    /**
+     * Whether statements can be executed in batches, see {@link SQLQueryAdapter#executeBatch(GlobalState, List)}. This
+     * depends on the update counts that the JDBC driver reports for a failed batch; for example, the SQLite driver
+     * reports statements that it did not execute as having been executed.
+     *
+     * @return true if the JDBC driver supports batches as required
+     */
+    protected boolean supportsStatementBatches() {
+        return false;
+    }
+
+    @Override
+    public boolean canBeBatched(Query<?> q) {
+        return supportsStatementBatches() && !q.couldAffectSchema() && q.getClass() == SQLQueryAdapter.class;
+    }
+
+    @Override
+    public BatchOutcome[] executeStatementBatch(List<Query<SQLConnection>> queries) throws Exception {
+        boolean logExecutionTime = getOptions().logExecutionTime();
+        ExecutionTimer timer = null;
+        if (logExecutionTime || Metrics.isEnabled()) {
+            timer = new ExecutionTimer().start();
+        }
+        for (Query<SQLConnection> q : queries) {
+            if (getOptions().printAllStatements()) {
+                System.out.println(q.getLogString());
+            }
+            if (getOptions().logEachSelect()) {
+                getLogger().writeCurrent(q.getLogString());
+            }
+        }
+        rowSamples.clear();
+        BatchOutcome[] outcomes = SQLQueryAdapter.executeBatch(this, queries);
+        if (timer != null) {
+            timer.end();
+            Metrics.recordDuration(Metrics.STATEMENT_BATCH_DURATION, timer.getElapsedNanos());
+        }
+        if (logExecutionTime) {
+            getLogger().writeCurrent("-- batch of " + queries.size() + " statements: " + timer.asString());
+        }
+        Exception batchFailure = null;
+        boolean batchFailureIsExpected = false;
+        for (int i = 0; i < outcomes.length; i++) {
+            SQLQueryAdapter q = (SQLQueryAdapter) queries.get(i);
+            if (getDifferentialExecution() != null) {
+                getDifferentialExecution().statementExecuted(q.getQueryString(), outcomes[i]);
+            }
+            if (outcomes[i] == BatchOutcome.NOT_EXECUTED) {
+                if (q.getBatchException() != null) {
+                    // the statement is one of those that might have caused the failure of the batch
+                    batchFailure = q.getBatchException();
+                    batchFailureIsExpected |= q.getExpectedErrors().exceptionIsExpected(batchFailure);
+                }
+                continue;
+            }
+            boolean success = outcomes[i] == BatchOutcome.EXECUTED;
+            getRowCounts().statementExecuted(q.getQueryString(), success, getUpdateCount(q));
+            getState().logStatement(q);
+            if (success && getOptions().printSucceedingStatements()) {
+                System.out.println(q.getQueryString());
+            }
+            if (!success) {
+                q.checkException(q.getBatchException());
+            }
+        }
+        if (batchFailure != null && !batchFailureIsExpected) {
+            // the statements that might have caused the failure are logged to reproduce it
+            for (int i = 0; i < outcomes.length; i++) {
+                if (outcomes[i] == BatchOutcome.NOT_EXECUTED) {
+                    getState().logStatement(queries.get(i));
+                }
+            }
+            throw new AssertionError(batchFailure.getMessage(), batchFailure);
         }
+        return outcomes;
     }
 }
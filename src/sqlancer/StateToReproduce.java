@@ -2,14 +2,13 @@ package sqlancer;
 
 import java.io.Closeable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import sqlancer.common.query.Query;
 
 public class StateToReproduce {
 
-    private final List<Query<?>> statements = new ArrayList<>();
+    private StatementHistory statements = new StatementHistory();
 
     private final String databaseName;
 
@@ -66,17 +65,31 @@ public class StateToReproduce {
         statements.add(query);
     }
 
+    /**
+     * Returns the logged statements. Only the most recent statements are kept in memory, so the other statements are
+     * read back, together with their expected errors, from a temporary file.
+     *
+     * @return the logged statements
+     */
     public List<Query<?>> getStatements() {
-        return Collections.unmodifiableList(statements);
+        return statements.asList();
+    }
+
+    /**
+     * Releases the resources used to store the statements, after which the statements can no longer be accessed.
+     */
+    public void releaseStatements() {
+        statements.close();
     }
 
     @Deprecated
     public void commentStatements() {
-        for (int i = 0; i < statements.size(); i++) {
-            Query<?> statement = statements.get(i);
-            Query<?> newQuery = databaseProvider.getLoggableFactory().commentOutQuery(statement);
-            statements.set(i, newQuery);
+        StatementHistory commentedStatements = new StatementHistory();
+        for (Query<?> statement : statements.asList()) {
+            commentedStatements.add(databaseProvider.getLoggableFactory().commentOutQuery(statement));
         }
+        statements.close();
+        statements = commentedStatements;
     }
 
     public long getSeedValue() {
@@ -117,7 +130,9 @@ public class StateToReproduce {
         @Override
         public void close() {
             if (!success) {
-                StateToReproduce.this.statements.addAll(statements);
+                for (Query<?> statement : statements) {
+                    StateToReproduce.this.statements.add(statement);
+                }
             }
 
         }
@@ -29,7 +29,7 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
         this.queryConsumer = queryConsumer;
     }
 
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings("rawtypes")
     public void executeStatements() throws Exception {
         Randomly r = globalState.getRandomly();
         int[] nrRemaining = new int[actions.length];
@@ -44,6 +44,15 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
             nrRemaining[i] = nrPerformed;
             total += nrPerformed;
         }
+        AdaptiveActionWeights weights = null;
+        if (globalState.getOptions().useAdaptiveActionWeights()) {
+            weights = AdaptiveActionWeights.get();
+            total = weights.reweight(actions, nrRemaining);
+        }
+        int batchSize = globalState.getOptions().getStatementBatchSize();
+        List<Query> batch = new ArrayList<>();
+        List<A> batchActions = new ArrayList<>();
+        List<Long> batchGenerationNanos = new ArrayList<>();
         while (total != 0) {
             A nextAction = null;
             int selection = r.getInteger(0, total);
@@ -60,24 +69,96 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
             assert nextAction != null;
             assert nrRemaining[i] > 0;
             nrRemaining[i]--;
-            @SuppressWarnings("rawtypes")
+            long start = System.nanoTime();
             Query query = null;
             try {
-                boolean success;
-                int nrTries = 0;
-                do {
-                    query = nextAction.getQuery(globalState);
-                    success = globalState.executeStatement(query);
-                } while (nextAction.canBeRetried() && !success
-                        && nrTries++ < globalState.getOptions().getNrStatementRetryCount());
+                query = nextAction.getQuery(globalState);
             } catch (IgnoreMeException e) {
+                // the action is skipped
+                Metrics.ignored("generation", nextAction.toString(), e);
+            }
+            long generationNanos = System.nanoTime() - start;
+            if (query == null) {
+                if (weights != null) {
+                    weights.record(nextAction, false, generationNanos);
+                }
+            } else if (batchSize > 1 && globalState.canBeBatched(query)) {
+                batch.add(query);
+                batchActions.add(nextAction);
+                batchGenerationNanos.add(generationNanos);
+                if (batch.size() == batchSize) {
+                    executeBatch(batch, batchActions, batchGenerationNanos, weights);
+                }
+            } else {
+                executeBatch(batch, batchActions, batchGenerationNanos, weights);
+                long executionStart = System.nanoTime();
+                boolean success = executeAction(nextAction, query, false);
+                if (weights != null) {
+                    weights.record(nextAction, success, generationNanos + System.nanoTime() - executionStart);
+                }
+            }
+            total--;
+        }
+        executeBatch(batch, batchActions, batchGenerationNanos, weights);
+    }
 
+    /*
+     * Statements that failed as part of the batch are not executed again, since the failure might have had an effect,
+     * but their actions are retried as usual. Statements that were not executed because another statement in the batch
+     * failed are executed individually. Since batched statements cannot affect the schema, the remaining statements are
+     * still valid. For the adaptive action weights, each statement is attributed an equal share of the batch's
+     * execution time.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void executeBatch(List<Query> batch, List<A> batchActions, List<Long> batchGenerationNanos,
+            AdaptiveActionWeights weights) throws Exception {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        GlobalState.BatchOutcome[] outcomes = globalState.executeStatementBatch((List) batch);
+        long batchShareNanos = (System.nanoTime() - start) / outcomes.length;
+        for (int i = 0; i < outcomes.length; i++) {
+            long executionStart = System.nanoTime();
+            boolean success = outcomes[i] == GlobalState.BatchOutcome.EXECUTED
+                    || executeAction(batchActions.get(i), batch.get(i), outcomes[i] == GlobalState.BatchOutcome.FAILED);
+            if (weights != null) {
+                weights.record(batchActions.get(i), success,
+                        batchGenerationNanos.get(i) + batchShareNanos + System.nanoTime() - executionStart);
+            }
+        }
+        batch.clear();
+        batchActions.clear();
+        batchGenerationNanos.clear();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private boolean executeAction(A action, Query firstQuery, boolean firstQueryFailed) throws Exception {
+        Query query = firstQuery;
+        boolean success = false;
+        globalState.setCurrentAction(action);
+        try {
+            if (!firstQueryFailed) {
+                success = globalState.executeStatement(query);
+            }
+            int nrTries = 0;
+            while (action.canBeRetried() && !success
+                    && nrTries++ < globalState.getOptions().getNrStatementRetryCount()) {
+                query = action.getQuery(globalState);
+                success = globalState.executeStatement(query);
             }
-            if (query != null && query.couldAffectSchema()) {
+        } catch (IgnoreMeException e) {
+            Metrics.ignored("execution", action.toString(), e);
+            if (query.couldAffectSchema()) {
+                // the execution epilogue, which updates the schema, might not have been reached
                 globalState.updateSchema();
-                queryConsumer.notify(query);
             }
-            total--;
+        } finally {
+            globalState.setCurrentAction(null);
+        }
+        if (query.couldAffectSchema()) {
+            queryConsumer.notify(query);
         }
+        return success;
     }
 }
@@ -0,0 +1,266 @@
+package sqlancer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
+
+/**
+ * The statements that were executed on a database (see {@link StateToReproduce}). Only the most recent statements are
+ * kept in memory; older SQL statements are appended to a temporary file together with their expected errors, and only
+ * their offsets in the file are kept in memory. Statements that were read back from the file can thus be executed
+ * again like the original ones. Other statements (e.g., those of document databases) cannot be reconstructed from the
+ * file, so they, and all statements that were added after them, are kept in memory.
+ */
+final class StatementHistory {
+
+    private static final int MAX_BUFFERED_STATEMENTS = 1000;
+    private static final int MAX_INTERNED_STATEMENTS = 10000;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final List<Query<?>> bufferedStatements = new ArrayList<>();
+    // file offsets of the statements that are no longer buffered
+    private long[] offsets = new long[0];
+    private int nrSpilledStatements;
+    // records that were already written to the file, to store repeated statements and expected errors only once
+    private final Map<List<Object>, Long> internedStatements = new HashMap<>();
+    private final Map<List<Set<?>>, Long> internedErrors = new HashMap<>();
+    // expected errors that were already read back, since the same ones are typically shared by many statements
+    private final Map<Long, ExpectedErrors> errorsByOffset = new HashMap<>();
+    private FileChannel file;
+    private long fileSize;
+    private ByteBuffer readBuffer;
+    private long readBufferOffset;
+
+    public void add(Query<?> query) {
+        if (bufferedStatements.size() >= MAX_BUFFERED_STATEMENTS) {
+            spill();
+        }
+        bufferedStatements.add(query);
+    }
+
+    public int size() {
+        return nrSpilledStatements + bufferedStatements.size();
+    }
+
+    public Query<?> get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        if (index >= nrSpilledStatements) {
+            return bufferedStatements.get(index - nrSpilledStatements);
+        }
+        try {
+            long offset = offsets[index];
+            int queryLength = read(offset, Integer.BYTES).getInt();
+            String queryString = readString(offset + Integer.BYTES, queryLength);
+            offset += Integer.BYTES + queryLength;
+            ByteBuffer buffer = read(offset, 1 + Long.BYTES);
+            boolean couldAffectSchema = buffer.get() != 0;
+            ExpectedErrors errors = readErrors(buffer.getLong());
+            return new SQLQueryAdapter(queryString, errors, couldAffectSchema);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public List<Query<?>> asList() {
+        return new AbstractList<Query<?>>() {
+
+            @Override
+            public Query<?> get(int index) {
+                return StatementHistory.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return StatementHistory.this.size();
+            }
+        };
+    }
+
+    /**
+     * Deletes the temporary file, after which the statements can no longer be accessed.
+     */
+    public void close() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private void spill() {
+        int nrStatements = 0;
+        while (nrStatements < bufferedStatements.size()
+                && bufferedStatements.get(nrStatements) instanceof SQLQueryAdapter) {
+            nrStatements++;
+        }
+        if (nrStatements == 0) {
+            return;
+        }
+        try {
+            if (file == null) {
+                Path path = Files.createTempFile("sqlancer-statements", ".log");
+                file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            if (offsets.length < nrSpilledStatements + nrStatements) {
+                offsets = Arrays.copyOf(offsets, Math.max(offsets.length * 2, nrSpilledStatements + nrStatements));
+            }
+            List<byte[]> records = new ArrayList<>();
+            int recordsSize = 0;
+            for (Query<?> query : bufferedStatements.subList(0, nrStatements)) {
+                ExpectedErrors errors = query.getExpectedErrors();
+                List<Set<?>> errorsKey = Arrays.asList(Set.copyOf(errors.getErrors()),
+                        Set.copyOf(errors.getSQLStates()), Set.copyOf(errors.getVendorCodes()));
+                Long errorsOffset = internedErrors.get(errorsKey);
+                if (errorsOffset == null) {
+                    byte[] record = toErrorsRecord(errors);
+                    errorsOffset = fileSize + recordsSize;
+                    if (internedErrors.size() == MAX_INTERNED_STATEMENTS) {
+                        internedErrors.clear();
+                    }
+                    internedErrors.put(errorsKey, errorsOffset);
+                    records.add(record);
+                    recordsSize += record.length;
+                }
+                String queryString = query.getQueryString();
+                List<Object> statementKey = Arrays.asList(queryString, query.couldAffectSchema(), errorsOffset);
+                Long internedOffset = internedStatements.get(statementKey);
+                if (internedOffset != null) {
+                    offsets[nrSpilledStatements++] = internedOffset;
+                    continue;
+                }
+                byte[] record = toStatementRecord(queryString, query.couldAffectSchema(), errorsOffset);
+                long offset = fileSize + recordsSize;
+                offsets[nrSpilledStatements++] = offset;
+                if (internedStatements.size() == MAX_INTERNED_STATEMENTS) {
+                    internedStatements.clear();
+                }
+                internedStatements.put(statementKey, offset);
+                records.add(record);
+                recordsSize += record.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(recordsSize);
+            for (byte[] record : records) {
+                buffer.put(record);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                fileSize += file.write(buffer, fileSize);
+            }
+            bufferedStatements.subList(0, nrStatements).clear();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] toStatementRecord(String queryString, boolean couldAffectSchema, long errorsOffset) {
+        byte[] query = queryString.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + query.length + 1 + Long.BYTES);
+        record.putInt(query.length);
+        record.put(query);
+        record.put((byte) (couldAffectSchema ? 1 : 0));
+        record.putLong(errorsOffset);
+        return record.array();
+    }
+
+    private static byte[] toErrorsRecord(ExpectedErrors errors) {
+        List<byte[]> strings = new ArrayList<>();
+        for (String error : errors.getErrors()) {
+            strings.add(error.getBytes(StandardCharsets.UTF_8));
+        }
+        for (String sqlState : errors.getSQLStates()) {
+            strings.add(sqlState.getBytes(StandardCharsets.UTF_8));
+        }
+        int size = 3 * Integer.BYTES + strings.size() * Integer.BYTES + errors.getVendorCodes().size() * Integer.BYTES;
+        for (byte[] string : strings) {
+            size += string.length;
+        }
+        ByteBuffer record = ByteBuffer.allocate(size);
+        record.putInt(errors.getErrors().size());
+        record.putInt(errors.getSQLStates().size());
+        record.putInt(errors.getVendorCodes().size());
+        for (byte[] string : strings) {
+            record.putInt(string.length);
+            record.put(string);
+        }
+        for (int vendorCode : errors.getVendorCodes()) {
+            record.putInt(vendorCode);
+        }
+        return record.array();
+    }
+
+    private ExpectedErrors readErrors(long offset) throws IOException {
+        ExpectedErrors errors = errorsByOffset.get(offset);
+        if (errors != null) {
+            return errors;
+        }
+        errors = new ExpectedErrors();
+        ByteBuffer counts = read(offset, 3 * Integer.BYTES);
+        int nrErrors = counts.getInt();
+        int nrSQLStates = counts.getInt();
+        int nrVendorCodes = counts.getInt();
+        long position = offset + 3 * Integer.BYTES;
+        for (int i = 0; i < nrErrors + nrSQLStates; i++) {
+            int length = read(position, Integer.BYTES).getInt();
+            String string = readString(position + Integer.BYTES, length);
+            position += Integer.BYTES + length;
+            if (i < nrErrors) {
+                errors.add(string);
+            } else {
+                errors.addSQLState(string);
+            }
+        }
+        for (int i = 0; i < nrVendorCodes; i++) {
+            errors.addVendorCode(read(position, Integer.BYTES).getInt());
+            position += Integer.BYTES;
+        }
+        if (errorsByOffset.size() == MAX_INTERNED_STATEMENTS) {
+            errorsByOffset.clear();
+        }
+        errorsByOffset.put(offset, errors);
+        return errors;
+    }
+
+    private String readString(long offset, int length) throws IOException {
+        ByteBuffer buffer = read(offset, length);
+        return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * The statements are typically read sequentially, so a larger part of the file is read and kept in memory.
+     */
+    private ByteBuffer read(long offset, int length) throws IOException {
+        if (readBuffer == null || offset < readBufferOffset
+                || offset + length > readBufferOffset + readBuffer.limit()) {
+            readBuffer = ByteBuffer.allocate(Math.max(READ_BUFFER_SIZE, length));
+            readBufferOffset = offset;
+            while (readBuffer.hasRemaining() && offset + readBuffer.position() < fileSize) {
+                file.read(readBuffer, offset + readBuffer.position());
+            }
+            readBuffer.flip();
+        }
+        ByteBuffer result = readBuffer.duplicate();
+        result.position((int) (offset - readBufferOffset));
+        return result;
+    }
+
+}
@@ -0,0 +1,264 @@
+package sqlancer;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels statements that exceed their time budget using {@link Statement#cancel()}, so that a single slow statement
+ * cannot stall a thread. The budget is given by {@link MainOptions#getStatementTimeoutMillis()} and, if
+ * {@link MainOptions#getStatementTimeoutP99Factor()} is set, is adapted to the 99th percentile of the recent execution
+ * times of statements of the same kind (e.g., SELECT or INSERT) on the current thread. A cancelled statement is not
+ * considered a bug; instead, it is logged as a potential performance issue, and the test case is ignored. If the
+ * connection cannot be reset after a cancellation, the whole database is abandoned by throwing a
+ * {@link DatabaseAbandonedException} for the next statement that is watched (see {@link #isConnectionInterrupted()}).
+ */
+public final class StatementWatchdog {
+
+    // the number of statements of a kind after which the adaptive budget is recomputed
+    static final int WINDOW_SIZE = 1000;
+    static final long MIN_ADAPTIVE_BUDGET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final ThreadLocal<Map<String, Durations>> DURATIONS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Watch> ACTIVE_WATCH = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> CONNECTION_INTERRUPTED = ThreadLocal.withInitial(() -> false);
+
+    private StatementWatchdog() {
+    }
+
+    private static final class SchedulerHolder {
+        private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "sqlancer-statement-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+
+        static {
+            // most statements complete within their budget, so their cancellation tasks should not accumulate
+            SCHEDULER.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    /**
+     * Starts watching the execution of a statement.
+     *
+     * @param globalState
+     *            the global state of the thread that executes the statement
+     * @param statement
+     *            the JDBC statement that is cancelled once the budget is exceeded
+     * @param sql
+     *            the statement's SQL string
+     *
+     * @return the watch, which must be closed once the statement and its result set are no longer used, or {@code null}
+     *         if the statement does not have a time budget
+     */
+    public static Watch watch(GlobalState<?, ?, ?> globalState, Statement statement, String sql) {
+        MainOptions options = globalState.getOptions();
+        if (options.getStatementTimeoutMillis() == -1 && options.getStatementTimeoutP99Factor() == 0) {
+            return null;
+        }
+        if (isConnectionInterrupted()) {
+            throw new DatabaseAbandonedException("connection interrupted");
+        }
+        /*
+         * A cancellation might affect any statement on the connection, so at most one watch per thread is active. This
+         * also ensures that a result set that is never closed cannot cause the cancellation of a later statement.
+         */
+        Watch previous = ACTIVE_WATCH.get();
+        if (previous != null) {
+            previous.close();
+        }
+        Durations durations = DURATIONS.get().computeIfAbsent(getKind(sql), k -> new Durations(options));
+        // if no adaptive budget has been computed yet, the statement is timed but not cancelled
+        Watch watch = new Watch(globalState, durations.budgetNanos == Long.MAX_VALUE ? null : statement, sql,
+                durations);
+        ACTIVE_WATCH.set(watch);
+        return watch;
+    }
+
+    /**
+     * Determines whether a cancellation might still affect the statements on the current thread's connection, in which
+     * case no further statements are executed on it.
+     *
+     * @return whether the connection was left interrupted by a cancellation
+     */
+    public static boolean isConnectionInterrupted() {
+        return CONNECTION_INTERRUPTED.get();
+    }
+
+    /**
+     * Resets the state of the current thread once its connection is closed.
+     */
+    public static void connectionClosed() {
+        CONNECTION_INTERRUPTED.remove();
+        ACTIVE_WATCH.remove();
+    }
+
+    static String getKind(String sql) {
+        int start = 0;
+        while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return sql.substring(start, end).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The execution times of recent statements of a kind, from which the budget of the following statements is derived.
+     */
+    static final class Durations {
+
+        private final long maxBudgetNanos;
+        private final double p99Factor;
+        private LatencyHistogram window = new LatencyHistogram();
+        private long budgetNanos;
+
+        Durations(MainOptions options) {
+            this(options.getStatementTimeoutMillis(), options.getStatementTimeoutP99Factor());
+        }
+
+        Durations(long timeoutMillis, double p99Factor) {
+            this.maxBudgetNanos = timeoutMillis == -1 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            this.p99Factor = p99Factor;
+            this.budgetNanos = maxBudgetNanos;
+        }
+
+        void record(long nanos) {
+            if (p99Factor == 0) {
+                return;
+            }
+            window.record(nanos);
+            if (window.getCount() == WINDOW_SIZE) {
+                double adaptiveBudget = p99Factor * window.getValueAtQuantile(0.99);
+                budgetNanos = Math.min(maxBudgetNanos, Math.max(MIN_ADAPTIVE_BUDGET_NANOS, (long) adaptiveBudget));
+                window = new LatencyHistogram();
+            }
+        }
+
+        long getBudgetNanos() {
+            return budgetNanos;
+        }
+
+    }
+
+    /**
+     * Watches a single execution of a statement.
+     */
+    public static final class Watch implements Runnable {
+
+        private final GlobalState<?, ?, ?> globalState;
+        private final Statement statement;
+        private final String sql;
+        private final Durations durations;
+        private final long startNanos = System.nanoTime();
+        private final ScheduledFuture<?> future;
+        private volatile boolean timedOut;
+        private boolean closed;
+
+        Watch(GlobalState<?, ?, ?> globalState, Statement statement, String sql, Durations durations) {
+            this.globalState = globalState;
+            this.statement = statement;
+            this.sql = sql;
+            this.durations = durations;
+            if (statement == null) {
+                future = null;
+            } else {
+                future = SchedulerHolder.SCHEDULER.schedule(this, durations.getBudgetNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /*
+         * Cancelling the statement after the watch was closed could interrupt a subsequent statement on the same
+         * connection (e.g., for SQLite, which interrupts the connection rather than the statement), so cancelling and
+         * closing are mutually exclusive.
+         */
+        @Override
+        public synchronized void run() {
+            if (closed) {
+                return;
+            }
+            timedOut = true;
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // the statement might have completed in the meantime
+            }
+        }
+
+        public boolean hasTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * Records that the statement was cancelled, which should be called when its execution or the retrieval of its
+         * result failed and {@link #hasTimedOut()} holds.
+         *
+         * @return the exception to be thrown so that the test case is ignored
+         */
+        public IgnoreMeException timeout() {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            Metrics.increment(Metrics.STATEMENT_TIMEOUTS, "kind", getKind(sql));
+            if (globalState.getLogger() != null) {
+                globalState.getLogger().logPerformanceIssue(
+                        String.format("cancelled after %d ms (budget: %d ms)", elapsedMillis,
+                                TimeUnit.NANOSECONDS.toMillis(durations.getBudgetNanos())),
+                        sql, globalState.getState());
+            }
+            return new IgnoreMeException("statement timeout");
+        }
+
+        /**
+         * Stops watching the statement. Since it is called when cleaning up after the statement, it does not throw if
+         * the connection cannot be reset, so that the statement's own exception is not hidden; instead, the next call
+         * of {@link StatementWatchdog#watch} abandons the database.
+         */
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (ACTIVE_WATCH.get() == this) {
+                ACTIVE_WATCH.remove();
+            }
+            if (future != null) {
+                future.cancel(false);
+            }
+            if (timedOut) {
+                resetConnection();
+            } else {
+                durations.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        /*
+         * Some drivers cancel all statements of the connection rather than only the given one (e.g., SQLite's driver
+         * interrupts the connection), and the cancellation might remain pending if the statement completed or failed
+         * before observing it. Closing the cached statements and executing a probe statement clears the cancellation.
+         * If the probe fails, the cancellation cannot be cleared since a statement is still active on the connection
+         * (e.g., one internally used by a virtual table), and the following statements might fail as well, so the
+         * database is abandoned before the next statement is executed.
+         */
+        private void resetConnection() {
+            if (!(globalState.getConnection() instanceof SQLConnection)) {
+                return;
+            }
+            SQLConnection connection = (SQLConnection) globalState.getConnection();
+            connection.closeCachedStatements();
+            try (Statement s = connection.createStatement()) {
+                s.execute("SELECT 1");
+            } catch (SQLException e) {
+                CONNECTION_INTERRUPTED.set(true);
+            }
+        }
+
+    }
+
+}
@@ -31,10 +31,10 @@ public class ArangoDBCreateIndexQuery extends ArangoDBQueryAdapter {
             ArangoCollection collection = globalState.getConnection().getDatabase()
                     .collection(column.getTable().getName());
             collection.ensureHashIndex(Collections.singletonList(column.getName()), null);
-            Main.nrSuccessfulActions.addAndGet(1);
+            Main.nrSuccessfulActions.increment();
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            Main.nrUnsuccessfulActions.increment();
             throw e;
         }
     }
@@ -1,6 +1,5 @@
 package sqlancer.arangodb.query;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -59,11 +58,6 @@ public class ArangoDBSelectQuery extends ArangoDBQueryAdapter {
             String... fills) throws Exception {
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(this.getLogString());
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
 
         ArangoCursor<BaseDocument> cursor;
@@ -1,5 +1,6 @@
 package sqlancer.citus;
 
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -8,11 +9,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.ConnectionPool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
@@ -57,6 +61,9 @@ import sqlancer.postgres.gen.PostgresVacuumGenerator;
 @AutoService(DatabaseProvider.class)
 public class CitusProvider extends PostgresProvider {
 
+    // a lock rather than a monitor, since a virtual thread holding a monitor during I/O blocks its carrier thread
+    private static final Lock CREATE_DATABASE_LOCK = new ReentrantLock();
+
     @SuppressWarnings("unchecked")
     public CitusProvider() {
         super((Class<PostgresGlobalState>) (Object) CitusGlobalState.class,
@@ -322,7 +329,7 @@ public class CitusProvider extends PostgresProvider {
     protected TestOracle getTestOracle(PostgresGlobalState globalState) throws SQLException {
         List<TestOracle> oracles = ((CitusOptions) globalState.getDbmsSpecificOptions()).citusOracle.stream().map(o -> {
             try {
-                return o.create(globalState);
+                return createTestOracle(o, globalState);
             } catch (Exception e1) {
                 throw new AssertionError(e1);
             }
@@ -330,7 +337,7 @@ public class CitusProvider extends PostgresProvider {
         return new CompositeTestOracle(oracles, globalState);
     }
 
-    private List<CitusWorkerNode> readCitusWorkerNodes(PostgresGlobalState globalState, SQLConnection con)
+    private List<CitusWorkerNode> readCitusWorkerNodes(PostgresGlobalState globalState, Connection con)
             throws SQLException {
         globalState.getState().logStatement("SELECT * FROM citus_get_active_worker_nodes()");
         List<CitusWorkerNode> citusWorkerNodes = new ArrayList<>();
@@ -363,8 +370,9 @@ public class CitusProvider extends PostgresProvider {
             String entryWorkerURL = preHost + w.getHost() + ":" + w.getPort() + postHost;
             globalState.getState().logStatement("\\q");
             globalState.getState().logStatement(entryWorkerURL);
-            SQLConnection con = new SQLConnection(
-                    DriverManager.getConnection("jdbc:" + entryWorkerURL, username, password));
+            String url = "jdbc:" + entryWorkerURL;
+            Connection con = ConnectionPool.getConnection(url,
+                    () -> DriverManager.getConnection(url, username, password), "DISCARD ALL");
 
             // create test database at worker node
             globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
@@ -375,7 +383,6 @@ public class CitusProvider extends PostgresProvider {
             try (Statement s = con.createStatement()) {
                 s.execute(createDatabaseCommand);
             }
-            con.close();
 
             // connect to worker node, test database
             int databaseIndexWorker = entryWorkerURL.indexOf(entryPath) + 1;
@@ -383,11 +390,11 @@ public class CitusProvider extends PostgresProvider {
             String postDatabaseNameWorker = entryWorkerURL.substring(databaseIndexWorker + entryDatabaseName.length());
             String testWorkerURL = preDatabaseNameWorker + databaseName + postDatabaseNameWorker;
             globalState.getState().logStatement(String.format("\\c %s;", databaseName));
-            con = new SQLConnection(DriverManager.getConnection("jdbc:" + testWorkerURL, username, password));
-
-            // add citus extension to worker node, test database
-            addCitusExtension(globalState, con);
-            con.close();
+            try (SQLConnection testCon = new SQLConnection(
+                    DriverManager.getConnection("jdbc:" + testWorkerURL, username, password))) {
+                // add citus extension to worker node, test database
+                addCitusExtension(globalState, testCon);
+            }
         }
     }
 
@@ -405,7 +412,8 @@ public class CitusProvider extends PostgresProvider {
     @SuppressWarnings("deprecation")
     @Override
     public SQLConnection createDatabase(PostgresGlobalState globalState) throws SQLException {
-        synchronized (CitusProvider.class) {
+        CREATE_DATABASE_LOCK.lock();
+        try {
             // returns connection to coordinator node, test database
             SQLConnection con = super.createDatabase(globalState);
             String entryDatabaseName = entryPath.substring(1);
@@ -416,10 +424,8 @@ public class CitusProvider extends PostgresProvider {
 
             // reconnect to coordinator node, entry database
             globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
-            con = new SQLConnection(DriverManager.getConnection("jdbc:" + entryURL, username, password));
             // read info about worker nodes
-            List<CitusWorkerNode> citusWorkerNodes = readCitusWorkerNodes(globalState, con);
-            con.close();
+            List<CitusWorkerNode> citusWorkerNodes = readCitusWorkerNodes(globalState, getEntryConnection());
 
             // prepare worker nodes for test database
             prepareCitusWorkerNodes(globalState, citusWorkerNodes, databaseIndex, entryDatabaseName);
@@ -438,9 +444,17 @@ public class CitusProvider extends PostgresProvider {
                     .setRepartition(((CitusOptions) globalState.getDbmsSpecificOptions()).repartition);
             globalState.getState().commentStatements();
             return con;
+        } finally {
+            CREATE_DATABASE_LOCK.unlock();
         }
     }
 
+    @Override
+    public boolean supportsSnapshots() {
+        // the distributed tables also reside on the worker nodes, which cannot be cloned using a template database
+        return false;
+    }
+
     @Override
     protected void prepareTables(PostgresGlobalState globalState) throws Exception {
         StatementExecutor<PostgresGlobalState, Action> se = new StatementExecutor<>(globalState, Action.values(),
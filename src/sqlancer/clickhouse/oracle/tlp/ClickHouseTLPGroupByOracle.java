@@ -1,7 +1,6 @@
 package sqlancer.clickhouse.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,19 +24,15 @@ public class ClickHouseTLPGroupByOracle extends ClickHouseTLPBase {
         select.setWhereClause(null);
         String originalQueryString = ClickHouseVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         select.setWhereClause(predicate);
         String firstQueryString = ClickHouseVisitor.asString(select);
         select.setWhereClause(negatedPredicate);
         String secondQueryString = ClickHouseVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = ClickHouseVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
-                secondQueryString, thirdQueryString, combinedString, false, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStringsNoDuplicates(firstQueryString,
+                secondQueryString, thirdQueryString, false);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 
     @Override
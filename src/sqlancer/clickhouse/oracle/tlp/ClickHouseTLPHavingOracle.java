@@ -1,7 +1,7 @@
 package sqlancer.clickhouse.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -50,8 +50,6 @@ public class ClickHouseTLPHavingOracle extends ClickHouseTLPBase {
         select.setHavingClause(null);
         String originalQueryString = ClickHouseVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         ClickHouseExpression predicate = aggrGen.getHavingClause();
         select.setHavingClause(predicate);
         String firstQueryString = ClickHouseVisitor.asString(select);
@@ -63,19 +61,6 @@ public class ClickHouseTLPHavingOracle extends ClickHouseTLPBase {
         String thirdQueryString = ClickHouseVisitor.asString(select);
         String combinedString = firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL " + thirdQueryString;
         combinedString += " SETTINGS aggregate_functions_null_for_empty=1, enable_optimize_predicate_expression=0"; // https://github.com/ClickHouse/ClickHouse/issues/12264
-        List<String> secondResultSet = ComparatorHelper.getResultSetFirstColumnAsString(combinedString, errors, state);
-        if (state.getOptions().logEachSelect()) {
-            state.getLogger().writeCurrent(originalQueryString);
-            state.getLogger().writeCurrent(combinedString);
-        }
-        if (new HashSet<>(resultSet).size() != new HashSet<>(secondResultSet).size()) {
-            HashSet<String> diffLeft = new HashSet<>(resultSet);
-            HashSet<String> tmpLeft = new HashSet<>(resultSet);
-            HashSet<String> diffRight = new HashSet<>(secondResultSet);
-            diffLeft.removeAll(diffRight);
-            diffRight.removeAll(tmpLeft);
-            throw new AssertionError(originalQueryString + ";\n" + combinedString + ";\n" + "Left: "
-                    + diffLeft.toString() + "\nRight: " + diffRight.toString());
-        }
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, Arrays.asList(combinedString), errors, state);
     }
 }
@@ -1,7 +1,6 @@
 package sqlancer.clickhouse.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -25,7 +24,6 @@ public class ClickHouseTLPWhereOracle extends ClickHouseTLPBase {
             select.setOrderByExpressions(gen.generateOrderBys());
         }
         String originalQueryString = ClickHouseVisitor.asString(select);
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
 
         boolean orderBy = Randomly.getBooleanWithRatherLowProbability();
         if (orderBy) {
@@ -37,10 +35,8 @@ public class ClickHouseTLPWhereOracle extends ClickHouseTLPBase {
         String secondQueryString = ClickHouseVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = ClickHouseVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, !orderBy);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 }
@@ -306,6 +306,7 @@ public final class CockroachDBErrors {
 
     public static void addTransactionErrors(ExpectedErrors errors) {
         errors.add("current transaction is aborted");
+        errors.addSQLState("25P02"); // in_failed_sql_transaction
     }
 
 }
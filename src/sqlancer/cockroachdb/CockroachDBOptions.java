@@ -12,6 +12,7 @@ import sqlancer.DBMSSpecificOptions;
 import sqlancer.OracleFactory;
 import sqlancer.cockroachdb.CockroachDBOptions.CockroachDBOracleFactory;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
+import sqlancer.cockroachdb.oracle.CockroachDBCERTOracle;
 import sqlancer.cockroachdb.oracle.CockroachDBNoRECOracle;
 import sqlancer.cockroachdb.oracle.tlp.CockroachDBTLPAggregateOracle;
 import sqlancer.cockroachdb.oracle.tlp.CockroachDBTLPDistinctOracle;
@@ -76,6 +77,12 @@ public class CockroachDBOptions implements DBMSSpecificOptions<CockroachDBOracle
                 return new CockroachDBTLPExtendedWhereOracle(globalState);
             }
         },
+        CERT {
+            @Override
+            public TestOracle create(CockroachDBGlobalState globalState) throws SQLException {
+                return new CockroachDBCERTOracle(globalState);
+            }
+        },
         QUERY_PARTITIONING {
             @Override
             public TestOracle create(CockroachDBGlobalState globalState) throws SQLException {
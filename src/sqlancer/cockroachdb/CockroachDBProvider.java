@@ -2,14 +2,18 @@ package sqlancer.cockroachdb;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.google.auto.service.AutoService;
 
+import sqlancer.ConnectionPool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -34,6 +38,7 @@ import sqlancer.cockroachdb.gen.CockroachDBTruncateGenerator;
 import sqlancer.cockroachdb.gen.CockroachDBUpdateGenerator;
 import sqlancer.cockroachdb.gen.CockroachDBViewGenerator;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 
@@ -113,11 +118,76 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
 
     public static class CockroachDBGlobalState extends SQLGlobalState<CockroachDBOptions, CockroachDBSchema> {
 
+        private static final Pattern CREATE_TABLE = Pattern.compile("^CREATE (TEMP )?TABLE (\\w+)");
+        private static final Pattern CREATE_INDEX = Pattern.compile("^CREATE (UNIQUE )?INDEX ON (\\w+)");
+        private static final Pattern CREATE_VIEW = Pattern.compile("^CREATE VIEW ");
+
         @Override
         protected CockroachDBSchema readSchema() throws SQLException {
             return CockroachDBSchema.fromConnection(getConnection(), getDatabaseName());
         }
 
+        /*
+         * Only the table that a statement created or on which it created an index is re-read. Views are not part of the
+         * schema, so creating them does not change it.
+         */
+        @Override
+        protected CockroachDBSchema applySchemaChange(CockroachDBSchema currentSchema, Query<?> q)
+                throws SQLException {
+            String queryString = q.getQueryString();
+            if (CREATE_VIEW.matcher(queryString).find()) {
+                return currentSchema;
+            }
+            String tableName;
+            Matcher createTable = CREATE_TABLE.matcher(queryString);
+            Matcher createIndex = CREATE_INDEX.matcher(queryString);
+            if (createTable.find()) {
+                tableName = createTable.group(2);
+            } else if (createIndex.find()) {
+                tableName = createIndex.group(2);
+            } else {
+                return null;
+            }
+            CockroachDBTable table = CockroachDBSchema.readTable(getConnection(), tableName);
+            if (table == null) {
+                return null;
+            }
+            List<CockroachDBTable> tables = new ArrayList<>(currentSchema.getDatabaseTables());
+            int index = tables.indexOf(currentSchema.getDatabaseTable(tableName));
+            if (index == -1) {
+                tables.add(table);
+            } else {
+                tables.set(index, table);
+            }
+            return new CockroachDBSchema(tables);
+        }
+
+        @Override
+        protected boolean supportsStatementBatches() {
+            return true;
+        }
+
+        // the plan nodes (e.g., "scan") and the accessed tables and indexes, but not, e.g., the filters and spans
+        @Override
+        protected String getQueryPlan(String query) throws SQLException {
+            StringBuilder sb = new StringBuilder();
+            try (Statement s = getConnection().createStatement(); ResultSet rs = s.executeQuery("EXPLAIN " + query)) {
+                while (rs.next()) {
+                    String line = rs.getString(1);
+                    String trimmed = line.replaceAll("^[\\s\u2502\u2514\u251c\u2500]+", "");
+                    if (trimmed.startsWith("\u2022") || trimmed.startsWith("table:")) {
+                        sb.append(line.replaceAll("\\d+", "")).append('\n');
+                    }
+                }
+            }
+            return sb.toString();
+        }
+
+        @Override
+        protected Query<SQLConnection> getQueryPlanMutation() throws Exception {
+            return Randomly.fromOptions(Action.CREATE_STATISTICS, Action.CREATE_INDEX).getQuery(this);
+        }
+
     }
 
     @Override
@@ -259,8 +329,8 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
         }
         String databaseName = globalState.getDatabaseName();
         String url = String.format("jdbc:postgresql://%s:%d/test", host, port);
-        Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
-                globalState.getOptions().getPassword());
+        Connection con = ConnectionPool.getConnection(url, () -> DriverManager.getConnection(url,
+                globalState.getOptions().getUserName(), globalState.getOptions().getPassword()), "DISCARD ALL");
         globalState.getState().logStatement("USE test");
         globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName + " CASCADE");
         String createDatabaseCommand = "CREATE DATABASE " + databaseName;
@@ -272,7 +342,6 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
         try (Statement s = con.createStatement()) {
             s.execute(createDatabaseCommand);
         }
-        con.close();
         con = DriverManager.getConnection("jdbc:postgresql://localhost:26257/" + databaseName,
                 globalState.getOptions().getUserName(), globalState.getOptions().getPassword());
         return new SQLConnection(con);
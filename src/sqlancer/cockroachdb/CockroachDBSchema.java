@@ -286,23 +286,42 @@ public class CockroachDBSchema extends AbstractSchema<CockroachDBGlobalState, Co
         List<CockroachDBTable> databaseTables = new ArrayList<>();
         List<String> tableNames = getTableNames(con);
         for (String tableName : tableNames) {
-            List<CockroachDBColumn> databaseColumns = getTableColumns(con, tableName);
-            List<TableIndex> indexes = getIndexes(con, tableName);
-            boolean isView = tableName.startsWith("v");
-            CockroachDBTable t = new CockroachDBTable(tableName, databaseColumns, indexes, isView);
-            for (CockroachDBColumn c : databaseColumns) {
-                c.setTable(t);
+            CockroachDBTable t = readTable(con, tableName);
+            if (t != null) {
+                databaseTables.add(t);
             }
-            // To avoid some situations that columns can not be retrieved.
-            if (databaseColumns.isEmpty()) {
-                continue;
-            }
-            databaseTables.add(t);
-
         }
         return new CockroachDBSchema(databaseTables);
     }
 
+    /**
+     * Reads the columns and indexes of a single table, without re-reading the rest of the schema.
+     *
+     * @param con
+     *            the connection to the database
+     * @param tableName
+     *            the name of the table
+     *
+     * @return the table, or {@code null} if its columns cannot be retrieved
+     *
+     * @throws SQLException
+     *             if the table cannot be read
+     */
+    public static CockroachDBTable readTable(SQLConnection con, String tableName) throws SQLException {
+        List<CockroachDBColumn> databaseColumns = getTableColumns(con, tableName);
+        // To avoid some situations that columns can not be retrieved.
+        if (databaseColumns.isEmpty()) {
+            return null;
+        }
+        List<TableIndex> indexes = getIndexes(con, tableName);
+        boolean isView = tableName.startsWith("v");
+        CockroachDBTable t = new CockroachDBTable(tableName, databaseColumns, indexes, isView);
+        for (CockroachDBColumn c : databaseColumns) {
+            c.setTable(t);
+        }
+        return t;
+    }
+
     private static List<String> getTableNames(SQLConnection con) throws SQLException {
         List<String> tableNames = new ArrayList<>();
         try (Statement s = con.createStatement()) {
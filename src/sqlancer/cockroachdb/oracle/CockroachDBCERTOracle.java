@@ -0,0 +1,99 @@
+package sqlancer.cockroachdb.oracle;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import sqlancer.Randomly;
+import sqlancer.cockroachdb.CockroachDBCommon;
+import sqlancer.cockroachdb.CockroachDBErrors;
+import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
+import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBColumn;
+import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBDataType;
+import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBTables;
+import sqlancer.cockroachdb.CockroachDBVisitor;
+import sqlancer.cockroachdb.ast.CockroachDBBinaryLogicalOperation;
+import sqlancer.cockroachdb.ast.CockroachDBBinaryLogicalOperation.CockroachDBBinaryLogicalOperator;
+import sqlancer.cockroachdb.ast.CockroachDBColumnReference;
+import sqlancer.cockroachdb.ast.CockroachDBExpression;
+import sqlancer.cockroachdb.ast.CockroachDBJoin;
+import sqlancer.cockroachdb.ast.CockroachDBJoin.JoinType;
+import sqlancer.cockroachdb.ast.CockroachDBSelect;
+import sqlancer.cockroachdb.ast.CockroachDBTableReference;
+import sqlancer.cockroachdb.gen.CockroachDBExpressionGenerator;
+import sqlancer.common.oracle.CERTOracleBase;
+import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.SQLancerResultSet;
+
+public class CockroachDBCERTOracle extends CERTOracleBase<CockroachDBGlobalState> implements TestOracle {
+
+    // e.g., " estimated row count: 1,000 (100% of the table; stats collected 2 minutes ago)"
+    private static final Pattern ESTIMATED_ROW_COUNT = Pattern.compile("estimated row count: ([\\d,]+)");
+
+    private CockroachDBExpressionGenerator gen;
+    private CockroachDBSelect select;
+
+    public CockroachDBCERTOracle(CockroachDBGlobalState globalState) {
+        super(globalState);
+        CockroachDBErrors.addExpressionErrors(errors);
+        CockroachDBErrors.addTransactionErrors(errors);
+    }
+
+    @Override
+    protected String generateQuery() {
+        CockroachDBTables tables = state.getSchema().getRandomTableNonEmptyTables();
+        List<CockroachDBTableReference> tableL = tables.getTables().stream().map(t -> new CockroachDBTableReference(t))
+                .collect(Collectors.toList());
+        List<CockroachDBExpression> tableList = CockroachDBCommon.getTableReferences(tableL);
+        gen = new CockroachDBExpressionGenerator(state).setColumns(tables.getColumns());
+        select = new CockroachDBSelect();
+        CockroachDBColumn allColumns = new CockroachDBColumn("*", null, false, false);
+        select.setFetchColumns(Arrays.asList(new CockroachDBColumnReference(allColumns)));
+        select.setJoinList(CockroachDBNoRECOracle.getJoins(tableList, state));
+        select.setFromList(tableList);
+        if (Randomly.getBoolean()) {
+            select.setWhereClause(gen.generateExpression(CockroachDBDataType.BOOL.get()));
+        }
+        return CockroachDBVisitor.asString(select);
+    }
+
+    @Override
+    protected String generateMoreRestrictiveQuery() {
+        List<CockroachDBExpression> joins = new ArrayList<>(select.getJoinList());
+        List<CockroachDBJoin> outerJoins = joins.stream().map(j -> (CockroachDBJoin) j)
+                .filter(j -> j.getJoinType() == JoinType.OUTER).collect(Collectors.toList());
+        if (!outerJoins.isEmpty() && Randomly.getBoolean()) {
+            // an inner join only fetches the rows of the corresponding outer join for which the ON clause holds
+            CockroachDBJoin outerJoin = Randomly.fromList(outerJoins);
+            joins.set(joins.indexOf(outerJoin), new CockroachDBJoin(outerJoin.getLeftTable(), outerJoin.getRightTable(),
+                    JoinType.INNER, outerJoin.getOnCondition()));
+            select.setJoinList(joins);
+        } else {
+            CockroachDBExpression predicate = gen.generateExpression(CockroachDBDataType.BOOL.get());
+            if (select.getWhereClause() == null) {
+                select.setWhereClause(predicate);
+            } else {
+                select.setWhereClause(new CockroachDBBinaryLogicalOperation(select.getWhereClause(), predicate,
+                        CockroachDBBinaryLogicalOperator.AND));
+            }
+        }
+        return CockroachDBVisitor.asString(select);
+    }
+
+    @Override
+    protected double getEstimatedRowCount(SQLancerResultSet explainResult) throws SQLException {
+        // the first estimate belongs to the root of the plan; it is missing if no statistics have been collected
+        while (explainResult.next()) {
+            Matcher matcher = ESTIMATED_ROW_COUNT.matcher(explainResult.getString(1));
+            if (matcher.find()) {
+                return Double.parseDouble(matcher.group(1).replace(",", ""));
+            }
+        }
+        return Double.NaN;
+    }
+
+}
@@ -108,6 +108,7 @@ public class CockroachDBNoRECOracle extends NoRECBase<CockroachDBGlobalState> im
             select.setOrderByExpressions(gen.getOrderingTerms());
         }
         String s = CockroachDBVisitor.asString(select);
+        state.checkQueryPlan(s);
         if (state.getOptions().logEachSelect()) {
             state.getLogger().writeCurrent(s);
         }
@@ -1,7 +1,6 @@
 package sqlancer.cockroachdb.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -25,8 +24,6 @@ public class CockroachDBTLPDistinctOracle extends CockroachDBTLPBase {
         super.check();
         select.setDistinct(true);
         String originalQueryString = CockroachDBVisitor.asString(select);
-
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
         select.setDistinct(false);
         CockroachDBExpression predicate = gen.generateExpression(CockroachDBDataType.BOOL.get());
         select.setWhereClause(predicate);
@@ -35,10 +32,8 @@ public class CockroachDBTLPDistinctOracle extends CockroachDBTLPBase {
         String secondQueryString = CockroachDBVisitor.asString(select);
         select.setWhereClause(new CockroachDBUnaryPostfixOperation(predicate, CockroachDBUnaryPostfixOperator.IS_NULL));
         String thirdQueryString = CockroachDBVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
-                secondQueryString, thirdQueryString, combinedString, true, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStringsNoDuplicates(firstQueryString,
+                secondQueryString, thirdQueryString, true);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 }
@@ -1,7 +1,6 @@
 package sqlancer.cockroachdb.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -32,7 +31,6 @@ public class CockroachDBTLPExtendedWhereOracle extends CockroachDBTLPBase {
         originalPredicate = generatePredicate();
         select.setWhereClause(originalPredicate);
         String originalQueryString = CockroachDBVisitor.asString(select);
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
 
         boolean allowOrderBy = Randomly.getBoolean();
         if (allowOrderBy) {
@@ -45,11 +43,9 @@ public class CockroachDBTLPExtendedWhereOracle extends CockroachDBTLPBase {
         select.setWhereClause(combinePredicate(
                 new CockroachDBUnaryPostfixOperation(predicate, CockroachDBUnaryPostfixOperator.IS_NULL)));
         String thirdQueryString = CockroachDBVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !allowOrderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, !allowOrderBy);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 
     public CockroachDBExpression combinePredicate(CockroachDBExpression expr) {
@@ -1,7 +1,6 @@
 package sqlancer.cockroachdb.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,19 +24,15 @@ public class CockroachDBTLPGroupByOracle extends CockroachDBTLPBase {
         select.setWhereClause(null);
         String originalQueryString = CockroachDBVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         select.setWhereClause(predicate);
         String firstQueryString = CockroachDBVisitor.asString(select);
         select.setWhereClause(negatedPredicate);
         String secondQueryString = CockroachDBVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = CockroachDBVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
-                secondQueryString, thirdQueryString, combinedString, true, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStringsNoDuplicates(firstQueryString,
+                secondQueryString, thirdQueryString, true);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 
     @Override
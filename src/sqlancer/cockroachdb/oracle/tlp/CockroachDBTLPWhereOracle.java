@@ -1,7 +1,6 @@
 package sqlancer.cockroachdb.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -26,8 +25,6 @@ public class CockroachDBTLPWhereOracle extends CockroachDBTLPBase {
         super.check();
         String originalQueryString = CockroachDBVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         boolean allowOrderBy = Randomly.getBoolean();
         if (allowOrderBy) {
             select.setOrderByExpressions(gen.getOrderingTerms());
@@ -39,10 +36,8 @@ public class CockroachDBTLPWhereOracle extends CockroachDBTLPBase {
         String secondQueryString = CockroachDBVisitor.asString(select);
         select.setWhereClause(new CockroachDBUnaryPostfixOperation(predicate, CockroachDBUnaryPostfixOperator.IS_NULL));
         String thirdQueryString = CockroachDBVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !allowOrderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, !allowOrderBy);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 }
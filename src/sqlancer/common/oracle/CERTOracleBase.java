@@ -0,0 +1,100 @@
+package sqlancer.common.oracle;
+
+import java.sql.SQLException;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.SQLGlobalState;
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.query.SQLancerResultSet;
+
+/**
+ * Cardinality Estimation Restriction Testing (CERT) detects performance issues caused by inaccurate cardinality
+ * estimates. It derives a more restrictive query from a generated query, that is, one whose result set is contained in
+ * the original query's result set (e.g., by adding a conjunct to the WHERE clause), and checks that the number of rows
+ * that the query optimizer estimates for it, as reported by EXPLAIN, is not higher than for the original query.
+ *
+ * @param <S>
+ *            the global state type
+ */
+public abstract class CERTOracleBase<S extends SQLGlobalState<?, ?>> implements TestOracle {
+
+    protected final S state;
+    protected final ExpectedErrors errors = new ExpectedErrors();
+
+    protected CERTOracleBase(S state) {
+        this.state = state;
+    }
+
+    @Override
+    public void check() throws SQLException {
+        String query = generateQuery();
+        String restrictedQuery = generateMoreRestrictiveQuery();
+        double estimate = getEstimatedRowCount(query);
+        double restrictedEstimate = getEstimatedRowCount(restrictedQuery);
+        if (restrictedEstimate > estimate) {
+            // the statistics might have been updated in the meantime (e.g., by an automatic ANALYZE)
+            if (getEstimatedRowCount(query) != estimate) {
+                throw new IgnoreMeException("statistics changed");
+            }
+            String explainQuery = getExplainQuery(query);
+            String explainRestrictedQuery = getExplainQuery(restrictedQuery);
+            state.getState().getLocalState().log(String.format("%s;\n-- estimate: %s\n%s;\n-- estimate: %s",
+                    explainQuery, estimate, explainRestrictedQuery, restrictedEstimate));
+            throw new AssertionError(String.format(
+                    "the estimated cardinality increased from %s to %s for the more restrictive query!\n%s\n%s",
+                    estimate, restrictedEstimate, query, restrictedQuery));
+        }
+    }
+
+    /**
+     * Generates a random query, whose AST is retained for {@link #generateMoreRestrictiveQuery()}.
+     *
+     * @return the query string
+     */
+    protected abstract String generateQuery();
+
+    /**
+     * Derives a query from the last query returned by {@link #generateQuery()} whose result set is a subset of the
+     * original query's result set.
+     *
+     * @return the query string
+     */
+    protected abstract String generateMoreRestrictiveQuery();
+
+    /**
+     * Extracts the estimated number of rows returned by the query from the result of its EXPLAIN statement.
+     *
+     * @param explainResult
+     *            the result of the query returned by {@link #getExplainQuery(String)}
+     *
+     * @return the estimated number of rows, or {@link Double#NaN} if the result does not contain an estimate
+     *
+     * @throws SQLException
+     *             if the result cannot be read
+     */
+    protected abstract double getEstimatedRowCount(SQLancerResultSet explainResult) throws SQLException;
+
+    protected String getExplainQuery(String query) {
+        return "EXPLAIN " + query;
+    }
+
+    private double getEstimatedRowCount(String query) throws SQLException {
+        String explainQuery = getExplainQuery(query);
+        if (state.getOptions().logEachSelect()) {
+            state.getLogger().writeCurrent(explainQuery);
+        }
+        SQLQueryAdapter q = new SQLQueryAdapter(explainQuery, errors);
+        try (SQLancerResultSet rs = q.executeAndGet(state)) {
+            if (rs == null) {
+                throw new IgnoreMeException("expected error");
+            }
+            double estimate = getEstimatedRowCount(rs);
+            if (Double.isNaN(estimate)) {
+                throw new IgnoreMeException("no estimate");
+            }
+            return estimate;
+        }
+    }
+
+}
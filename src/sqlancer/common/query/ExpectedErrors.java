@@ -1,26 +1,128 @@
 package sqlancer.common.query;
 
+import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class represents the errors that executing a statement might result in. For example, an INSERT statement might
  * result in an error "UNIQUE constraint violated" when it attempts to insert a duplicate value in a column declared as
  * UNIQUE.
+ *
+ * Since the same errors are typically added every time a statement of a given kind is generated, the matchers for the
+ * sets of errors are compiled only once and shared between instances and threads. Once the cache is full, sets of
+ * errors that are not cached are matched by checking each error separately.
+ *
+ * In addition to substrings of error messages, expected errors can be specified as SQLSTATEs and vendor-specific error
+ * codes of {@link SQLException}s, which are looked up before any message is matched, and which, unlike messages, do not
+ * change between versions of a DBMS. Since a code typically covers several error messages, it should be added only if
+ * all errors with the code are expected; otherwise, the expected messages should be added instead, as a code would hide
+ * unexpected errors that share it.
  */
 public class ExpectedErrors {
 
+    private static final int MAX_CACHED_MATCHERS = 1000;
+    private static final Map<Set<String>, SubstringMatcher> MATCHERS = new ConcurrentHashMap<>();
+
     private final Set<String> errors = new HashSet<>();
+    private final Set<String> sqlStates = new HashSet<>();
+    private final Set<Integer> vendorCodes = new HashSet<>();
+    private SubstringMatcher matcher;
 
     public ExpectedErrors add(String error) {
         if (error == null) {
             throw new IllegalArgumentException();
         }
         errors.add(error);
+        matcher = null;
         return this;
     }
 
+    /**
+     * Adds an SQLSTATE, either as a five-character code (e.g., {@code "22012"} for a division by zero) or as a
+     * two-character class, which matches all SQLSTATEs of the class (e.g., {@code "23"} for integrity constraint
+     * violations).
+     *
+     * @param sqlState
+     *            the SQLSTATE or SQLSTATE class
+     *
+     * @return this object
+     */
+    public ExpectedErrors addSQLState(String sqlState) {
+        if (sqlState == null || sqlState.length() != 2 && sqlState.length() != 5) {
+            throw new IllegalArgumentException(sqlState);
+        }
+        sqlStates.add(sqlState);
+        return this;
+    }
+
+    /**
+     * Adds a vendor-specific error code, as returned by {@link SQLException#getErrorCode()} (e.g., 1062 for MySQL's
+     * duplicate-entry errors).
+     *
+     * @param vendorCode
+     *            the error code, which must not be 0, since drivers use it when they do not provide an error code
+     *
+     * @return this object
+     */
+    public ExpectedErrors addVendorCode(int vendorCode) {
+        if (vendorCode == 0) {
+            throw new IllegalArgumentException();
+        }
+        vendorCodes.add(vendorCode);
+        return this;
+    }
+
+    public Set<String> getErrors() {
+        return Collections.unmodifiableSet(errors);
+    }
+
+    public Set<String> getSQLStates() {
+        return Collections.unmodifiableSet(sqlStates);
+    }
+
+    public Set<Integer> getVendorCodes() {
+        return Collections.unmodifiableSet(vendorCodes);
+    }
+
+    /**
+     * Checks whether the exception or any of its causes is expected, based on the SQLSTATEs and vendor-specific error
+     * codes of the {@link SQLException}s, or otherwise on the error messages.
+     *
+     * @param e
+     *            the exception thrown when executing the statement
+     *
+     * @return whether the exception is expected
+     */
+    public boolean exceptionIsExpected(Throwable e) {
+        if (!sqlStates.isEmpty() || !vendorCodes.isEmpty()) {
+            for (Throwable ex = e; ex != null; ex = ex.getCause()) {
+                if (ex instanceof SQLException && codeIsExpected((SQLException) ex)) {
+                    return true;
+                }
+            }
+        }
+        for (Throwable ex = e; ex != null; ex = ex.getCause()) {
+            if (ex.getMessage() != null && errorIsExpected(ex.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean codeIsExpected(SQLException e) {
+        String sqlState = e.getSQLState();
+        if (sqlState != null && sqlState.length() == 5
+                && (sqlStates.contains(sqlState) || sqlStates.contains(sqlState.substring(0, 2)))) {
+            return true;
+        }
+        return e.getErrorCode() != 0 && vendorCodes.contains(e.getErrorCode());
+    }
+
     /**
      * Checks whether the error message (e.g., returned by the DBMS under test) contains any of the added error
      * messages.
@@ -34,8 +136,22 @@ public class ExpectedErrors {
         if (error == null) {
             throw new IllegalArgumentException();
         }
-        for (String s : errors) {
-            if (error.contains(s)) {
+        if (matcher == null) {
+            matcher = MATCHERS.get(errors);
+            if (matcher == null) {
+                if (MATCHERS.size() >= MAX_CACHED_MATCHERS) {
+                    // compiling a matcher that is not shared is slower than scanning the errors once
+                    return containsAnyError(error);
+                }
+                matcher = MATCHERS.computeIfAbsent(Set.copyOf(errors), SubstringMatcher::new);
+            }
+        }
+        return matcher.matches(error);
+    }
+
+    private boolean containsAnyError(String error) {
+        for (String expectedError : errors) {
+            if (error.contains(expectedError)) {
                 return true;
             }
         }
@@ -44,6 +160,7 @@ public class ExpectedErrors {
 
     public ExpectedErrors addAll(Collection<String> list) {
         errors.addAll(list);
+        matcher = null;
         return this;
     }
 
@@ -31,6 +31,16 @@ public abstract class Query<C extends SQLancerDBConnection> implements Loggable
 
     public abstract ExpectedErrors getExpectedErrors();
 
+    /**
+     * The class of the error due to which the most recent execution of the query failed, for example, the first two
+     * characters of an SQLSTATE code.
+     *
+     * @return the error class, or {@code null} if it is not known
+     */
+    public String getErrorClass() {
+        return null;
+    }
+
     @Override
     public String toString() {
         return getQueryString();
@@ -1,19 +1,29 @@
 package sqlancer.common.query;
 
+import java.sql.BatchUpdateException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
+import sqlancer.DatabaseAbandonedException;
 import sqlancer.GlobalState;
+import sqlancer.GlobalState.BatchOutcome;
 import sqlancer.Main;
 import sqlancer.SQLConnection;
+import sqlancer.StatementWatchdog;
+import sqlancer.common.schema.TableRowCounts;
 
 public class SQLQueryAdapter extends Query<SQLConnection> {
 
     private final String query;
     private final ExpectedErrors expectedErrors;
     private final boolean couldAffectSchema;
+    private int updateCount = TableRowCounts.UNKNOWN_UPDATE_COUNT;
+    private String errorClass;
+    private Exception batchException;
 
     public SQLQueryAdapter(String query) {
         this(query, new ExpectedErrors());
@@ -73,45 +83,154 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
             throws SQLException {
         Statement s;
         if (fills.length > 0) {
-            s = globalState.getConnection().prepareStatement(fills[0]);
+            s = globalState.getConnection().getPreparedStatement(fills[0]);
             for (int i = 1; i < fills.length; i++) {
                 ((PreparedStatement) s).setString(i, fills[i]);
             }
         } else {
-            s = globalState.getConnection().createStatement();
+            s = globalState.getConnection().getReusableStatement();
         }
+        updateCount = TableRowCounts.UNKNOWN_UPDATE_COUNT;
+        errorClass = null;
+        StatementWatchdog.Watch watch = StatementWatchdog.watch(globalState, s, query);
         try {
+            boolean hasResultSet;
             if (fills.length > 0) {
-                ((PreparedStatement) s).execute();
+                hasResultSet = ((PreparedStatement) s).execute();
             } else {
-                s.execute(query);
+                hasResultSet = s.execute(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            if (hasResultSet) {
+                // the result is not needed, and an open result set might prevent subsequent statements from executing
+                s.getResultSet().close();
+            } else {
+                updateCount = s.getUpdateCount();
+            }
+            Main.nrSuccessfulActions.increment();
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            Main.nrUnsuccessfulActions.increment();
+            if (watch != null && watch.hasTimedOut()) {
+                throw watch.timeout();
+            }
+            errorClass = getSQLStateClass(e);
             checkException(e);
             return false;
+        } finally {
+            if (watch != null) {
+                watch.close();
+            }
         }
     }
 
-    public void checkException(Exception e) throws AssertionError {
-        Throwable ex = e;
-
-        while (ex != null) {
-            if (expectedErrors.errorIsExpected(ex.getMessage())) {
-                return;
+    /**
+     * Executes the given statements as a single JDBC batch. A statement is considered to have been executed only if the
+     * driver reports an update count other than {@link Statement#EXECUTE_FAILED} for it, so the driver must not report
+     * update counts for statements that it did not execute or that were rolled back. A failed statement must not have a
+     * partial effect, since such an effect would not be reflected by the update counts.
+     *
+     * If the driver reports an exception for each statement with {@link Statement#EXECUTE_FAILED} (e.g., H2, which
+     * continues after a failure), these statements failed, and their exceptions are available through
+     * {@link #getBatchException()}. Otherwise, the driver stopped at the failing statement or the batch was rolled back
+     * (e.g., PostgreSQL), and it is unknown which of these statements failed. They are considered as not executed, and
+     * the exception of the batch, which one of them must expect, is available through {@link #getBatchException()}.
+     *
+     * @param globalState
+     *            the global state providing the connection
+     * @param queries
+     *            the statements to be executed
+     *
+     * @return for each statement, the outcome of its execution
+     *
+     * @throws SQLException
+     *             if the batch could not be executed for a reason other than a failing statement
+     */
+    public static BatchOutcome[] executeBatch(GlobalState<?, ?, SQLConnection> globalState,
+            List<? extends Query<SQLConnection>> queries) throws SQLException {
+        int[] updateCounts;
+        List<SQLException> exceptions = new ArrayList<>();
+        try (Statement s = globalState.getConnection().createStatement()) {
+            for (Query<SQLConnection> q : queries) {
+                s.addBatch(q.getQueryString());
+            }
+            try {
+                updateCounts = s.executeBatch();
+            } catch (BatchUpdateException e) {
+                updateCounts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+                for (SQLException next = e.getNextException(); next != null; next = next.getNextException()) {
+                    exceptions.add(next);
+                }
+                if (exceptions.isEmpty()) {
+                    exceptions.add(e);
+                }
+            }
+        }
+        BatchOutcome[] outcomes = new BatchOutcome[queries.size()];
+        int nrFailed = 0;
+        for (int i = 0; i < outcomes.length; i++) {
+            SQLQueryAdapter q = (SQLQueryAdapter) queries.get(i);
+            q.batchException = null;
+            if (i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED) {
+                outcomes[i] = BatchOutcome.EXECUTED;
+                q.updateCount = updateCounts[i] < 0 ? TableRowCounts.UNKNOWN_UPDATE_COUNT : updateCounts[i];
             } else {
-                ex = ex.getCause();
+                outcomes[i] = BatchOutcome.NOT_EXECUTED;
+                q.updateCount = TableRowCounts.UNKNOWN_UPDATE_COUNT;
+                nrFailed++;
+            }
+        }
+        Main.nrSuccessfulActions.add(outcomes.length - nrFailed);
+        boolean eachFailed = nrFailed == exceptions.size();
+        int nrAssignedExceptions = 0;
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] == BatchOutcome.EXECUTED) {
+                continue;
+            }
+            SQLQueryAdapter q = (SQLQueryAdapter) queries.get(i);
+            if (eachFailed) {
+                outcomes[i] = BatchOutcome.FAILED;
+                q.batchException = exceptions.get(nrAssignedExceptions++);
+                q.errorClass = getSQLStateClass(q.batchException);
+                Main.nrUnsuccessfulActions.increment();
+            } else if (!exceptions.isEmpty()) {
+                q.batchException = exceptions.get(0);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * The exception that the most recent execution of the statement as part of a batch caused or might have caused, see
+     * {@link #executeBatch(GlobalState, List)}.
+     *
+     * @return the exception, or {@code null} if the statement was executed successfully
+     */
+    public Exception getBatchException() {
+        return batchException;
+    }
+
+    private static String getSQLStateClass(Throwable e) {
+        for (Throwable ex = e; ex != null; ex = ex.getCause()) {
+            if (ex instanceof SQLException) {
+                String sqlState = ((SQLException) ex).getSQLState();
+                if (sqlState != null && sqlState.length() >= 2) {
+                    return sqlState.substring(0, 2);
+                }
             }
         }
+        return null;
+    }
 
-        throw new AssertionError(query, e);
+    public void checkException(Exception e) throws AssertionError {
+        if (!expectedErrors.exceptionIsExpected(e)) {
+            throw new AssertionError(query, e);
+        }
     }
 
     @Override
     public <G extends GlobalState<?, ?, SQLConnection>> SQLancerResultSet executeAndGet(G globalState, String... fills)
             throws SQLException {
+        // the statement is owned by the returned result set, which closes it, so it cannot be reused
         Statement s;
         if (fills.length > 0) {
             s = globalState.getConnection().prepareStatement(fills[0]);
@@ -122,25 +241,61 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
             s = globalState.getConnection().createStatement();
         }
         ResultSet result;
+        errorClass = null;
+        // the watch also covers fetching the result, which is closed by the result set
+        StatementWatchdog.Watch watch;
+        try {
+            watch = StatementWatchdog.watch(globalState, s, query);
+        } catch (DatabaseAbandonedException e) {
+            s.close();
+            throw e;
+        }
+        SQLancerResultSet resultSet = null;
         try {
             if (fills.length > 0) {
                 result = ((PreparedStatement) s).executeQuery();
             } else {
                 result = s.executeQuery(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            Main.nrSuccessfulActions.increment();
             if (result == null) {
+                s.close();
                 return null;
             }
-            return new SQLancerResultSet(result);
+            resultSet = new SQLancerResultSet(result);
+            resultSet.setWatch(watch);
+            return resultSet;
         } catch (Exception e) {
             s.close();
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            Main.nrUnsuccessfulActions.increment();
+            if (watch != null && watch.hasTimedOut()) {
+                throw watch.timeout();
+            }
+            errorClass = getSQLStateClass(e);
             checkException(e);
+        } finally {
+            // the watch of a returned result set is closed by the result set
+            if (watch != null && resultSet == null) {
+                watch.close();
+            }
         }
         return null;
     }
 
+    /**
+     * The number of rows that were modified by the most recent execution of the statement.
+     *
+     * @return the update count reported by the JDBC driver, or {@link TableRowCounts#UNKNOWN_UPDATE_COUNT}
+     */
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
+    @Override
+    public String getErrorClass() {
+        return errorClass;
+    }
+
     @Override
     public boolean couldAffectSchema() {
         return couldAffectSchema;
@@ -4,10 +4,13 @@ import java.io.Closeable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import sqlancer.StatementWatchdog;
+
 public class SQLancerResultSet implements Closeable {
 
     ResultSet rs;
     private Runnable runnableEpilogue;
+    private StatementWatchdog.Watch watch;
 
     public SQLancerResultSet(ResultSet rs) {
         this.rs = rs;
@@ -23,11 +26,23 @@ public class SQLancerResultSet implements Closeable {
             rs.close();
         } catch (SQLException e) {
             throw new AssertionError(e);
+        } finally {
+            // closed last, since resetting the connection after a cancellation fails while the statement is active
+            if (watch != null) {
+                watch.close();
+            }
         }
     }
 
     public boolean next() throws SQLException {
-        return rs.next();
+        try {
+            return rs.next();
+        } catch (SQLException e) {
+            if (watch != null && watch.hasTimedOut()) {
+                throw watch.timeout();
+            }
+            throw e;
+        }
     }
 
     public int getInt(int i) throws SQLException {
@@ -46,6 +61,16 @@ public class SQLancerResultSet implements Closeable {
         return rs.getLong(i);
     }
 
+    /**
+     * Sets the watch that cancels the statement if fetching the result exceeds its time budget.
+     *
+     * @param watch
+     *            the watch, which is closed together with the result set, or {@code null}
+     */
+    public void setWatch(StatementWatchdog.Watch watch) {
+        this.watch = watch;
+    }
+
     public void registerEpilogue(Runnable runnableEpilogue) {
         this.runnableEpilogue = runnableEpilogue;
     }
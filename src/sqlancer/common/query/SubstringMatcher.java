@@ -0,0 +1,119 @@
+package sqlancer.common.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Determines whether a string contains any of a fixed set of substrings using the Aho-Corasick algorithm. Matching
+ * takes time linear in the length of the string, independently of the number of substrings, and does not allocate
+ * memory. Instances are immutable and can be shared between threads.
+ */
+final class SubstringMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_STATE = -1;
+
+    // for each state, the characters of its outgoing transitions in ascending order and the corresponding target states
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failureLinks;
+    // whether a substring ends in the state, or in a state reachable by following the failure links
+    private final boolean[] accepting;
+
+    SubstringMatcher(Collection<String> substrings) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Boolean> substringEnds = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        substringEnds.add(false);
+        for (String substring : substrings) {
+            int state = ROOT;
+            for (int i = 0; i < substring.length(); i++) {
+                Integer next = trie.get(state).get(substring.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    substringEnds.add(false);
+                    trie.get(state).put(substring.charAt(i), next);
+                }
+                state = next;
+            }
+            substringEnds.set(state, true);
+        }
+        int nrStates = trie.size();
+        labels = new char[nrStates][];
+        targets = new int[nrStates][];
+        failureLinks = new int[nrStates];
+        accepting = new boolean[nrStates];
+        for (int state = 0; state < nrStates; state++) {
+            Map<Character, Integer> transitions = trie.get(state);
+            labels[state] = new char[transitions.size()];
+            targets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                labels[state][i] = transition.getKey();
+                targets[state][i] = transition.getValue();
+                i++;
+            }
+            accepting[state] = substringEnds.get(state);
+        }
+        computeFailureLinks();
+    }
+
+    /*
+     * The states are visited in breadth-first order, so that the failure links of shorter prefixes are already known.
+     */
+    private void computeFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            failureLinks[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] |= accepting[failureLinks[state]];
+            for (int i = 0; i < labels[state].length; i++) {
+                int child = targets[state][i];
+                int fallback = failureLinks[state];
+                int next = getTransition(fallback, labels[state][i]);
+                while (next == NO_STATE && fallback != ROOT) {
+                    fallback = failureLinks[fallback];
+                    next = getTransition(fallback, labels[state][i]);
+                }
+                failureLinks[child] = next == NO_STATE ? ROOT : next;
+                queue.add(child);
+            }
+        }
+    }
+
+    private int getTransition(int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index < 0 ? NO_STATE : targets[state][index];
+    }
+
+    boolean matches(String s) {
+        if (accepting[ROOT]) {
+            return true;
+        }
+        int state = ROOT;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int next = getTransition(state, c);
+            while (next == NO_STATE && state != ROOT) {
+                state = failureLinks[state];
+                next = getTransition(state, c);
+            }
+            state = next == NO_STATE ? ROOT : next;
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -16,21 +16,23 @@ public class AbstractRelationalTable<C extends AbstractTableColumn<?, ?>, I exte
 
     @Override
     public long getNrRows(G globalState) {
-        if (rowCount == NO_ROW_COUNT_AVAILABLE) {
-            SQLQueryAdapter q = new SQLQueryAdapter("SELECT COUNT(*) FROM " + name);
-            try (SQLancerResultSet query = q.executeAndGet(globalState)) {
-                if (query == null) {
-                    throw new IgnoreMeException();
-                }
-                query.next();
-                rowCount = query.getLong(1);
-                return rowCount;
-            } catch (Throwable t) {
-                // an exception might be expected, for example, when invalid view is created
+        TableRowCounts rowCounts = globalState.getRowCounts();
+        Long count = rowCounts.get(name, isView());
+        if (count != null) {
+            return count;
+        }
+        SQLQueryAdapter q = new SQLQueryAdapter("SELECT COUNT(*) FROM " + name);
+        try (SQLancerResultSet query = q.executeAndGet(globalState)) {
+            if (query == null) {
                 throw new IgnoreMeException();
             }
-        } else {
-            return rowCount;
+            query.next();
+            long nrRows = query.getLong(1);
+            rowCounts.put(name, isView(), nrRows);
+            return nrRows;
+        } catch (Throwable t) {
+            // an exception might be expected, for example, when invalid view is created
+            throw new IgnoreMeException();
         }
     }
 
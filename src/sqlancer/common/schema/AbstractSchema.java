@@ -34,7 +34,7 @@ public class AbstractSchema<G extends GlobalState<?, ?, ?>, A extends AbstractTa
 
     public A getRandomTableOrBailout() {
         if (databaseTables.isEmpty()) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("no matching table");
         } else {
             return Randomly.fromList(getDatabaseTables());
         }
@@ -47,7 +47,7 @@ public class AbstractSchema<G extends GlobalState<?, ?, ?>, A extends AbstractTa
     public A getRandomTableOrBailout(Function<A, Boolean> f) {
         List<A> relevantTables = databaseTables.stream().filter(t -> f.apply(t)).collect(Collectors.toList());
         if (relevantTables.isEmpty()) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("no matching table");
         }
         return Randomly.fromList(relevantTables);
     }
@@ -78,7 +78,7 @@ public class AbstractSchema<G extends GlobalState<?, ?, ?>, A extends AbstractTa
 
     public A getRandomViewOrBailout() {
         if (getViews().isEmpty()) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("no matching table");
         } else {
             return Randomly.fromList(getViews());
         }
@@ -87,7 +87,7 @@ public class AbstractSchema<G extends GlobalState<?, ?, ?>, A extends AbstractTa
     public A getRandomTableNoViewOrBailout() {
         List<A> databaseTablesWithoutViews = getDatabaseTablesWithoutViews();
         if (databaseTablesWithoutViews.isEmpty()) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("no matching table");
         }
         return Randomly.fromList(databaseTablesWithoutViews);
     }
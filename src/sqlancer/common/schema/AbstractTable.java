@@ -10,12 +10,10 @@ import sqlancer.Randomly;
 public abstract class AbstractTable<C extends AbstractTableColumn<?, ?>, I extends TableIndex, G extends GlobalState<?, ?, ?>>
         implements Comparable<AbstractTable<?, ?, ?>> {
 
-    protected static final int NO_ROW_COUNT_AVAILABLE = -1;
     protected final String name;
     private final List<C> columns;
     private final List<I> indexes;
     private final boolean isView;
-    protected long rowCount = NO_ROW_COUNT_AVAILABLE;
 
     public AbstractTable(String name, List<C> columns, List<I> indexes, boolean isView) {
         this.name = name;
@@ -94,9 +92,5 @@ public abstract class AbstractTable<C extends AbstractTableColumn<?, ?>, I exten
 
     }
 
-    public void recomputeCount() {
-        rowCount = NO_ROW_COUNT_AVAILABLE;
-    }
-
     public abstract long getNrRows(G globalState);
 }
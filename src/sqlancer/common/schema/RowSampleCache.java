@@ -0,0 +1,145 @@
+package sqlancer.common.schema;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.Randomly;
+import sqlancer.SQLConnection;
+
+/**
+ * A random sample of the rows of each table, from which pivot rows for the Pivoted Query Synthesis oracles are composed
+ * on the client. Since a row of the cross product of several tables consists of one row of each table, selecting a
+ * random row from each table's sample avoids querying the cross product using {@code ORDER BY RANDOM() LIMIT 1}. The
+ * samples need to be invalidated using {@link #clear()} whenever a statement could have modified the tables.
+ */
+public class RowSampleCache {
+
+    /**
+     * The maximum number of rows that are sampled from each table.
+     */
+    public static final int SAMPLE_SIZE = 1000;
+
+    private final Map<String, TableSample> samples = new HashMap<>();
+
+    @FunctionalInterface
+    public interface RowReader<C, V> {
+
+        /**
+         * Reads the values of the current row of the result set of a sample query.
+         *
+         * @param rs
+         *            the result set, which is positioned on a row
+         * @param columns
+         *            the columns of the table, in the order in which they are fetched
+         *
+         * @return the values of the columns, or {@code null} if the row cannot be used as a pivot row
+         *
+         * @throws SQLException
+         *             if a value cannot be read
+         */
+        List<V> read(ResultSet rs, List<C> columns) throws SQLException;
+    }
+
+    private static final class TableSample {
+
+        private final List<?> columns;
+        private final List<List<?>> rows;
+
+        TableSample(List<?> columns, List<List<?>> rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+    }
+
+    /**
+     * Selects a random row of the cross product of the given tables. The rows of a table are sampled by executing the
+     * sample query once, after which the table's sample is reused until the cache is cleared.
+     *
+     * @param <T>
+     *            the table type
+     * @param <C>
+     *            the column type
+     * @param <V>
+     *            the value type
+     * @param con
+     *            the connection used to execute the sample queries
+     * @param tables
+     *            the tables of the cross product
+     * @param sampleQuery
+     *            yields the query that fetches all columns of the given table, in the order of
+     *            {@link AbstractTable#getColumns()}
+     * @param reader
+     *            reads a row of a sample query's result set
+     *
+     * @return the values of the columns of all tables, or {@code null} if a table contains no rows
+     *
+     * @throws SQLException
+     *             if a sample query fails
+     * @throws IgnoreMeException
+     *             if the selected row of a table cannot be used as a pivot row
+     */
+    public <T extends AbstractTable<C, ?, ?>, C extends AbstractTableColumn<?, ?>, V> Map<C, V> getRandomRow(
+            SQLConnection con, List<T> tables, Function<T, String> sampleQuery, RowReader<C, V> reader)
+            throws SQLException {
+        Map<C, V> values = new HashMap<>();
+        for (T table : tables) {
+            TableSample sample = samples.get(table.getName());
+            if (sample == null || !sample.columns.equals(table.getColumns())) {
+                sample = sample(con, table, sampleQuery.apply(table), reader);
+                samples.put(table.getName(), sample);
+            }
+            if (sample.rows.isEmpty()) {
+                return null;
+            }
+            List<?> row = Randomly.fromList(sample.rows);
+            if (row == null) {
+                throw new IgnoreMeException();
+            }
+            for (int i = 0; i < table.getColumns().size(); i++) {
+                @SuppressWarnings("unchecked")
+                V value = (V) row.get(i);
+                values.put(table.getColumns().get(i), value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Discards the samples of all tables.
+     */
+    public void clear() {
+        samples.clear();
+    }
+
+    /*
+     * Reservoir sampling, so that only the rows that end up in the sample need to be read.
+     */
+    private static <C extends AbstractTableColumn<?, ?>, V> TableSample sample(SQLConnection con,
+            AbstractTable<C, ?, ?> table, String query, RowReader<C, V> reader) throws SQLException {
+        List<List<?>> rows = new ArrayList<>();
+        try (Statement s = con.createStatement(); ResultSet rs = s.executeQuery(query)) {
+            int nrRows = 0;
+            while (rs.next()) {
+                if (nrRows < SAMPLE_SIZE) {
+                    rows.add(reader.read(rs, table.getColumns()));
+                } else {
+                    int index = (int) Randomly.getNotCachedInteger(0, nrRows + 1);
+                    if (index < SAMPLE_SIZE) {
+                        rows.set(index, reader.read(rs, table.getColumns()));
+                    }
+                }
+                nrRows++;
+            }
+        }
+        return new TableSample(table.getColumns(), rows);
+    }
+
+}
@@ -0,0 +1,176 @@
+package sqlancer.common.schema;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The number of rows of the tables and views, which are determined using {@code SELECT COUNT(*)} queries (see
+ * {@link AbstractRelationalTable#getNrRows}). Rather than discarding all counts whenever the database might have
+ * changed, the counts are kept up to date using the update counts that the DBMS reports for {@code INSERT},
+ * {@code DELETE}, {@code UPDATE}, and {@code TRUNCATE} statements on a single table. All counts are discarded after any
+ * other statement that could modify data. Since a table's rows can also be modified by triggers, foreign key actions,
+ * rules, or inheritance, statements on a single table are no longer handled once the database could contain such
+ * objects. Similarly, all counts are discarded after a failed statement within an explicit transaction, or once the
+ * database could contain a {@code ROLLBACK} conflict clause, since the failure might have rolled back the transaction.
+ */
+public class TableRowCounts {
+
+    /**
+     * The update count of a statement for which the DBMS did not report how many rows it modified.
+     */
+    public static final int UNKNOWN_UPDATE_COUNT = -1;
+
+    private static final String TABLE = "(?:ONLY\\s+)?(\\w+)";
+    private static final Pattern INSERT = Pattern.compile(
+            "^(INSERT|REPLACE)(?:\\s+OR\\s+(\\w+))?(?:\\s+(?:LOW_PRIORITY|DELAYED|HIGH_PRIORITY|IGNORE))*\\s+INTO\\s+"
+                    + TABLE + "\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern DELETE = Pattern.compile(
+            "^DELETE(?:\\s+(?:LOW_PRIORITY|QUICK|IGNORE))*\\s+FROM\\s+" + TABLE + "\\b(?!\\s*,)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern UPDATE = Pattern.compile(
+            "^UPDATE(?:\\s+OR\\s+(\\w+))?(?:\\s+(?:LOW_PRIORITY|IGNORE))*\\s+" + TABLE + "\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern TRUNCATE = Pattern.compile("^TRUNCATE(?:\\s+TABLE)?\\s+" + TABLE + "\\s*;?$",
+            Pattern.CASE_INSENSITIVE);
+    /*
+     * Statements that neither modify data nor the schema of the tables. COMMIT is not among them, since it rolls back
+     * the transaction if a statement in it failed (e.g., in PostgreSQL).
+     */
+    private static final Pattern NO_DATA_CHANGE = Pattern.compile(
+            "^(SELECT|SHOW|SET|PRAGMA|ANALYZE|VACUUM|REINDEX|BEGIN|CHECKPOINT|CHECK\\s+TABLE|CHECKSUM\\s+TABLE"
+                    + "|OPTIMIZE\\s+TABLE|COMMENT\\s+ON|CREATE\\s+(UNIQUE\\s+)?INDEX|DROP\\s+INDEX|CREATE\\s+STATISTICS)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern VIEW_CHANGE = Pattern
+            .compile("^(CREATE\\s+(OR\\s+REPLACE\\s+)?(\\w+\\s+)*VIEW|DROP\\s+VIEW)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DEPENDENT_TABLES = Pattern
+            .compile("\\b(TRIGGER|REFERENCES|FOREIGN|RULE|INHERITS|PARTITION\\s+OF)\\b", Pattern.CASE_INSENSITIVE);
+    // e.g., SQLite's ON CONFLICT ROLLBACK column constraints and INSERT OR ROLLBACK
+    private static final Pattern ROLLBACK_CONFLICT_CLAUSE = Pattern.compile("\\b(ON\\s+CONFLICT|OR)\\s+ROLLBACK\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern BEGIN = Pattern.compile("^(BEGIN|START\\s+TRANSACTION)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern END_TRANSACTION = Pattern.compile(
+            "^(COMMIT|END|ABORT|ROLLBACK(?!\\s+(WORK\\s+|TRANSACTION\\s+)?TO\\b))\\b", Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, Long> tableCounts = new HashMap<>();
+    private final Map<String, Long> viewCounts = new HashMap<>();
+    private boolean hasDependentTables;
+    private boolean hasRollbackConflictClauses;
+    private boolean inTransaction;
+
+    /**
+     * Returns the number of rows of the given table or view, if it is known.
+     *
+     * @param name
+     *            the name of the table or view
+     * @param isView
+     *            whether the name refers to a view
+     *
+     * @return the number of rows, or {@code null} if it is not known
+     */
+    public Long get(String name, boolean isView) {
+        return (isView ? viewCounts : tableCounts).get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public void put(String name, boolean isView, long count) {
+        (isView ? viewCounts : tableCounts).put(name.toLowerCase(Locale.ROOT), count);
+    }
+
+    /**
+     * Updates the counts after a statement was executed.
+     *
+     * @param statement
+     *            the statement
+     * @param success
+     *            whether the statement was executed successfully
+     * @param updateCount
+     *            the number of rows that the statement modified, or {@link #UNKNOWN_UPDATE_COUNT}
+     */
+    public void statementExecuted(String statement, boolean success, int updateCount) {
+        String trimmed = statement.trim();
+        if (ROLLBACK_CONFLICT_CLAUSE.matcher(trimmed).find()) {
+            hasRollbackConflictClauses = true;
+        }
+        boolean wasInTransaction = inTransaction;
+        if (success && BEGIN.matcher(trimmed).find()) {
+            inTransaction = true;
+        } else if (END_TRANSACTION.matcher(trimmed).find()) {
+            // even a failed COMMIT ends the transaction
+            inTransaction = false;
+        }
+        if (!success && (wasInTransaction || hasRollbackConflictClauses)) {
+            clear();
+            return;
+        }
+        if (NO_DATA_CHANGE.matcher(trimmed).find()) {
+            return;
+        }
+        if (VIEW_CHANGE.matcher(trimmed).find()) {
+            viewCounts.clear();
+            return;
+        }
+        if (DEPENDENT_TABLES.matcher(trimmed).find()) {
+            hasDependentTables = true;
+        }
+        if (hasDependentTables || !success && trimmed.toUpperCase(Locale.ROOT).contains("ROLLBACK")) {
+            clear();
+            return;
+        }
+        Matcher insert = INSERT.matcher(trimmed);
+        Matcher delete = DELETE.matcher(trimmed);
+        Matcher update = UPDATE.matcher(trimmed);
+        Matcher truncate = TRUNCATE.matcher(trimmed);
+        if (insert.find()) {
+            String upper = trimmed.toUpperCase(Locale.ROOT);
+            boolean replacesRows = insert.group(1).equalsIgnoreCase("REPLACE")
+                    || "REPLACE".equalsIgnoreCase(insert.group(2)) || upper.contains("ON DUPLICATE KEY")
+                    || upper.contains("DO UPDATE");
+            updateTable(insert.group(3), success && !replacesRows && updateCount >= 0, updateCount);
+        } else if (delete.find()) {
+            updateTable(delete.group(1), success && updateCount >= 0, -updateCount);
+        } else if (update.find()) {
+            updateTable(update.group(2), success && !"REPLACE".equalsIgnoreCase(update.group(1)), 0);
+        } else if (truncate.find()) {
+            String name = truncate.group(1).toLowerCase(Locale.ROOT);
+            if (success && tableCounts.containsKey(name)) {
+                viewCounts.clear();
+                tableCounts.put(name, 0L);
+            } else {
+                clear();
+            }
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * Discards all counts.
+     */
+    public void clear() {
+        tableCounts.clear();
+        viewCounts.clear();
+    }
+
+    /*
+     * Only statements on a table whose count is known are handled, since the target could otherwise be a view, through
+     * which the rows of other tables are modified.
+     */
+    private void updateTable(String tableName, boolean isExact, long delta) {
+        String name = tableName.toLowerCase(Locale.ROOT);
+        Long count = tableCounts.get(name);
+        if (count == null) {
+            clear();
+            return;
+        }
+        viewCounts.clear();
+        if (isExact) {
+            tableCounts.put(name, count + delta);
+        } else {
+            tableCounts.remove(name);
+        }
+    }
+
+}
@@ -1,12 +1,12 @@
 package sqlancer.databend.test;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ComparatorHelper;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
@@ -59,7 +59,7 @@ public class DatabendNoRECOracle extends NoRECBase<DatabendGlobalState> implemen
         int firstCount = getFirstQueryCount(con, tableList.stream().collect(Collectors.toList()), columns,
                 randomWhereCondition, joins);
         if (firstCount == -1 || secondCount == -1) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("expected error");
         }
         if (firstCount != secondCount) {
             throw new AssertionError(
@@ -126,10 +126,8 @@ public class DatabendNoRECOracle extends NoRECBase<DatabendGlobalState> implemen
             if (options.logEachSelect()) {
                 logger.writeCurrent(optimizedQueryString);
             }
-            try (ResultSet rs = stat.executeQuery(optimizedQueryString)) {
-                while (rs.next()) {
-                    firstCount++;
-                }
+            try (SQLancerResultSet rs = new SQLancerResultSet(stat.executeQuery(optimizedQueryString))) {
+                firstCount = ComparatorHelper.countRows(rs);
             }
         } catch (SQLException e) {
             throw new IgnoreMeException();
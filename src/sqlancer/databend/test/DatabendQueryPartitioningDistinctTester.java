@@ -1,7 +1,6 @@
 package sqlancer.databend.test;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -23,8 +22,6 @@ public class DatabendQueryPartitioningDistinctTester extends DatabendQueryPartit
         select.setDistinct(true);
         select.setWhereClause(null);
         String originalQueryString = DatabendToStringVisitor.asString(select);
-
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
         if (Randomly.getBoolean()) {
             select.setDistinct(false);
         }
@@ -34,11 +31,10 @@ public class DatabendQueryPartitioningDistinctTester extends DatabendQueryPartit
         String secondQueryString = DatabendToStringVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = DatabendToStringVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSetNoDuplicates(firstQueryString,
-                secondQueryString, thirdQueryString, combinedString, true, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state, DatabendQueryPartitioningBase::canonicalizeResultValue);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStringsNoDuplicates(firstQueryString,
+                secondQueryString, thirdQueryString, true);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state,
+                DatabendQueryPartitioningBase::canonicalizeResultValue);
     }
 
 }
@@ -15,6 +15,7 @@ import sqlancer.common.oracle.TestOracle;
 import sqlancer.duckdb.DuckDBOptions.DuckDBOracleFactory;
 import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
 import sqlancer.duckdb.test.DuckDBNoRECOracle;
+import sqlancer.duckdb.test.DuckDBPerformanceOracle;
 import sqlancer.duckdb.test.DuckDBQueryPartitioningAggregateTester;
 import sqlancer.duckdb.test.DuckDBQueryPartitioningDistinctTester;
 import sqlancer.duckdb.test.DuckDBQueryPartitioningBetweenAndTester;
@@ -148,6 +149,12 @@ public class DuckDBOptions implements DBMSSpecificOptions<DuckDBOracleFactory> {
                 return new DuckDBQueryPartitioningBetweenIntersectTester(globalState);
             }
         },
+        PERFORMANCE {
+            @Override
+            public TestOracle create(DuckDBGlobalState globalState) throws SQLException {
+                return new DuckDBPerformanceOracle(globalState);
+            }
+        },
         QUERY_PARTITIONING {
             @Override
             public TestOracle create(DuckDBGlobalState globalState) throws SQLException {
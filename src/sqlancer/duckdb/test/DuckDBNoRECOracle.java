@@ -1,12 +1,12 @@
 package sqlancer.duckdb.test;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ComparatorHelper;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
@@ -57,7 +57,7 @@ public class DuckDBNoRECOracle extends NoRECBase<DuckDBGlobalState> implements T
         int firstCount = getFirstQueryCount(con, tableList.stream().collect(Collectors.toList()), columns,
                 randomWhereCondition, joins);
         if (firstCount == -1 || secondCount == -1) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("expected error");
         }
         if (firstCount != secondCount) {
             throw new AssertionError(
@@ -123,10 +123,8 @@ public class DuckDBNoRECOracle extends NoRECBase<DuckDBGlobalState> implements T
             if (options.logEachSelect()) {
                 logger.writeCurrent(optimizedQueryString);
             }
-            try (ResultSet rs = stat.executeQuery(optimizedQueryString)) {
-                while (rs.next()) {
-                    firstCount++;
-                }
+            try (SQLancerResultSet rs = new SQLancerResultSet(stat.executeQuery(optimizedQueryString))) {
+                firstCount = ComparatorHelper.countRows(rs);
             }
         } catch (SQLException e) {
             throw new IgnoreMeException();
@@ -0,0 +1,70 @@
+package sqlancer.duckdb.test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import sqlancer.PerformanceRewriter;
+import sqlancer.common.ast.newast.ColumnReferenceNode;
+import sqlancer.common.ast.newast.NewPostfixTextNode;
+import sqlancer.common.ast.newast.Node;
+import sqlancer.duckdb.DuckDBErrors;
+import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
+import sqlancer.duckdb.DuckDBSchema.DuckDBColumn;
+import sqlancer.duckdb.DuckDBSchema.DuckDBCompositeDataType;
+import sqlancer.duckdb.DuckDBSchema.DuckDBDataType;
+import sqlancer.duckdb.DuckDBToStringVisitor;
+import sqlancer.duckdb.ast.DuckDBExpression;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBCastOperation;
+
+public class DuckDBPerformanceOracle extends DuckDBQueryPartitioningBase {
+
+    public DuckDBPerformanceOracle(DuckDBGlobalState state) {
+        super(state);
+        DuckDBErrors.addGroupByErrors(errors);
+    }
+
+    @Override
+    public void check() throws SQLException {
+        super.check();
+        new DuckDBPerformanceRewriter().assumeNotSlower(state, errors, predicate, negatedPredicate, isNullPredicate);
+    }
+
+    private class DuckDBPerformanceRewriter extends PerformanceRewriter<Node<DuckDBExpression>> {
+
+        @Override
+        protected void setWhereClause(Node<DuckDBExpression> whereClause) {
+            select.setWhereClause(whereClause);
+        }
+
+        @Override
+        protected void setFetchColumn(Node<DuckDBExpression> fetchColumn) {
+            select.setFetchColumns(Arrays.asList(fetchColumn));
+        }
+
+        @Override
+        protected String asString() {
+            return DuckDBToStringVisitor.asString(select);
+        }
+
+        @Override
+        protected Node<DuckDBExpression> negatePredicate(Node<DuckDBExpression> predicate) {
+            return gen.negatePredicate(predicate);
+        }
+
+        @Override
+        protected Node<DuckDBExpression> getCountColumn() {
+            return new ColumnReferenceNode<DuckDBExpression, DuckDBColumn>(
+                    new DuckDBColumn("COUNT(*)", null, false, false));
+        }
+
+        @Override
+        protected Node<DuckDBExpression> getUnoptimizedCountColumn(Node<DuckDBExpression> predicate) {
+            return new NewPostfixTextNode<>(new DuckDBCastOperation(
+                    new NewPostfixTextNode<DuckDBExpression>(predicate,
+                            " IS NOT NULL AND " + DuckDBToStringVisitor.asString(predicate)),
+                    new DuckDBCompositeDataType(DuckDBDataType.INT, 8)), "as count");
+        }
+
+    }
+
+}
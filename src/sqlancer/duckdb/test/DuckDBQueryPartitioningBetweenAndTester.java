@@ -28,19 +28,17 @@ public class DuckDBQueryPartitioningBetweenAndTester extends DuckDBQueryPartitio
         // original
         select.setWhereClause(predicate);
         String firstQueryString = DuckDBToStringVisitor.asString(select);
-        List <String> firstResultSet = ComparatorHelper.getResultSetFirstColumnAsString(firstQueryString, errors, state);
 
         splitPredicate = genSplitPredicate(predicate);
 
         select.setWhereClause(splitPredicate);
         String secondQueryString = DuckDBToStringVisitor.asString(select);
-        List <String> secondResultSet = ComparatorHelper.getResultSetFirstColumnAsString(secondQueryString, errors, state);
         List<String> combinedString = new ArrayList<>();
         combinedString.add(secondQueryString);
         
         // compare
-        ComparatorHelper.assumeResultSetsAreEqual(firstResultSet, secondResultSet, firstQueryString, combinedString,
-                state, DuckDBQueryPartitioningBase::canonicalizeResultValue);
+        ComparatorHelper.assumeResultSetsAreEqual(firstQueryString, combinedString, errors, state,
+                DuckDBQueryPartitioningBase::canonicalizeResultValue);
     }
 
 }
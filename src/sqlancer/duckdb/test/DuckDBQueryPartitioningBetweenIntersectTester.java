@@ -33,7 +33,6 @@ public class DuckDBQueryPartitioningBetweenIntersectTester extends DuckDBQueryPa
         // original
         select.setWhereClause(predicate);
         String originalQueryString = DuckDBToStringVisitor.asString(select);
-        List <String> originalResultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
 
         leftPredicate = genBetweenDiscardedPredicate(predicate, false);
         select.setWhereClause(leftPredicate);
@@ -45,12 +44,11 @@ public class DuckDBQueryPartitioningBetweenIntersectTester extends DuckDBQueryPa
 
         // intersect
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getIntersectedResultSet(firstQueryString,
-                secondQueryString, combinedString, state, errors);
+        combinedString.add(firstQueryString + " INTERSECT " + secondQueryString);
         
         // compare
-        ComparatorHelper.assumeResultSetsAreEqual(originalResultSet, secondResultSet, originalQueryString, combinedString,
-                state, DuckDBQueryPartitioningBase::canonicalizeResultValue);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state,
+                DuckDBQueryPartitioningBase::canonicalizeResultValue);
     }
 
 }
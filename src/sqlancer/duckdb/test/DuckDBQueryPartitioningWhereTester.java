@@ -1,7 +1,6 @@
 package sqlancer.duckdb.test;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -23,8 +22,6 @@ public class DuckDBQueryPartitioningWhereTester extends DuckDBQueryPartitioningB
         select.setWhereClause(null);
         String originalQueryString = DuckDBToStringVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         boolean orderBy = Randomly.getBooleanWithRatherLowProbability();
         if (orderBy) {
             select.setOrderByExpressions(gen.generateOrderBys());
@@ -35,11 +32,10 @@ public class DuckDBQueryPartitioningWhereTester extends DuckDBQueryPartitioningB
         String secondQueryString = DuckDBToStringVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = DuckDBToStringVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state, DuckDBQueryPartitioningBase::canonicalizeResultValue);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, !orderBy);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state,
+                DuckDBQueryPartitioningBase::canonicalizeResultValue);
     }
 
 }
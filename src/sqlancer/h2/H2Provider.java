@@ -1,8 +1,17 @@
 package sqlancer.h2;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import com.google.auto.service.AutoService;
 
@@ -14,6 +23,7 @@ import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.h2.H2Provider.H2GlobalState;
@@ -74,12 +84,17 @@ public class H2Provider extends SQLProviderAdapter<H2GlobalState, H2Options> {
             return H2Schema.fromConnection(getConnection(), getDatabaseName());
         }
 
+        @Override
+        protected boolean supportsStatementBatches() {
+            return true;
+        }
+
     }
 
     @Override
     public void generateDatabase(H2GlobalState globalState) throws Exception {
         if (Randomly.getBoolean()) {
-            H2SetGenerator.getQuery(globalState).execute(globalState);
+            globalState.executeStatement(H2SetGenerator.getQuery(globalState));
         }
         boolean success;
         for (int i = 0; i < Randomly.fromOptions(1, 2, 3); i++) {
@@ -99,7 +114,7 @@ public class H2Provider extends SQLProviderAdapter<H2GlobalState, H2Options> {
 
     @Override
     public SQLConnection createDatabase(H2GlobalState globalState) throws SQLException {
-        String connectionString = "jdbc:h2:~/" + globalState.getDatabaseName() + ";DB_CLOSE_ON_EXIT=FALSE";
+        String connectionString = getConnectionString(globalState.getDatabaseName());
         Connection connection = DriverManager.getConnection(connectionString, "sa", "");
         connection.createStatement().execute("DROP ALL OBJECTS DELETE FILES");
         connection.close();
@@ -107,6 +122,70 @@ public class H2Provider extends SQLProviderAdapter<H2GlobalState, H2Options> {
         return new SQLConnection(connection);
     }
 
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    /*
+     * The database is stored in a file, of which BACKUP creates a consistent copy while the database is open. The file
+     * is extracted from the backup for each clone.
+     */
+    @Override
+    public boolean createSnapshot(H2GlobalState globalState) throws SQLException {
+        File snapshot = getSnapshotFile(globalState.getDatabaseName());
+        if (snapshot.exists()) {
+            snapshot.delete();
+        }
+        try (Statement s = globalState.getConnection().createStatement()) {
+            s.execute(String.format("BACKUP TO '%s'", snapshot.getAbsolutePath()));
+        }
+        return true;
+    }
+
+    @Override
+    public SQLConnection createDatabaseFromSnapshot(H2GlobalState globalState) throws Exception {
+        File snapshot = getSnapshotFile(globalState.getDatabaseName());
+        // the connections to the previous database have been closed, which also closed its file
+        Path dataBase = Paths.get(System.getProperty("user.home"), globalState.getDatabaseName() + ".mv.db");
+        try (ZipInputStream zip = new ZipInputStream(new FileInputStream(snapshot))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().endsWith(".mv.db")) {
+                    Files.copy(zip, dataBase, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        return new SQLConnection(
+                DriverManager.getConnection(getConnectionString(globalState.getDatabaseName()), "sa", ""));
+    }
+
+    @Override
+    public void dropSnapshot(H2GlobalState globalState) {
+        getSnapshotFile(globalState.getDatabaseName()).delete();
+    }
+
+    @Override
+    protected void prepareClonedDatabase(H2GlobalState globalState) {
+        // some settings (e.g., LAZY_QUERY_EXECUTION) only affect the current session
+        for (Query<?> q : globalState.getDatabaseSnapshot().getStatements()) {
+            if (q.getQueryString().startsWith("SET")) {
+                try (Statement s = globalState.getConnection().createStatement()) {
+                    s.execute(q.getQueryString());
+                } catch (SQLException e) {
+                    // the statement might also have failed when generating the database
+                }
+            }
+        }
+    }
+
+    private static String getConnectionString(String databaseName) {
+        return "jdbc:h2:~/" + databaseName + ";DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    private static File getSnapshotFile(String databaseName) {
+        return new File(System.getProperty("user.home"), databaseName + "-snapshot.zip");
+    }
+
     @Override
     public String getDBMSName() {
         return "h2";
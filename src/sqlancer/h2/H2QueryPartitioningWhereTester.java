@@ -1,7 +1,6 @@
 package sqlancer.h2;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -20,8 +19,6 @@ public class H2QueryPartitioningWhereTester extends H2QueryPartitioningBase {
         select.setWhereClause(null);
         String originalQueryString = H2ToStringVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         boolean orderBy = Randomly.getBooleanWithRatherLowProbability();
         if (orderBy) {
             select.setOrderByExpressions(gen.generateOrderBys());
@@ -32,11 +29,9 @@ public class H2QueryPartitioningWhereTester extends H2QueryPartitioningBase {
         String secondQueryString = H2ToStringVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = H2ToStringVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, !orderBy);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 
 }
@@ -23,14 +23,14 @@ public final class MongoDBComparatorHelper {
         List<Document> result;
         try {
             adapter.executeAndGet(state);
-            Main.nrSuccessfulActions.addAndGet(1);
+            Main.nrSuccessfulActions.increment();
             result = adapter.getResultSet();
             return result;
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
                 throw e;
             }
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            Main.nrUnsuccessfulActions.increment();
             if (e.getMessage() == null) {
                 throw new AssertionError(adapter.getLogString(), e);
             }
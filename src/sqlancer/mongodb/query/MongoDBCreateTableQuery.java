@@ -39,7 +39,7 @@ public class MongoDBCreateTableQuery extends MongoDBQueryAdapter {
     public <G extends GlobalState<?, ?, MongoDBConnection>> boolean execute(G globalState, String... fills)
             throws Exception {
         ValidationOptions collOptions = new ValidationOptions().validator(this.validationFilter);
-        Main.nrSuccessfulActions.addAndGet(1);
+        Main.nrSuccessfulActions.increment();
         globalState.getConnection().getDatabase().createCollection(tableName,
                 new CreateCollectionOptions().validationOptions(collOptions));
         return true;
@@ -74,7 +74,7 @@ public class MongoDBInsertQuery extends MongoDBQueryAdapter {
     @Override
     public <G extends GlobalState<?, ?, MongoDBConnection>> boolean execute(G globalState, String... fills)
             throws Exception {
-        Main.nrSuccessfulActions.addAndGet(1);
+        Main.nrSuccessfulActions.increment();
         InsertOneResult result = globalState.getConnection().getDatabase().getCollection(table.getName())
                 .insertOne(documentToBeInserted);
         return result.wasAcknowledged();
@@ -1,6 +1,5 @@
 package sqlancer.mongodb.query;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -116,11 +115,6 @@ public class MongoDBSelectQuery extends MongoDBQueryAdapter {
             String... fills) throws Exception {
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(this.getLogString());
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
         List<Bson> pipeline = MongoDBVisitor.asQuery(select);
 
@@ -5,6 +5,7 @@ import java.sql.SQLException;
 
 import sqlancer.SQLGlobalState;
 import sqlancer.mysql.MySQLOptions.MySQLOracleFactory;
+import sqlancer.mysql.MySQLSchema.MySQLTable.MySQLEngine;
 
 public class MySQLGlobalState extends SQLGlobalState<MySQLOptions, MySQLSchema> {
 
@@ -13,6 +14,15 @@ public class MySQLGlobalState extends SQLGlobalState<MySQLOptions, MySQLSchema>
         return MySQLSchema.fromConnection(getConnection(), getDatabaseName());
     }
 
+    /*
+     * A failed statement on a table of a non-transactional engine (e.g., a multi-row INSERT into a MyISAM table) can
+     * have a partial effect, which is not reflected by the update counts of a batch.
+     */
+    @Override
+    protected boolean supportsStatementBatches() {
+        return getSchema().getDatabaseTables().stream().allMatch(t -> t.getEngine() == MySQLEngine.INNO_DB);
+    }
+
     public boolean usesPQS() {
         return getDbmsSpecificOptions().oracles.stream().anyMatch(o -> o == MySQLOracleFactory.PQS);
     }
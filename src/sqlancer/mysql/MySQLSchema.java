@@ -5,7 +5,6 @@ import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -88,46 +87,37 @@ public class MySQLSchema extends AbstractSchema<MySQLGlobalState, MySQLTable> {
             super(tables);
         }
 
-        public MySQLRowValue getRandomRowValue(SQLConnection con) throws SQLException {
-            String randomRow = String.format("SELECT %s FROM %s ORDER BY RAND() LIMIT 1", columnNamesAsString(
-                    c -> c.getTable().getName() + "." + c.getName() + " AS " + c.getTable().getName() + c.getName()),
-                    // columnNamesAsString(c -> "typeof(" + c.getTable().getName() + "." +
-                    // c.getName() + ")")
-                    tableNamesAsString());
-            Map<MySQLColumn, MySQLConstant> values = new HashMap<>();
-            try (Statement s = con.createStatement()) {
-                ResultSet randomRowValues = s.executeQuery(randomRow);
-                if (!randomRowValues.next()) {
-                    throw new AssertionError("could not find random row! " + randomRow + "\n");
-                }
-                for (int i = 0; i < getColumns().size(); i++) {
-                    MySQLColumn column = getColumns().get(i);
-                    Object value;
-                    int columnIndex = randomRowValues.findColumn(column.getTable().getName() + column.getName());
-                    assert columnIndex == i + 1;
-                    MySQLConstant constant;
-                    if (randomRowValues.getString(columnIndex) == null) {
-                        constant = MySQLConstant.createNullConstant();
-                    } else {
-                        switch (column.getType()) {
-                        case INT:
-                            value = randomRowValues.getLong(columnIndex);
-                            constant = MySQLConstant.createIntConstant((long) value);
-                            break;
-                        case VARCHAR:
-                            value = randomRowValues.getString(columnIndex);
-                            constant = MySQLConstant.createStringConstant((String) value);
-                            break;
-                        default:
-                            throw new AssertionError(column.getType());
+        public MySQLRowValue getRandomRowValue(MySQLGlobalState globalState) throws SQLException {
+            Map<MySQLColumn, MySQLConstant> values = globalState.getRowSamples().getRandomRow(
+                    globalState.getConnection(), getTables(),
+                    t -> String.format("SELECT %s FROM %s", t.getColumnsAsString(), t.getName()), (rs, columns) -> {
+                        List<MySQLConstant> row = new ArrayList<>();
+                        for (int i = 0; i < columns.size(); i++) {
+                            MySQLColumn column = columns.get(i);
+                            int columnIndex = i + 1;
+                            MySQLConstant constant;
+                            if (rs.getString(columnIndex) == null) {
+                                constant = MySQLConstant.createNullConstant();
+                            } else {
+                                switch (column.getType()) {
+                                case INT:
+                                    constant = MySQLConstant.createIntConstant(rs.getLong(columnIndex));
+                                    break;
+                                case VARCHAR:
+                                    constant = MySQLConstant.createStringConstant(rs.getString(columnIndex));
+                                    break;
+                                default:
+                                    throw new AssertionError(column.getType());
+                                }
+                            }
+                            row.add(constant);
                         }
-                    }
-                    values.put(column, constant);
-                }
-                assert !randomRowValues.next();
-                return new MySQLRowValue(this, values);
+                        return row;
+                    });
+            if (values == null) {
+                throw new AssertionError("could not find random row! " + tableNamesAsString() + "\n");
             }
-
+            return new MySQLRowValue(this, values);
         }
 
     }
@@ -1,6 +1,7 @@
 package sqlancer.mysql.ast;
 
 import sqlancer.IgnoreMeException;
+import sqlancer.mysql.MySQLSchema.MySQLDataType;
 import sqlancer.mysql.ast.MySQLBinaryComparisonOperation.BinaryComparisonOperator;
 import sqlancer.mysql.ast.MySQLBinaryLogicalOperation.MySQLBinaryLogicalOperator;
 
@@ -30,10 +31,14 @@ public class MySQLBetweenOperation implements MySQLExpression {
 
     @Override
     public MySQLConstant getExpectedValue() {
-        MySQLExpression[] arr = { left, right, expr };
-        MySQLConstant convertedExpr = MySQLComputableFunction.castToMostGeneralType(expr.getExpectedValue(), arr);
-        MySQLConstant convertedLeft = MySQLComputableFunction.castToMostGeneralType(left.getExpectedValue(), arr);
-        MySQLConstant convertedRight = MySQLComputableFunction.castToMostGeneralType(right.getExpectedValue(), arr);
+        MySQLConstant exprValue = expr.getExpectedValue();
+        MySQLConstant leftValue = left.getExpectedValue();
+        MySQLConstant rightValue = right.getExpectedValue();
+        MySQLDataType type = MySQLComputableFunction
+                .getMostGeneralType(new MySQLConstant[] { leftValue, rightValue, exprValue }, left, right, expr);
+        MySQLConstant convertedExpr = MySQLComputableFunction.castToType(exprValue, type);
+        MySQLConstant convertedLeft = MySQLComputableFunction.castToType(leftValue, type);
+        MySQLConstant convertedRight = MySQLComputableFunction.castToType(rightValue, type);
 
         /* workaround for https://bugs.mysql.com/bug.php?id=96006 */
         if (convertedLeft.isInt() && convertedLeft.getInt() < 0 || convertedRight.isInt() && convertedRight.getInt() < 0
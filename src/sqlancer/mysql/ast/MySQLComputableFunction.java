@@ -83,7 +83,7 @@ public class MySQLComputableFunction implements MySQLExpression {
                         break;
                     }
                 }
-                return castToMostGeneralType(result, origArgs);
+                return castToType(result, getMostGeneralType(args, origArgs));
             }
 
             @Override
@@ -109,7 +109,8 @@ public class MySQLComputableFunction implements MySQLExpression {
                 } else {
                     result = left;
                 }
-                return castToMostGeneralType(result, new MySQLExpression[] { origArgs[1], origArgs[2] });
+                return castToType(result,
+                        getMostGeneralType(new MySQLConstant[] { left, right }, origArgs[1], origArgs[2]));
 
             }
 
@@ -127,7 +128,7 @@ public class MySQLComputableFunction implements MySQLExpression {
                 } else {
                     result = args[0];
                 }
-                return castToMostGeneralType(result, origArgs);
+                return castToType(result, getMostGeneralType(args, origArgs));
             }
 
         },
@@ -222,7 +223,13 @@ public class MySQLComputableFunction implements MySQLExpression {
         if (cons.isNull()) {
             return cons;
         }
-        MySQLDataType type = getMostGeneralType(typeExpressions);
+        return castToType(cons, getMostGeneralType(typeExpressions));
+    }
+
+    public static MySQLConstant castToType(MySQLConstant cons, MySQLDataType type) {
+        if (cons.isNull()) {
+            return cons;
+        }
         switch (type) {
         case INT:
             if (cons.isInt()) {
@@ -238,13 +245,35 @@ public class MySQLComputableFunction implements MySQLExpression {
     }
 
     public static MySQLDataType getMostGeneralType(MySQLExpression... expressions) {
+        MySQLConstant[] expectedValues = new MySQLConstant[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            if (!(expressions[i] instanceof MySQLColumnReference)) {
+                expectedValues[i] = expressions[i].getExpectedValue();
+            }
+        }
+        return getMostGeneralType(expectedValues, expressions);
+    }
+
+    /**
+     * Determines the most general type of the given expressions, whose expected values have already been computed, so
+     * that they do not need to be evaluated again.
+     *
+     * @param expectedValues
+     *            the expected values of the expressions
+     * @param expressions
+     *            the expressions
+     *
+     * @return the most general type
+     */
+    public static MySQLDataType getMostGeneralType(MySQLConstant[] expectedValues, MySQLExpression... expressions) {
         MySQLDataType type = null;
-        for (MySQLExpression expr : expressions) {
+        for (int i = 0; i < expressions.length; i++) {
+            MySQLExpression expr = expressions[i];
             MySQLDataType exprType;
             if (expr instanceof MySQLColumnReference) {
                 exprType = ((MySQLColumnReference) expr).getColumn().getType();
             } else {
-                exprType = expr.getExpectedValue().getType();
+                exprType = expectedValues[i].getType();
             }
             if (type == null) {
                 type = exprType;
@@ -84,12 +84,16 @@ public class MySQLInsertGenerator {
             sb.append(")");
         }
         errors.add("doesn't have a default value");
+        errors.addVendorCode(1364); // ER_NO_DEFAULT_FOR_FIELD
         errors.add("Data truncation");
         errors.add("Incorrect integer value");
         errors.add("Duplicate entry");
+        errors.addVendorCode(1062); // ER_DUP_ENTRY
         errors.add("Data truncated for functional index");
         errors.add("Data truncated for column");
+        errors.addVendorCode(1265); // WARN_DATA_TRUNCATED
         errors.add("cannot be null");
+        errors.addVendorCode(1048); // ER_BAD_NULL_ERROR
         errors.add("Incorrect decimal value");
         return new SQLQueryAdapter(sb.toString(), errors);
     }
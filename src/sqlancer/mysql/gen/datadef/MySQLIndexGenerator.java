@@ -44,6 +44,7 @@ public class MySQLIndexGenerator {
             // A SPATIAL index may only contain a geometrical type column
             sb.append("UNIQUE ");
             errors.add("Duplicate entry");
+            errors.addVendorCode(1062); // ER_DUP_ENTRY
         }
         sb.append("INDEX ");
         sb.append(globalState.getSchema().getFreeIndexName());
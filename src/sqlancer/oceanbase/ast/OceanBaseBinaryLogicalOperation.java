@@ -102,7 +102,7 @@ public class OceanBaseBinaryLogicalOperation implements OceanBaseExpression {
     public OceanBaseConstant getExpectedValue() {
         OceanBaseConstant leftExpected = left.getExpectedValue();
         OceanBaseConstant rightExpected = right.getExpectedValue();
-        if (left.getExpectedValue() == null || right.getExpectedValue() == null) {
+        if (leftExpected == null || rightExpected == null) {
             return null;
         }
         return op.apply(leftExpected, rightExpected);
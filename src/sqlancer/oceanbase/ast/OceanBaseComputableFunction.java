@@ -52,7 +52,7 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
                         break;
                     }
                 }
-                return castToMostGeneralType(result, origArgs);
+                return castToType(result, getMostGeneralType(args, origArgs));
             }
 
             @Override
@@ -74,7 +74,8 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
                 } else {
                     result = left;
                 }
-                return castToMostGeneralType(result, new OceanBaseExpression[] { origArgs[1], origArgs[2] });
+                return castToType(result,
+                        getMostGeneralType(new OceanBaseConstant[] { left, right }, origArgs[1], origArgs[2]));
             }
         },
 
@@ -88,7 +89,7 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
                 } else {
                     result = args[0];
                 } // args[0] and args[1] both null, if type is varchar, return null of varchar
-                return castToMostGeneralType(result, origArgs);
+                return castToType(result, getMostGeneralType(args, origArgs));
             }
 
         },
@@ -126,14 +127,15 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
                 // select IFNULL(GREATEST("iffI|2&nBJLQQ", NULL, '0'), 1) from t0;->'1'
                 OceanBaseDataType type;
                 boolean allVarchar = true;
-                for (OceanBaseExpression expr : typeExpressions) {
+                for (int i = 0; i < typeExpressions.length; i++) {
+                    OceanBaseExpression expr = typeExpressions[i];
                     if (expr instanceof OceanBaseColumnReference) {
                         type = ((OceanBaseColumnReference) expr).getColumn().getType();
                         if (type == OceanBaseDataType.FLOAT) {
                             type = OceanBaseDataType.VARCHAR;
                         }
                     } else {
-                        type = expr.getExpectedValue().getType();
+                        type = evaluatedArgs[i].getType();
                     }
                     if (type != null && type.isNumeric()) {
                         allVarchar = false;
@@ -228,9 +230,7 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
         return func.apply(constants, args);
     }
 
-    public static OceanBaseConstant castToMostGeneralType(OceanBaseConstant cons,
-            OceanBaseExpression... typeExpressions) {
-        OceanBaseDataType type = getMostGeneralType(typeExpressions);
+    public static OceanBaseConstant castToType(OceanBaseConstant cons, OceanBaseDataType type) {
         if (cons.isNull()) {
             if (type == OceanBaseDataType.FLOAT || type == OceanBaseDataType.VARCHAR) {
                 return OceanBaseConstant.createStringConstant("null");
@@ -254,8 +254,31 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
     }
 
     public static OceanBaseDataType getMostGeneralType(OceanBaseExpression... expressions) {
+        OceanBaseConstant[] expectedValues = new OceanBaseConstant[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            if (!(expressions[i] instanceof OceanBaseColumnReference)) {
+                expectedValues[i] = expressions[i].getExpectedValue();
+            }
+        }
+        return getMostGeneralType(expectedValues, expressions);
+    }
+
+    /**
+     * Determines the most general type of the given expressions, whose expected values have already been computed, so
+     * that they do not need to be evaluated again.
+     *
+     * @param expectedValues
+     *            the expected values of the expressions
+     * @param expressions
+     *            the expressions
+     *
+     * @return the most general type
+     */
+    public static OceanBaseDataType getMostGeneralType(OceanBaseConstant[] expectedValues,
+            OceanBaseExpression... expressions) {
         OceanBaseDataType type = null;
-        for (OceanBaseExpression expr : expressions) {
+        for (int i = 0; i < expressions.length; i++) {
+            OceanBaseExpression expr = expressions[i];
             OceanBaseDataType exprType;
             if (expr instanceof OceanBaseColumnReference) {
                 exprType = ((OceanBaseColumnReference) expr).getColumn().getType();
@@ -263,7 +286,7 @@ public class OceanBaseComputableFunction implements OceanBaseExpression {
                     exprType = OceanBaseDataType.VARCHAR;
                 }
             } else {
-                exprType = expr.getExpectedValue().getType();
+                exprType = expectedValues[i].getType();
             }
             if (type == null) {
                 type = exprType;
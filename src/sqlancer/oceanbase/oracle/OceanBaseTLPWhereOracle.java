@@ -1,7 +1,6 @@
 package sqlancer.oceanbase.oracle;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -22,8 +21,6 @@ public class OceanBaseTLPWhereOracle extends OceanBaseTLPBase {
         select.setWhereClause(null);
         String originalQueryString = OceanBaseVisitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         if (Randomly.getBoolean()) {
             select.setOrderByExpressions(gen.generateOrderBys());
         }
@@ -34,11 +31,9 @@ public class OceanBaseTLPWhereOracle extends OceanBaseTLPBase {
         String secondQueryString = OceanBaseVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = OceanBaseVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, Randomly.getBoolean(), state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, Randomly.getBoolean());
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 
 }
@@ -9,10 +9,16 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
+import sqlancer.common.query.Query;
+import sqlancer.postgres.PostgresSchema.PostgresStatisticsObject;
+import sqlancer.postgres.PostgresSchema.PostgresTable;
 
 public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, PostgresSchema> {
 
@@ -20,6 +26,14 @@ public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, Postgre
     public static final char STABLE = 's';
     public static final char VOLATILE = 'v';
 
+    private static final Pattern CREATE_TABLE = Pattern
+            .compile("^CREATE( TEMPORARY| TEMP| UNLOGGED)? TABLE( IF NOT EXISTS)? (\\w+)");
+    private static final Pattern CREATE_VIEW = Pattern
+            .compile("^CREATE( OR REPLACE)?( TEMPORARY| TEMP)?( RECURSIVE)? VIEW (\\w+)");
+    private static final Pattern CREATE_INDEX = Pattern.compile("^CREATE( UNIQUE)? INDEX (\\w+) ON (ONLY )?(\\w+)");
+    private static final Pattern DROP_INDEX = Pattern
+            .compile("^DROP INDEX (?:IF EXISTS )?(\\w+(?:, \\w+)*)( CASCADE| RESTRICT)?$");
+
     private List<String> operators = Collections.emptyList();
     private List<String> collates = Collections.emptyList();
     private List<String> opClasses = Collections.emptyList();
@@ -41,6 +55,38 @@ public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, Postgre
         }
     }
 
+    @Override
+    protected boolean supportsStatementBatches() {
+        return true;
+    }
+
+    /*
+     * Only the plan nodes (e.g., "Index Scan using i0 on t0") are considered, but not their properties (e.g.,
+     * "Filter: (c0 > 1)"), which mostly consist of the query's expressions.
+     */
+    @Override
+    protected String getQueryPlan(String query) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        try (Statement s = getConnection().createStatement();
+                ResultSet rs = s.executeQuery("EXPLAIN (COSTS OFF) " + query)) {
+            boolean isRoot = true;
+            while (rs.next()) {
+                String line = rs.getString(1);
+                if (isRoot || line.contains("->")) {
+                    sb.append(line.replaceAll("\\d+", "")).append('\n');
+                }
+                isRoot = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    protected Query<SQLConnection> getQueryPlanMutation() throws Exception {
+        return Randomly.fromOptions(PostgresProvider.Action.ANALYZE, PostgresProvider.Action.CREATE_INDEX,
+                PostgresProvider.Action.CREATE_STATISTICS).getQuery(this);
+    }
+
     private List<String> getCollnames(SQLConnection con) throws SQLException {
         List<String> collNames = new ArrayList<>();
         try (Statement s = con.createStatement()) {
@@ -130,6 +176,61 @@ public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, Postgre
         return PostgresSchema.fromConnection(getConnection(), getDatabaseName());
     }
 
+    /*
+     * Only the tables and views that a statement created or whose indexes it changed are re-read. Materialized views
+     * are not part of the schema, and the remaining schema-affecting statements (e.g., ALTER TABLE and CREATE
+     * STATISTICS, whose objects are shared by all tables) still result in the schema being re-read.
+     */
+    @Override
+    protected PostgresSchema applySchemaChange(PostgresSchema currentSchema, Query<?> q) throws SQLException {
+        String queryString = q.getQueryString();
+        Matcher createTable = CREATE_TABLE.matcher(queryString);
+        if (createTable.find()) {
+            if (currentSchema.getDatabaseTable(createTable.group(3)) != null) {
+                return null;
+            }
+            return rereadTables(currentSchema, Arrays.asList(createTable.group(3)));
+        }
+        Matcher createView = CREATE_VIEW.matcher(queryString);
+        if (createView.find()) {
+            return rereadTables(currentSchema, Arrays.asList(createView.group(4)));
+        }
+        Matcher createIndex = CREATE_INDEX.matcher(queryString);
+        if (createIndex.find()) {
+            return rereadTables(currentSchema, Arrays.asList(createIndex.group(4)));
+        }
+        Matcher dropIndex = DROP_INDEX.matcher(queryString);
+        if (dropIndex.matches()) {
+            List<String> indexNames = Arrays.asList(dropIndex.group(1).split(", "));
+            List<String> tableNames = currentSchema.getDatabaseTables().stream()
+                    .filter(t -> t.getIndexes().stream().anyMatch(i -> indexNames.contains(i.getIndexName())))
+                    .map(t -> t.getName()).collect(Collectors.toList());
+            return rereadTables(currentSchema, tableNames);
+        }
+        return null;
+    }
+
+    private PostgresSchema rereadTables(PostgresSchema currentSchema, List<String> tableNames) throws SQLException {
+        if (currentSchema.getDatabaseTables().isEmpty()) {
+            return null;
+        }
+        List<PostgresStatisticsObject> statistics = currentSchema.getDatabaseTables().get(0).getStatistics();
+        List<PostgresTable> tables = new ArrayList<>(currentSchema.getDatabaseTables());
+        for (String tableName : tableNames) {
+            PostgresTable table = PostgresSchema.readTable(getConnection(), tableName, statistics);
+            if (table == null) {
+                return null;
+            }
+            int index = tables.indexOf(currentSchema.getDatabaseTable(tableName));
+            if (index == -1) {
+                tables.add(table);
+            } else {
+                tables.set(index, table);
+            }
+        }
+        return new PostgresSchema(tables, currentSchema.getDatabaseName());
+    }
+
     public void addFunctionAndType(String functionName, Character functionType) {
         this.functionsAndTypes.put(functionName, functionType);
     }
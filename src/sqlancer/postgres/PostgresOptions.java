@@ -13,7 +13,9 @@ import sqlancer.OracleFactory;
 import sqlancer.common.oracle.CompositeTestOracle;
 import sqlancer.common.oracle.TestOracle;
 import sqlancer.postgres.PostgresOptions.PostgresOracleFactory;
+import sqlancer.postgres.oracle.PostgresCERTOracle;
 import sqlancer.postgres.oracle.PostgresNoRECOracle;
+import sqlancer.postgres.oracle.PostgresPerformanceOracle;
 import sqlancer.postgres.oracle.PostgresPivotedQuerySynthesisOracle;
 import sqlancer.postgres.oracle.tlp.PostgresTLPAggregateOracle;
 import sqlancer.postgres.oracle.tlp.PostgresTLPHavingOracle;
@@ -67,6 +69,18 @@ public class PostgresOptions implements DBMSSpecificOptions<PostgresOracleFactor
             }
 
         },
+        CERT {
+            @Override
+            public TestOracle create(PostgresGlobalState globalState) throws SQLException {
+                return new PostgresCERTOracle(globalState);
+            }
+        },
+        PERFORMANCE {
+            @Override
+            public TestOracle create(PostgresGlobalState globalState) throws SQLException {
+                return new PostgresPerformanceOracle(globalState);
+            }
+        },
         QUERY_PARTITIONING {
             @Override
             public TestOracle create(PostgresGlobalState globalState) throws SQLException {
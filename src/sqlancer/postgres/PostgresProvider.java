@@ -7,10 +7,12 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.List;
 
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.ConnectionPool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
@@ -19,10 +21,12 @@ import sqlancer.SQLConnection;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.postgres.PostgresOptions.PostgresOracleFactory;
+import sqlancer.postgres.PostgresSchema.PostgresTable.TableType;
 import sqlancer.postgres.gen.PostgresAlterTableGenerator;
 import sqlancer.postgres.gen.PostgresAnalyzeGenerator;
 import sqlancer.postgres.gen.PostgresClusterGenerator;
@@ -52,12 +56,13 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
     /**
      * Generate only data types and expressions that are understood by PQS.
      */
-    public static boolean generateOnlyKnown;
+    public static volatile boolean generateOnlyKnown;
 
     protected String entryURL;
     protected String username;
     protected String password;
     protected String entryPath;
+    protected String entryDatabaseName;
     protected String host;
     protected int port;
     protected String testURL;
@@ -215,6 +220,39 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
 
     @Override
     public SQLConnection createDatabase(PostgresGlobalState globalState) throws SQLException {
+        initializeConnectionParameters(globalState);
+        Connection con = getEntryConnection();
+        globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
+        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
+        createDatabaseCommand = getCreateDatabaseCommand(globalState);
+        globalState.getState().logStatement(createDatabaseCommand);
+        try (Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + databaseName);
+        }
+        try (Statement s = con.createStatement()) {
+            s.execute(createDatabaseCommand);
+        }
+        globalState.getState().logStatement(String.format("\\c %s;", databaseName));
+
+        con = DriverManager.getConnection("jdbc:" + testURL, username, password);
+        return new SQLConnection(con);
+    }
+
+    /**
+     * Returns the connection to the entry database, which is kept open across databases and must not be closed.
+     *
+     * @return the connection to the entry database
+     *
+     * @throws SQLException
+     *             if the connection cannot be established
+     */
+    protected Connection getEntryConnection() throws SQLException {
+        String url = "jdbc:" + entryURL;
+        return ConnectionPool.getConnection(url, () -> DriverManager.getConnection(url, username, password),
+                "DISCARD ALL");
+    }
+
+    private void initializeConnectionParameters(PostgresGlobalState globalState) {
         if (globalState.getDbmsSpecificOptions().getTestOracleFactory().stream()
                 .anyMatch((o) -> o == PostgresOracleFactory.PQS)) {
             generateOnlyKnown = true;
@@ -230,7 +268,7 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         if (entryURL.startsWith("jdbc:")) {
             entryURL = entryURL.substring(5);
         }
-        String entryDatabaseName = entryPath.substring(1);
+        entryDatabaseName = entryPath.substring(1);
         databaseName = globalState.getDatabaseName();
 
         try {
@@ -265,26 +303,84 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         } catch (URISyntaxException e) {
             throw new AssertionError(e);
         }
-        Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
-        globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
-        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
-        createDatabaseCommand = getCreateDatabaseCommand(globalState);
-        globalState.getState().logStatement(createDatabaseCommand);
+        int databaseIndex = entryURL.indexOf(entryDatabaseName);
+        String preDatabaseName = entryURL.substring(0, databaseIndex);
+        String postDatabaseName = entryURL.substring(databaseIndex + entryDatabaseName.length());
+        testURL = preDatabaseName + databaseName + postDatabaseName;
+    }
+
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    @Override
+    public boolean createSnapshot(PostgresGlobalState globalState) throws SQLException {
+        // temporary tables only exist in the current session
+        if (globalState.getSchema().getDatabaseTables().stream()
+                .anyMatch(t -> t.getTableType() == TableType.TEMPORARY)) {
+            return false;
+        }
+        // a database can only be used as a template when no other session is connected to it
+        globalState.getConnection().close();
+        Connection con = getEntryConnection();
+        try (Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + getSnapshotName());
+        }
+        try (Statement s = con.createStatement()) {
+            s.execute(String.format("CREATE DATABASE %s TEMPLATE %s", getSnapshotName(), databaseName));
+        }
+        globalState
+                .setConnection(new SQLConnection(DriverManager.getConnection("jdbc:" + testURL, username, password)));
+        restoreSessionSettings(globalState, globalState.getState().getStatements());
+        return true;
+    }
+
+    @Override
+    public SQLConnection createDatabaseFromSnapshot(PostgresGlobalState globalState) throws SQLException {
+        initializeConnectionParameters(globalState);
+        Connection con = getEntryConnection();
         try (Statement s = con.createStatement()) {
             s.execute("DROP DATABASE IF EXISTS " + databaseName);
         }
         try (Statement s = con.createStatement()) {
-            s.execute(createDatabaseCommand);
+            s.execute(String.format("CREATE DATABASE %s TEMPLATE %s", databaseName, getSnapshotName()));
         }
-        con.close();
-        int databaseIndex = entryURL.indexOf(entryDatabaseName);
-        String preDatabaseName = entryURL.substring(0, databaseIndex);
-        String postDatabaseName = entryURL.substring(databaseIndex + entryDatabaseName.length());
-        testURL = preDatabaseName + databaseName + postDatabaseName;
-        globalState.getState().logStatement(String.format("\\c %s;", databaseName));
+        return new SQLConnection(DriverManager.getConnection("jdbc:" + testURL, username, password));
+    }
 
-        con = DriverManager.getConnection("jdbc:" + testURL, username, password);
-        return new SQLConnection(con);
+    @Override
+    public void dropSnapshot(PostgresGlobalState globalState) throws SQLException {
+        try (Statement s = getEntryConnection().createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + getSnapshotName());
+        }
+    }
+
+    @Override
+    protected void prepareClonedDatabase(PostgresGlobalState globalState) throws SQLException {
+        readFunctions(globalState);
+        restoreSessionSettings(globalState, globalState.getDatabaseSnapshot().getStatements());
+    }
+
+    private String getSnapshotName() {
+        return databaseName + "_snapshot";
+    }
+
+    /*
+     * Session settings are not part of a template database, so the statements that changed them need to be re-executed
+     * on a new connection.
+     */
+    private void restoreSessionSettings(PostgresGlobalState globalState, List<Query<?>> statements) {
+        for (Query<?> q : statements) {
+            String queryString = q.getQueryString();
+            if (queryString.startsWith("SET") || queryString.startsWith("RESET") || queryString.startsWith("DISCARD")) {
+                try (Statement s = globalState.getConnection().createStatement()) {
+                    s.execute(queryString);
+                } catch (SQLException e) {
+                    // the statement might also have failed when generating the database
+                }
+            }
+        }
     }
 
     protected void readFunctions(PostgresGlobalState globalState) throws SQLException {
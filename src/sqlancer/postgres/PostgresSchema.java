@@ -6,7 +6,6 @@ import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -66,48 +65,44 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
             super(tables);
         }
 
-        public PostgresRowValue getRandomRowValue(SQLConnection con) throws SQLException {
-            String randomRow = String.format("SELECT %s FROM %s ORDER BY RANDOM() LIMIT 1", columnNamesAsString(
-                    c -> c.getTable().getName() + "." + c.getName() + " AS " + c.getTable().getName() + c.getName()),
-                    // columnNamesAsString(c -> "typeof(" + c.getTable().getName() + "." +
-                    // c.getName() + ")")
-                    tableNamesAsString());
-            Map<PostgresColumn, PostgresConstant> values = new HashMap<>();
-            try (Statement s = con.createStatement()) {
-                ResultSet randomRowValues = s.executeQuery(randomRow);
-                if (!randomRowValues.next()) {
-                    throw new AssertionError("could not find random row! " + randomRow + "\n");
-                }
-                for (int i = 0; i < getColumns().size(); i++) {
-                    PostgresColumn column = getColumns().get(i);
-                    int columnIndex = randomRowValues.findColumn(column.getTable().getName() + column.getName());
-                    assert columnIndex == i + 1;
-                    PostgresConstant constant;
-                    if (randomRowValues.getString(columnIndex) == null) {
-                        constant = PostgresConstant.createNullConstant();
-                    } else {
-                        switch (column.getType()) {
-                        case INT:
-                            constant = PostgresConstant.createIntConstant(randomRowValues.getLong(columnIndex));
-                            break;
-                        case BOOLEAN:
-                            constant = PostgresConstant.createBooleanConstant(randomRowValues.getBoolean(columnIndex));
-                            break;
-                        case TEXT:
-                            constant = PostgresConstant.createTextConstant(randomRowValues.getString(columnIndex));
-                            break;
-                        default:
-                            throw new IgnoreMeException();
-                        }
-                    }
-                    values.put(column, constant);
-                }
-                assert !randomRowValues.next();
-                return new PostgresRowValue(this, values);
+        public PostgresRowValue getRandomRowValue(PostgresGlobalState globalState) throws SQLException {
+            Map<PostgresColumn, PostgresConstant> values;
+            try {
+                values = globalState.getRowSamples().getRandomRow(globalState.getConnection(), getTables(),
+                        t -> String.format("SELECT %s FROM %s", t.getColumnsAsString(), t.getName()), (rs, columns) -> {
+                            List<PostgresConstant> row = new ArrayList<>();
+                            for (int i = 0; i < columns.size(); i++) {
+                                PostgresColumn column = columns.get(i);
+                                int columnIndex = i + 1;
+                                PostgresConstant constant;
+                                if (rs.getString(columnIndex) == null) {
+                                    constant = PostgresConstant.createNullConstant();
+                                } else {
+                                    switch (column.getType()) {
+                                    case INT:
+                                        constant = PostgresConstant.createIntConstant(rs.getLong(columnIndex));
+                                        break;
+                                    case BOOLEAN:
+                                        constant = PostgresConstant.createBooleanConstant(rs.getBoolean(columnIndex));
+                                        break;
+                                    case TEXT:
+                                        constant = PostgresConstant.createTextConstant(rs.getString(columnIndex));
+                                        break;
+                                    default:
+                                        return null;
+                                    }
+                                }
+                                row.add(constant);
+                            }
+                            return row;
+                        });
             } catch (PSQLException e) {
                 throw new IgnoreMeException();
             }
-
+            if (values == null) {
+                throw new AssertionError("could not find random row! " + tableNamesAsString() + "\n");
+            }
+            return new PostgresRowValue(this, values);
         }
 
     }
@@ -223,28 +218,14 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
     public static PostgresSchema fromConnection(SQLConnection con, String databaseName) throws SQLException {
         try {
             List<PostgresTable> databaseTables = new ArrayList<>();
+            // statistics objects are not table-specific, so they are read only once
+            List<PostgresStatisticsObject> statistics = getStatistics(con);
             try (Statement s = con.createStatement()) {
                 try (ResultSet rs = s.executeQuery(
                         "SELECT table_name, table_schema, table_type, is_insertable_into FROM information_schema.tables WHERE table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY table_name;")) {
                     while (rs.next()) {
-                        String tableName = rs.getString("table_name");
-                        String tableTypeSchema = rs.getString("table_schema");
-                        boolean isInsertable = rs.getBoolean("is_insertable_into");
-                        // TODO: also check insertable
-                        // TODO: insert into view?
-                        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
-                                                                    // tableTypeStr.contains("LOCAL TEMPORARY") &&
-                                                                    // !isInsertable;
-                        PostgresTable.TableType tableType = getTableType(tableTypeSchema);
-                        List<PostgresColumn> databaseColumns = getTableColumns(con, tableName);
-                        List<PostgresIndex> indexes = getIndexes(con, tableName);
-                        List<PostgresStatisticsObject> statistics = getStatistics(con);
-                        PostgresTable t = new PostgresTable(tableName, databaseColumns, indexes, tableType, statistics,
-                                isView, isInsertable);
-                        for (PostgresColumn c : databaseColumns) {
-                            c.setTable(t);
-                        }
-                        databaseTables.add(t);
+                        databaseTables.add(readTable(con, rs.getString("table_name"), rs.getString("table_schema"),
+                                rs.getBoolean("is_insertable_into"), statistics));
                     }
                 }
             }
@@ -254,6 +235,54 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
         }
     }
 
+    /**
+     * Reads a single table or view, without re-reading the rest of the schema.
+     *
+     * @param con
+     *            the connection to the database
+     * @param tableName
+     *            the name of the table or view
+     * @param statistics
+     *            the statistics objects of the database, which are not table-specific
+     *
+     * @return the table, or {@code null} if it does not exist
+     *
+     * @throws SQLException
+     *             if the table cannot be read
+     */
+    public static PostgresTable readTable(SQLConnection con, String tableName,
+            List<PostgresStatisticsObject> statistics) throws SQLException {
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery(String.format(
+                    "SELECT table_schema, is_insertable_into FROM information_schema.tables WHERE table_name='%s' AND (table_schema='public' OR table_schema LIKE 'pg_temp_%%');",
+                    tableName))) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return readTable(con, tableName, rs.getString("table_schema"), rs.getBoolean("is_insertable_into"),
+                        statistics);
+            }
+        }
+    }
+
+    private static PostgresTable readTable(SQLConnection con, String tableName, String tableTypeSchema,
+            boolean isInsertable, List<PostgresStatisticsObject> statistics) throws SQLException {
+        // TODO: also check insertable
+        // TODO: insert into view?
+        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
+                                                    // tableTypeStr.contains("LOCAL TEMPORARY") &&
+                                                    // !isInsertable;
+        PostgresTable.TableType tableType = getTableType(tableTypeSchema);
+        List<PostgresColumn> databaseColumns = getTableColumns(con, tableName);
+        List<PostgresIndex> indexes = getIndexes(con, tableName);
+        PostgresTable t = new PostgresTable(tableName, databaseColumns, indexes, tableType, statistics, isView,
+                isInsertable);
+        for (PostgresColumn c : databaseColumns) {
+            c.setTable(t);
+        }
+        return t;
+    }
+
     protected static List<PostgresStatisticsObject> getStatistics(SQLConnection con) throws SQLException {
         List<PostgresStatisticsObject> statistics = new ArrayList<>();
         try (Statement s = con.createStatement()) {
@@ -37,17 +37,24 @@ public final class PostgresBetweenOperation implements PostgresExpression {
 
     @Override
     public PostgresConstant getExpectedValue() {
-        PostgresBinaryComparisonOperation leftComparison = new PostgresBinaryComparisonOperation(left, expr,
+        // the operands are evaluated only once, and the comparisons are computed on their values
+        PostgresConstant exprValue = expr.getExpectedValue();
+        PostgresConstant leftValue = left.getExpectedValue();
+        PostgresConstant rightValue = right.getExpectedValue();
+        if (exprValue == null || leftValue == null || rightValue == null) {
+            return null;
+        }
+        PostgresBinaryComparisonOperation leftComparison = new PostgresBinaryComparisonOperation(leftValue, exprValue,
                 PostgresBinaryComparisonOperator.LESS_EQUALS);
-        PostgresBinaryComparisonOperation rightComparison = new PostgresBinaryComparisonOperation(expr, right,
+        PostgresBinaryComparisonOperation rightComparison = new PostgresBinaryComparisonOperation(exprValue, rightValue,
                 PostgresBinaryComparisonOperator.LESS_EQUALS);
         PostgresBinaryLogicalOperation andOperation = new PostgresBinaryLogicalOperation(leftComparison,
                 rightComparison, PostgresBinaryLogicalOperation.BinaryLogicalOperator.AND);
         if (isSymmetric) {
-            PostgresBinaryComparisonOperation leftComparison2 = new PostgresBinaryComparisonOperation(right, expr,
-                    PostgresBinaryComparisonOperator.LESS_EQUALS);
-            PostgresBinaryComparisonOperation rightComparison2 = new PostgresBinaryComparisonOperation(expr, left,
-                    PostgresBinaryComparisonOperator.LESS_EQUALS);
+            PostgresBinaryComparisonOperation leftComparison2 = new PostgresBinaryComparisonOperation(rightValue,
+                    exprValue, PostgresBinaryComparisonOperator.LESS_EQUALS);
+            PostgresBinaryComparisonOperation rightComparison2 = new PostgresBinaryComparisonOperation(exprValue,
+                    leftValue, PostgresBinaryComparisonOperator.LESS_EQUALS);
             PostgresBinaryLogicalOperation andOperation2 = new PostgresBinaryLogicalOperation(leftComparison2,
                     rightComparison2, PostgresBinaryLogicalOperation.BinaryLogicalOperator.AND);
             PostgresBinaryLogicalOperation orOp = new PostgresBinaryLogicalOperation(andOperation, andOperation2,
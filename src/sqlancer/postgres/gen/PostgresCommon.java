@@ -43,18 +43,22 @@ public final class PostgresCommon {
         errors.add("You might need to add explicit type casts");
         errors.add("invalid regular expression");
         errors.add("could not determine which collation to use");
+        errors.addSQLState("42P22"); // indeterminate_collation
         errors.add("invalid regular expression");
         errors.add("operator does not exist");
         errors.add("quantifier operand invalid");
         errors.add("collation mismatch");
+        errors.addSQLState("42P21"); // collation_mismatch
         errors.add("collations are not supported");
         errors.add("operator is not unique");
         errors.add("is not a valid binary digit");
         errors.add("invalid hexadecimal digit");
         errors.add("invalid hexadecimal data: odd number of digits");
         errors.add("zero raised to a negative power is undefined");
+        errors.addSQLState("2201F"); // invalid_argument_for_power_function
         errors.add("cannot convert infinity to numeric");
         errors.add("division by zero");
+        errors.addSQLState("22012"); // division_by_zero
         errors.add("invalid input syntax for type money");
         errors.add("invalid input syntax for type");
         errors.add("cannot cast type");
@@ -96,6 +100,7 @@ public final class PostgresCommon {
         errors.add("out of valid range"); // get_bit/get_byte
         errors.add("cannot take logarithm of a negative number");
         errors.add("cannot take logarithm of zero");
+        errors.addSQLState("2201E"); // invalid_argument_for_logarithm
         errors.add("requested character too large for encoding"); // chr
         errors.add("null character not permitted"); // chr
         errors.add("requested character not valid for encoding"); // chr
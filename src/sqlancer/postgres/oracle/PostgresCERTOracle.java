@@ -0,0 +1,109 @@
+package sqlancer.postgres.oracle;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import sqlancer.Randomly;
+import sqlancer.common.oracle.CERTOracleBase;
+import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.SQLancerResultSet;
+import sqlancer.postgres.PostgresGlobalState;
+import sqlancer.postgres.PostgresSchema.PostgresColumn;
+import sqlancer.postgres.PostgresSchema.PostgresDataType;
+import sqlancer.postgres.PostgresSchema.PostgresTable;
+import sqlancer.postgres.PostgresSchema.PostgresTables;
+import sqlancer.postgres.PostgresVisitor;
+import sqlancer.postgres.ast.PostgresBinaryLogicalOperation;
+import sqlancer.postgres.ast.PostgresBinaryLogicalOperation.BinaryLogicalOperator;
+import sqlancer.postgres.ast.PostgresColumnValue;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.ast.PostgresJoin;
+import sqlancer.postgres.ast.PostgresJoin.PostgresJoinType;
+import sqlancer.postgres.ast.PostgresSelect;
+import sqlancer.postgres.ast.PostgresSelect.PostgresFromTable;
+import sqlancer.postgres.gen.PostgresCommon;
+import sqlancer.postgres.gen.PostgresExpressionGenerator;
+
+public class PostgresCERTOracle extends CERTOracleBase<PostgresGlobalState> implements TestOracle {
+
+    // e.g., Hash Join (cost=60.85..1432.41 rows=2550 width=8)
+    private static final Pattern ROWS = Pattern.compile("rows=(\\d+)");
+
+    private PostgresExpressionGenerator gen;
+    private PostgresSelect select;
+
+    public PostgresCERTOracle(PostgresGlobalState globalState) {
+        super(globalState);
+        PostgresCommon.addCommonExpressionErrors(errors);
+        PostgresCommon.addCommonFetchErrors(errors);
+    }
+
+    @Override
+    protected String generateQuery() {
+        PostgresTables randomTables = state.getSchema().getRandomTableNonEmptyTables();
+        List<PostgresColumn> columns = randomTables.getColumns();
+        List<PostgresTable> tables = randomTables.getTables();
+        gen = new PostgresExpressionGenerator(state).setColumns(columns);
+        List<PostgresJoin> joinStatements = PostgresNoRECOracle.getJoinStatements(state, columns, tables);
+        select = new PostgresSelect();
+        select.setFetchColumns(Arrays.asList(new PostgresColumnValue(PostgresColumn.createDummy("*"), null)));
+        select.setFromList(
+                tables.stream().map(t -> new PostgresFromTable(t, Randomly.getBoolean())).collect(Collectors.toList()));
+        select.setJoinClauses(joinStatements);
+        if (Randomly.getBoolean()) {
+            select.setWhereClause(gen.generateExpression(PostgresDataType.BOOLEAN));
+        }
+        return PostgresVisitor.asString(select);
+    }
+
+    @Override
+    protected String generateMoreRestrictiveQuery() {
+        List<PostgresJoin> joinStatements = new ArrayList<>(select.getJoinClauses());
+        /*
+         * Turning an outer join into an inner join removes rows from its result, which, however, might result in
+         * additional null-extended rows for a subsequent RIGHT or FULL join.
+         */
+        List<PostgresJoin> outerJoins = new ArrayList<>();
+        for (int i = joinStatements.size() - 1; i >= 0; i--) {
+            PostgresJoinType type = joinStatements.get(i).getType();
+            if (type != PostgresJoinType.INNER && type != PostgresJoinType.CROSS) {
+                outerJoins.add(joinStatements.get(i));
+            }
+            if (type == PostgresJoinType.RIGHT || type == PostgresJoinType.FULL) {
+                break;
+            }
+        }
+        if (!outerJoins.isEmpty() && Randomly.getBoolean()) {
+            // an inner join only fetches the rows of the corresponding outer join for which the ON clause holds
+            PostgresJoin outerJoin = Randomly.fromList(outerJoins);
+            joinStatements.set(joinStatements.indexOf(outerJoin),
+                    new PostgresJoin(outerJoin.getTableReference(), outerJoin.getOnClause(), PostgresJoinType.INNER));
+            select.setJoinClauses(joinStatements);
+        } else {
+            PostgresExpression predicate = gen.generateExpression(PostgresDataType.BOOLEAN);
+            if (select.getWhereClause() == null) {
+                select.setWhereClause(predicate);
+            } else {
+                select.setWhereClause(new PostgresBinaryLogicalOperation(select.getWhereClause(), predicate,
+                        BinaryLogicalOperator.AND));
+            }
+        }
+        return PostgresVisitor.asString(select);
+    }
+
+    @Override
+    protected double getEstimatedRowCount(SQLancerResultSet explainResult) throws SQLException {
+        // the first line describes the root of the plan
+        if (!explainResult.next()) {
+            return Double.NaN;
+        }
+        Matcher matcher = ROWS.matcher(explainResult.getString(1));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+}
@@ -1,6 +1,5 @@
 package sqlancer.postgres.oracle;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -8,6 +7,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ComparatorHelper;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.common.oracle.NoRECBase;
@@ -60,7 +60,7 @@ public class PostgresNoRECOracle extends NoRECBase<PostgresGlobalState> implemen
         int secondCount = getUnoptimizedQueryCount(fromTables, randomWhereCondition, joinStatements);
         int firstCount = getOptimizedQueryCount(fromTables, columns, randomWhereCondition, joinStatements);
         if (firstCount == -1 || secondCount == -1) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("expected error");
         }
         if (firstCount != secondCount) {
             String queryFormatString = "-- %s;\n-- count: %d";
@@ -151,13 +151,12 @@ public class PostgresNoRECOracle extends NoRECBase<PostgresGlobalState> implemen
         int firstCount = 0;
         try (Statement stat = con.createStatement()) {
             optimizedQueryString = PostgresVisitor.asString(select);
+            state.checkQueryPlan(optimizedQueryString);
             if (options.logEachSelect()) {
                 logger.writeCurrent(optimizedQueryString);
             }
-            try (ResultSet rs = stat.executeQuery(optimizedQueryString)) {
-                while (rs.next()) {
-                    firstCount++;
-                }
+            try (SQLancerResultSet rs = new SQLancerResultSet(stat.executeQuery(optimizedQueryString))) {
+                firstCount = ComparatorHelper.countRows(rs);
             }
         } catch (SQLException e) {
             throw new IgnoreMeException();
@@ -0,0 +1,68 @@
+package sqlancer.postgres.oracle;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import sqlancer.PerformanceRewriter;
+import sqlancer.postgres.PostgresCompoundDataType;
+import sqlancer.postgres.PostgresGlobalState;
+import sqlancer.postgres.PostgresSchema.PostgresColumn;
+import sqlancer.postgres.PostgresSchema.PostgresDataType;
+import sqlancer.postgres.PostgresVisitor;
+import sqlancer.postgres.ast.PostgresCastOperation;
+import sqlancer.postgres.ast.PostgresColumnValue;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.ast.PostgresPostfixText;
+import sqlancer.postgres.oracle.tlp.PostgresTLPBase;
+
+public class PostgresPerformanceOracle extends PostgresTLPBase {
+
+    public PostgresPerformanceOracle(PostgresGlobalState state) {
+        super(state);
+    }
+
+    @Override
+    public void check() throws SQLException {
+        super.check();
+        // FOR UPDATE and similar clauses are not allowed with UNION ALL or aggregate functions
+        select.setForClause(null);
+        new PostgresPerformanceRewriter().assumeNotSlower(state, errors, predicate, negatedPredicate, isNullPredicate);
+    }
+
+    private class PostgresPerformanceRewriter extends PerformanceRewriter<PostgresExpression> {
+
+        @Override
+        protected void setWhereClause(PostgresExpression whereClause) {
+            select.setWhereClause(whereClause);
+        }
+
+        @Override
+        protected void setFetchColumn(PostgresExpression fetchColumn) {
+            select.setFetchColumns(Arrays.asList(fetchColumn));
+        }
+
+        @Override
+        protected String asString() {
+            return PostgresVisitor.asString(select);
+        }
+
+        @Override
+        protected PostgresExpression negatePredicate(PostgresExpression predicate) {
+            return gen.negatePredicate(predicate);
+        }
+
+        @Override
+        protected PostgresExpression getCountColumn() {
+            return new PostgresColumnValue(PostgresColumn.createDummy("COUNT(*)"), null);
+        }
+
+        @Override
+        protected PostgresExpression getUnoptimizedCountColumn(PostgresExpression predicate) {
+            PostgresCastOperation isTrue = new PostgresCastOperation(predicate,
+                    PostgresCompoundDataType.create(PostgresDataType.INT));
+            return new PostgresPostfixText(isTrue, " as count", null, PostgresDataType.INT);
+        }
+
+    }
+
+}
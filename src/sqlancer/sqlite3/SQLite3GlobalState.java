@@ -1,15 +1,127 @@
 package sqlancer.sqlite3;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import sqlancer.Randomly;
+import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
+import sqlancer.common.query.Query;
+import sqlancer.sqlite3.SQLite3Provider.Action;
 import sqlancer.sqlite3.schema.SQLite3Schema;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public class SQLite3GlobalState extends SQLGlobalState<SQLite3Options, SQLite3Schema> {
 
+    private static final Pattern CREATE_INDEX = Pattern
+            .compile("^CREATE( UNIQUE)? INDEX( IF NOT EXISTS)? (\\w+) ON (\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_INDEX = Pattern.compile("^DROP INDEX( IF EXISTS)? \"(\\w+)\";$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_TABLE = Pattern
+            .compile("^CREATE (TEMP |TEMPORARY )?TABLE( IF NOT EXISTS)? (\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_TABLE = Pattern.compile("^DROP TABLE( IF EXISTS)? (\\w+)$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_VIEW = Pattern.compile("^DROP VIEW (\\w+);$", Pattern.CASE_INSENSITIVE);
+
     @Override
     protected SQLite3Schema readSchema() throws SQLException {
         return SQLite3Schema.fromConnection(this);
     }
 
+    /*
+     * The rows of EXPLAIN QUERY PLAN form a tree, whose nodes describe, for example, how a table is accessed (e.g.,
+     * "SEARCH t0 USING INDEX i0 (c0>?)"). Constants are already replaced by placeholders; numbers in names are removed
+     * as well, so that accessing t0 and t1 in the same way results in the same plan.
+     */
+    @Override
+    protected String getQueryPlan(String query) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        Map<Integer, Integer> depths = new HashMap<>();
+        try (Statement s = getConnection().createStatement();
+                ResultSet rs = s.executeQuery("EXPLAIN QUERY PLAN " + query)) {
+            while (rs.next()) {
+                int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+                depths.put(rs.getInt("id"), depth);
+                sb.append(depth).append(' ').append(rs.getString("detail").replaceAll("\\d+", "")).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    protected Query<SQLConnection> getQueryPlanMutation() throws Exception {
+        return Randomly.fromOptions(Action.ANALYZE, Action.INDEX).getQuery(this);
+    }
+
+    /*
+     * Tables, indexes, and views are frequently created and dropped by the generators. Only a created table is read
+     * from the database; the effect of the other statements is derived from the statement. Dropping a table also drops
+     * its indexes and triggers, the latter of which are not part of the schema. ALTER TABLE is not handled, since
+     * SQLite rewrites the views and triggers that refer to a renamed table or column, and views that use * obtain the
+     * added columns.
+     */
+    @Override
+    protected SQLite3Schema applySchemaChange(SQLite3Schema currentSchema, Query<?> q) throws SQLException {
+        String queryString = q.getQueryString();
+        Matcher createTable = CREATE_TABLE.matcher(queryString);
+        if (createTable.find()) {
+            String tableName = createTable.group(3);
+            if (currentSchema.getDatabaseTable(tableName) != null) {
+                return null;
+            }
+            SQLite3Table table = SQLite3Schema.readTable(this, tableName, createTable.group(1) != null);
+            if (table == null) {
+                return null;
+            }
+            List<SQLite3Table> tables = new ArrayList<>(currentSchema.getDatabaseTables());
+            tables.add(table);
+            return new SQLite3Schema(tables, currentSchema.getIndexTableNames());
+        }
+        Matcher dropTable = DROP_TABLE.matcher(queryString);
+        if (dropTable.matches()) {
+            SQLite3Table table = currentSchema.getDatabaseTable(dropTable.group(2));
+            if (table == null || table.isView()) {
+                return null;
+            }
+            List<SQLite3Table> tables = currentSchema.getDatabaseTables().stream().filter(t -> t != table)
+                    .collect(Collectors.toList());
+            Map<String, String> indexTableNames = new LinkedHashMap<>(currentSchema.getIndexTableNames());
+            indexTableNames.values().removeIf(t -> t.equalsIgnoreCase(table.getName()));
+            return new SQLite3Schema(tables, indexTableNames);
+        }
+        Matcher createIndex = CREATE_INDEX.matcher(queryString);
+        if (createIndex.find()) {
+            Map<String, String> indexTableNames = new LinkedHashMap<>(currentSchema.getIndexTableNames());
+            indexTableNames.putIfAbsent(createIndex.group(3), createIndex.group(4));
+            return new SQLite3Schema(currentSchema.getDatabaseTables(), indexTableNames);
+        }
+        Matcher dropIndex = DROP_INDEX.matcher(queryString);
+        if (dropIndex.matches()) {
+            Map<String, String> indexTableNames = new LinkedHashMap<>(currentSchema.getIndexTableNames());
+            indexTableNames.remove(dropIndex.group(2));
+            return new SQLite3Schema(currentSchema.getDatabaseTables(), indexTableNames);
+        }
+        Matcher dropView = DROP_VIEW.matcher(queryString);
+        if (dropView.matches()) {
+            String viewName = dropView.group(1);
+            SQLite3Table view = currentSchema.getDatabaseTable(viewName);
+            if (view == null || !view.isView()) {
+                return null;
+            }
+            List<SQLite3Table> tables = currentSchema.getDatabaseTables().stream().filter(t -> t != view)
+                    .collect(Collectors.toList());
+            return new SQLite3Schema(tables, currentSchema.getIndexTableNames());
+        }
+        return null;
+    }
+
 }
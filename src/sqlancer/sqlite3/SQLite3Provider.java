@@ -1,8 +1,12 @@
 package sqlancer.sqlite3;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -18,6 +22,7 @@ import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.sqlite3.SQLite3Options.SQLite3OracleFactory;
@@ -46,8 +51,8 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 @AutoService(DatabaseProvider.class)
 public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLite3Options> {
 
-    public static boolean allowFloatingPointFp = true;
-    public static boolean mustKnowResult;
+    public static volatile boolean allowFloatingPointFp = true;
+    public static volatile boolean mustKnowResult;
 
     // PRAGMAS to achieve good performance
     private static final List<String> DEFAULT_PRAGMAS = Arrays.asList("PRAGMA cache_size = 50000;",
@@ -275,11 +280,7 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
 
     @Override
     public SQLConnection createDatabase(SQLite3GlobalState globalState) throws SQLException {
-        File dir = new File("." + File.separator + "databases");
-        if (!dir.exists()) {
-            dir.mkdir();
-        }
-        File dataBase = new File(dir, globalState.getDatabaseName() + ".db");
+        File dataBase = getDatabaseFile(globalState.getDatabaseName());
         if (dataBase.exists() && ((SQLite3GlobalState) globalState).getDbmsSpecificOptions().deleteIfExists) {
             dataBase.delete();
         }
@@ -287,6 +288,73 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
         return new SQLConnection(DriverManager.getConnection(url));
     }
 
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    @Override
+    public boolean createSnapshot(SQLite3GlobalState globalState) throws SQLException {
+        try (Statement s = globalState.getConnection().createStatement()) {
+            // temporary tables and views are not stored in the database file
+            try (ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM sqlite_temp_master")) {
+                if (!rs.next() || rs.getInt(1) != 0) {
+                    return false;
+                }
+            }
+            File snapshot = getDatabaseFile(globalState.getDatabaseName() + "-snapshot");
+            if (snapshot.exists()) {
+                snapshot.delete();
+            }
+            s.executeUpdate(String.format("backup to \"%s\"", snapshot.getAbsolutePath()));
+        }
+        return true;
+    }
+
+    @Override
+    public SQLConnection createDatabaseFromSnapshot(SQLite3GlobalState globalState) throws Exception {
+        File snapshot = getDatabaseFile(globalState.getDatabaseName() + "-snapshot");
+        File dataBase = getDatabaseFile(globalState.getDatabaseName());
+        if (globalState.getDatabaseSnapshot().isLastClone()) {
+            Files.move(snapshot.toPath(), dataBase.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.copy(snapshot.toPath(), dataBase.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        String url = "jdbc:sqlite:" + dataBase.getAbsolutePath();
+        return new SQLConnection(DriverManager.getConnection(url));
+    }
+
+    /*
+     * The last clone moves the snapshot file, so the file only remains if fewer databases were cloned.
+     */
+    @Override
+    public void dropSnapshot(SQLite3GlobalState globalState) {
+        getDatabaseFile(globalState.getDatabaseName() + "-snapshot").delete();
+    }
+
+    @Override
+    protected void prepareClonedDatabase(SQLite3GlobalState globalState) throws SQLException {
+        globalState.setRandomly(new Randomly(SQLite3SpecialStringGenerator::generate));
+        // most PRAGMAs only affect the current connection, so they need to be re-applied to the cloned database
+        for (Query<?> q : globalState.getDatabaseSnapshot().getStatements()) {
+            if (q.getQueryString().startsWith("PRAGMA")) {
+                try (Statement s = globalState.getConnection().createStatement()) {
+                    s.execute(q.getQueryString());
+                } catch (SQLException e) {
+                    // the PRAGMA might also have failed when generating the database
+                }
+            }
+        }
+    }
+
+    private static File getDatabaseFile(String databaseName) {
+        File dir = new File("." + File.separator + "databases");
+        if (!dir.exists()) {
+            dir.mkdir();
+        }
+        return new File(dir, databaseName + ".db");
+    }
+
     @Override
     public String getDBMSName() {
         return "sqlite3";
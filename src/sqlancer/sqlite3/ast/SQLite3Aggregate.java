@@ -123,7 +123,7 @@ public class SQLite3Aggregate extends SQLite3Expression {
     }
 
     @Override
-    public SQLite3Constant getExpectedValue() {
+    protected SQLite3Constant computeExpectedValue() {
         assert !SQLite3Provider.mustKnowResult;
         return null;
         // return func.apply(expr.getExpectedValue());
@@ -68,7 +68,7 @@ public abstract class SQLite3Case extends SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             for (CasePair c : pairs) {
                 SQLite3Constant expectedValue = c.getCond().getExpectedValue();
                 if (expectedValue == null) {
@@ -111,7 +111,7 @@ public abstract class SQLite3Case extends SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             SQLite3Constant baseExprValue = baseExpr.getExpectedValue();
             if (baseExprValue == null) {
                 return null;
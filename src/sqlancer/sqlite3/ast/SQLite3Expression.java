@@ -20,6 +20,10 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public abstract class SQLite3Expression {
 
+    // the expected value only depends on the pivot row, which does not change after an expression has been created
+    private SQLite3Constant expectedValue;
+    private boolean isExpectedValueComputed;
+
     public static class SQLite3TableReference extends SQLite3Expression {
 
         private final String indexedBy;
@@ -64,7 +68,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return expr.getExpectedValue();
         }
 
@@ -80,7 +84,22 @@ public abstract class SQLite3Expression {
 
     }
 
-    public SQLite3Constant getExpectedValue() {
+    /**
+     * Returns the value that the expression evaluates to for the pivot row, or null if it cannot be determined. The
+     * value is computed only once, so that evaluating the operands of a node repeatedly does not result in an
+     * exponential number of computations.
+     *
+     * @return the expected value
+     */
+    public final SQLite3Constant getExpectedValue() {
+        if (!isExpectedValueComputed) {
+            expectedValue = computeExpectedValue();
+            isExpectedValueComputed = true;
+        }
+        return expectedValue;
+    }
+
+    protected SQLite3Constant computeExpectedValue() {
         return null;
     }
 
@@ -277,7 +296,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             if (expression.getExpectedValue() == null) {
                 return null;
             } else {
@@ -366,7 +385,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return getTopNode().getExpectedValue();
         }
 
@@ -475,7 +494,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return expression.getExpectedValue();
         }
 
@@ -587,7 +606,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             if (expression.getExpectedValue() == null) {
                 return null;
             }
@@ -651,7 +670,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             // TODO query as right hand side is not implemented
             if (left.getExpectedValue() == null) {
                 return null;
@@ -746,7 +765,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             SQLite3Constant leftExpected = left.getExpectedValue();
             SQLite3Constant rightExpected = right.getExpectedValue();
             if (leftExpected == null || rightExpected == null) {
@@ -1344,7 +1363,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             if (left.getExpectedValue() == null || right.getExpectedValue() == null) {
                 return null;
             }
@@ -1383,7 +1402,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return value;
         }
 
@@ -1489,7 +1508,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return expectedValue;
         }
 
@@ -1525,7 +1544,7 @@ public abstract class SQLite3Expression {
         }
 
         @Override
-        public SQLite3Constant getExpectedValue() {
+        protected SQLite3Constant computeExpectedValue() {
             return expectedValue;
         }
 
@@ -130,7 +130,7 @@ public class SQLite3UnaryOperation extends SQLite3Expression implements UnaryOpe
     }
 
     @Override
-    public SQLite3Constant getExpectedValue() {
+    protected SQLite3Constant computeExpectedValue() {
         if (expression.getExpectedValue() == null) {
             return null;
         } else {
@@ -126,7 +126,7 @@ public class SQLite3WindowFunction extends SQLite3Expression {
     }
 
     @Override
-    public SQLite3Constant getExpectedValue() {
+    protected SQLite3Constant computeExpectedValue() {
         if (!SQLite3Provider.mustKnowResult) {
             return null;
         }
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import sqlancer.ComparatorHelper;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.common.oracle.NoRECBase;
@@ -65,7 +66,7 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
         int optimizedCount = getOptimizedQuery(select, randomWhereCondition);
         int unoptimizedCount = getUnoptimizedQuery(select, randomWhereCondition);
         if (optimizedCount == NO_VALID_RESULT || unoptimizedCount == NO_VALID_RESULT) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("expected error");
         }
         if (optimizedCount != unoptimizedCount) {
             state.getState().getLocalState().log(optimizedQueryString + ";\n" + unoptimizedQueryString + ";");
@@ -102,6 +103,7 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
         }
         select.setWhereClause(randomWhereCondition);
         optimizedQueryString = SQLite3Visitor.asString(select);
+        state.checkQueryPlan(optimizedQueryString);
         if (options.logEachSelect()) {
             logger.writeCurrent(optimizedQueryString);
         }
@@ -116,9 +118,7 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
                 return NO_VALID_RESULT;
             } else {
                 try {
-                    while (rs.next()) {
-                        count++;
-                    }
+                    count = ComparatorHelper.countRows(rs);
                 } catch (SQLException e) {
                     count = NO_VALID_RESULT;
                 }
@@ -139,9 +139,7 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
                 return NO_VALID_RESULT;
             } else {
                 try {
-                    while (rs.next()) {
-                        count += rs.getInt(1);
-                    }
+                    count = (int) ComparatorHelper.sumFirstColumn(rs);
                 } catch (SQLException e) {
                     count = NO_VALID_RESULT;
                 }
@@ -1,7 +1,6 @@
 package sqlancer.sqlite3.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.ComparatorHelper;
@@ -18,11 +17,12 @@ public class SQLite3TLPWhereOracle extends SQLite3TLPBase {
     @Override
     public void check() throws SQLException {
         super.check();
+        // unlike the one of the original query, the plan of the partitioning queries depends on the predicate
+        select.setWhereClause(predicate);
+        state.checkQueryPlan(SQLite3Visitor.asString(select));
         select.setWhereClause(null);
         String originalQueryString = SQLite3Visitor.asString(select);
 
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
-
         boolean orderBy = Randomly.getBooleanWithSmallProbability();
         if (orderBy) {
             select.setOrderByExpressions(gen.generateOrderBys());
@@ -33,11 +33,9 @@ public class SQLite3TLPWhereOracle extends SQLite3TLPBase {
         String secondQueryString = SQLite3Visitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = SQLite3Visitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, !orderBy);
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 
 }
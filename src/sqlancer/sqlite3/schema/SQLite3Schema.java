@@ -6,7 +6,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,11 +34,21 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
     public static final List<String> ROWID_STRINGS = Collections
             .unmodifiableList(Arrays.asList("rowid", "_rowid_", "oid"));
     private final List<String> indexNames;
+    private final Map<String, String> indexTableNames;
 
     public List<String> getIndexNames() {
         return indexNames;
     }
 
+    /**
+     * Maps the name of each index to the name of the table on which it was created.
+     *
+     * @return the names of the indexes and their tables
+     */
+    public Map<String, String> getIndexTableNames() {
+        return indexTableNames;
+    }
+
     public String getRandomIndexOrBailout() {
         if (indexNames.isEmpty()) {
             throw new IgnoreMeException();
@@ -155,36 +165,33 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
             super(tables);
         }
 
-        public SQLite3RowValue getRandomRowValue(SQLConnection con) throws SQLException {
-            String randomRow = String.format("SELECT %s, %s FROM %s ORDER BY RANDOM() LIMIT 1", columnNamesAsString(
-                    c -> c.getTable().getName() + "." + c.getName() + " AS " + c.getTable().getName() + c.getName()),
-                    columnNamesAsString(c -> "typeof(" + c.getTable().getName() + "." + c.getName() + ")"),
-                    tableNamesAsString());
-            Map<SQLite3Column, SQLite3Constant> values = new HashMap<>();
-            try (Statement s = con.createStatement()) {
-                ResultSet randomRowValues;
-                try {
-                    randomRowValues = s.executeQuery(randomRow);
-                } catch (SQLException e) {
-                    throw new IgnoreMeException();
-                }
-                if (!randomRowValues.next()) {
-                    throw new IgnoreMeException();
-                    // throw new AssertionError("could not find random row! " + randomRow);
-                }
-                for (int i = 0; i < getColumns().size(); i++) {
-                    SQLite3Column column = getColumns().get(i);
-                    int columnIndex = randomRowValues.findColumn(column.getTable().getName() + column.getName());
-                    assert columnIndex == i + 1;
-                    String typeString = randomRowValues.getString(columnIndex + getColumns().size());
-                    SQLite3DataType valueType = getColumnType(typeString);
-                    SQLite3Constant constant = getConstant(randomRowValues, columnIndex, valueType);
-                    values.put(column, constant);
-                }
-                assert !randomRowValues.next();
-                return new SQLite3RowValue(this, values);
+        public SQLite3RowValue getRandomRowValue(SQLite3GlobalState globalState) throws SQLException {
+            Map<SQLite3Column, SQLite3Constant> values;
+            try {
+                values = globalState.getRowSamples().getRandomRow(globalState.getConnection(), getTables(),
+                        t -> String.format(
+                                "SELECT %s, %s FROM %s", t.getColumnsAsString(), t.getColumns().stream()
+                                        .map(c -> "typeof(" + c.getName() + ")").collect(Collectors.joining(", ")),
+                                t.getName()),
+                        (rs, columns) -> {
+                            List<SQLite3Constant> row = new ArrayList<>();
+                            try {
+                                for (int i = 0; i < columns.size(); i++) {
+                                    SQLite3DataType valueType = getColumnType(rs.getString(i + 1 + columns.size()));
+                                    row.add(getConstant(rs, i + 1, valueType));
+                                }
+                            } catch (IgnoreMeException e) {
+                                return null;
+                            }
+                            return row;
+                        });
+            } catch (SQLException e) {
+                throw new IgnoreMeException();
             }
-
+            if (values == null) {
+                throw new IgnoreMeException();
+            }
+            return new SQLite3RowValue(this, values);
         }
 
     }
@@ -253,9 +260,10 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
 
     }
 
-    public SQLite3Schema(List<SQLite3Table> databaseTables, List<String> indexNames) {
+    public SQLite3Schema(List<SQLite3Table> databaseTables, Map<String, String> indexTableNames) {
         super(databaseTables);
-        this.indexNames = indexNames;
+        this.indexTableNames = Collections.unmodifiableMap(indexTableNames);
+        this.indexNames = Collections.unmodifiableList(new ArrayList<>(indexTableNames.keySet()));
     }
 
     @Override
@@ -270,7 +278,7 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
 
     public static SQLite3Schema fromConnection(SQLite3GlobalState globalState) throws SQLException {
         List<SQLite3Table> databaseTables = new ArrayList<>();
-        List<String> indexNames = new ArrayList<>();
+        Map<String, String> indexTableNames = new LinkedHashMap<>();
         SQLConnection con = globalState.getConnection();
 
         try (Statement s = con.createStatement()) {
@@ -278,57 +286,25 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
                     + "SELECT name, 'temp_table' as category, sql FROM sqlite_temp_master WHERE type='table' UNION SELECT name, 'view' as category, sql FROM sqlite_temp_master WHERE type='view' GROUP BY name;")) {
                 while (rs.next()) {
                     String tableName = rs.getString("name");
-                    String tableType = rs.getString("category");
-                    boolean isReadOnly;
                     if (databaseTables.stream().anyMatch(t -> t.getName().contentEquals(tableName))) {
                         continue;
                     }
-                    String sqlString = rs.getString("sql") == null ? "" : rs.getString("sql").toLowerCase();
-                    if (tableName.startsWith("sqlite_") || tableType.equals("index") || tableType.equals("trigger")
-                            || tableName.endsWith("_idx") || tableName.endsWith("_docsize")
-                            || tableName.endsWith("_content") || tableName.endsWith("_data")
-                            || tableName.endsWith("_config") || tableName.endsWith("_segdir")
-                            || tableName.endsWith("_stat") || tableName.endsWith("_segments")
-                            || tableName.contains("_")) {
-                        continue; // TODO
-                    } else if (sqlString.contains("using dbstat")) {
-                        isReadOnly = true;
-                    } else if (sqlString.contains("content=''")) {
-                        isReadOnly = true;
-                    } else {
-                        isReadOnly = false;
-                    }
-                    boolean withoutRowid = sqlString.contains("without rowid");
-                    boolean isView = tableType.contentEquals("view");
-                    boolean isVirtual = sqlString.contains("virtual");
-                    boolean isDbStatsTable = sqlString.contains("using dbstat");
-                    List<SQLite3Column> databaseColumns = getTableColumns(con, tableName, sqlString, isView,
-                            isDbStatsTable);
-                    SQLite3Table t = new SQLite3Table(tableName, databaseColumns,
-                            tableType.contentEquals("temp_table") ? TableKind.TEMP : TableKind.MAIN, withoutRowid,
-                            isView, isVirtual, isReadOnly);
-                    if (isRowIdTable(withoutRowid, isView, isVirtual)) {
-                        String rowId = Randomly.fromList(ROWID_STRINGS);
-                        SQLite3Column rowid = new SQLite3Column(rowId, SQLite3DataType.INT, true, null, true);
-                        t.addRowid(rowid);
-                        rowid.setTable(t);
+                    SQLite3Table t = readTable(con, tableName, rs.getString("category"), rs.getString("sql"));
+                    if (t != null) {
+                        databaseTables.add(t);
                     }
-                    for (SQLite3Column c : databaseColumns) {
-                        c.setTable(t);
-                    }
-                    databaseTables.add(t);
                 }
             } catch (SQLException e) {
                 // ignore
             }
             try (ResultSet rs = s.executeQuery(
-                    "SELECT name FROM SQLite_master WHERE type = 'index' UNION SELECT name FROM sqlite_temp_master WHERE type='index'")) {
+                    "SELECT name, tbl_name FROM SQLite_master WHERE type = 'index' UNION SELECT name, tbl_name FROM sqlite_temp_master WHERE type='index'")) {
                 while (rs.next()) {
                     String name = rs.getString(1);
                     if (name.contains("_autoindex")) {
                         continue;
                     }
-                    indexNames.add(name);
+                    indexTableNames.put(name, rs.getString(2));
                 }
             } catch (SQLException e) {
                 if (!e.getMessage().contains("The database file is locked")) {
@@ -337,7 +313,71 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
             }
         }
 
-        return new SQLite3Schema(databaseTables, indexNames);
+        return new SQLite3Schema(databaseTables, indexTableNames);
+    }
+
+    /**
+     * Reads a single table that has just been created, without re-reading the rest of the schema.
+     *
+     * @param globalState
+     *            the global state providing the connection
+     * @param tableName
+     *            the name of the table
+     * @param temporary
+     *            whether the table was created as a temporary table
+     *
+     * @return the table, or {@code null} if it does not exist or is not considered by SQLancer
+     *
+     * @throws SQLException
+     *             if the table cannot be read
+     */
+    public static SQLite3Table readTable(SQLite3GlobalState globalState, String tableName, boolean temporary)
+            throws SQLException {
+        SQLConnection con = globalState.getConnection();
+        String query = String.format("SELECT sql FROM %s WHERE type='table' AND name='%s'",
+                temporary ? "sqlite_temp_master" : "sqlite_master", tableName);
+        try (Statement s = con.createStatement(); ResultSet rs = s.executeQuery(query)) {
+            if (!rs.next()) {
+                return null;
+            }
+            return readTable(con, tableName, temporary ? "temp_table" : "table", rs.getString("sql"));
+        }
+    }
+
+    private static SQLite3Table readTable(SQLConnection con, String tableName, String tableType, String sql)
+            throws SQLException {
+        boolean isReadOnly;
+        String sqlString = sql == null ? "" : sql.toLowerCase();
+        if (tableName.startsWith("sqlite_") || tableType.equals("index") || tableType.equals("trigger")
+                || tableName.endsWith("_idx") || tableName.endsWith("_docsize") || tableName.endsWith("_content")
+                || tableName.endsWith("_data") || tableName.endsWith("_config") || tableName.endsWith("_segdir")
+                || tableName.endsWith("_stat") || tableName.endsWith("_segments") || tableName.contains("_")) {
+            return null; // TODO
+        } else if (sqlString.contains("using dbstat")) {
+            isReadOnly = true;
+        } else if (sqlString.contains("content=''")) {
+            isReadOnly = true;
+        } else {
+            isReadOnly = false;
+        }
+        boolean withoutRowid = sqlString.contains("without rowid");
+        boolean isView = tableType.contentEquals("view");
+        boolean isVirtual = sqlString.contains("virtual");
+        boolean isDbStatsTable = sqlString.contains("using dbstat");
+        List<SQLite3Column> databaseColumns = getTableColumns(con, tableName, sqlString, isView, isDbStatsTable);
+        SQLite3Table t = new SQLite3Table(tableName, databaseColumns,
+                tableType.contentEquals("temp_table") ? TableKind.TEMP : TableKind.MAIN, withoutRowid, isView,
+                isVirtual, isReadOnly);
+        if (isRowIdTable(withoutRowid, isView, isVirtual)) {
+            String rowId = Randomly.fromList(ROWID_STRINGS);
+            SQLite3Column rowid = new SQLite3Column(rowId, SQLite3DataType.INT, true, null, true);
+            t.addRowid(rowid);
+            rowid.setTable(t);
+        }
+        for (SQLite3Column c : databaseColumns) {
+            c.setTable(t);
+        }
+        return t;
     }
 
     // https://www.sqlite.org/rowidtable.html
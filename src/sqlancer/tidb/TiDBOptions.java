@@ -14,6 +14,8 @@ import sqlancer.common.oracle.CompositeTestOracle;
 import sqlancer.common.oracle.TestOracle;
 import sqlancer.tidb.TiDBOptions.TiDBOracleFactory;
 import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
+import sqlancer.tidb.oracle.TiDBCERTOracle;
+import sqlancer.tidb.oracle.TiDBPerformanceOracle;
 import sqlancer.tidb.oracle.TiDBTLPHavingOracle;
 import sqlancer.tidb.oracle.TiDBTLPWhereOracle;
 
@@ -39,6 +41,18 @@ public class TiDBOptions implements DBMSSpecificOptions<TiDBOracleFactory> {
                 return new TiDBTLPWhereOracle(globalState);
             }
         },
+        CERT {
+            @Override
+            public TestOracle create(TiDBGlobalState globalState) throws SQLException {
+                return new TiDBCERTOracle(globalState);
+            }
+        },
+        PERFORMANCE {
+            @Override
+            public TestOracle create(TiDBGlobalState globalState) throws SQLException {
+                return new TiDBPerformanceOracle(globalState);
+            }
+        },
         QUERY_PARTITIONING {
             @Override
             public TestOracle create(TiDBGlobalState globalState) throws SQLException {
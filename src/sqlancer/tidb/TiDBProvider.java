@@ -2,12 +2,14 @@ package sqlancer.tidb;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
 import com.google.auto.service.AutoService;
 
 import sqlancer.AbstractAction;
+import sqlancer.ConnectionPool;
 import sqlancer.DatabaseProvider;
 import sqlancer.IgnoreMeException;
 import sqlancer.MainOptions;
@@ -17,6 +19,7 @@ import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
@@ -78,6 +81,30 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
             return TiDBSchema.fromConnection(getConnection(), getDatabaseName());
         }
 
+        @Override
+        protected boolean supportsStatementBatches() {
+            return true;
+        }
+
+        // the operators, tasks, and accessed objects, but not the estimated row counts and operator information
+        @Override
+        protected String getQueryPlan(String query) throws SQLException {
+            StringBuilder sb = new StringBuilder();
+            try (Statement s = getConnection().createStatement();
+                    ResultSet rs = s.executeQuery("EXPLAIN FORMAT='brief' " + query)) {
+                while (rs.next()) {
+                    sb.append(rs.getString("id")).append(' ').append(rs.getString("task")).append(' ')
+                            .append(rs.getString("access object").replaceAll("\\d+", "")).append('\n');
+                }
+            }
+            return sb.toString();
+        }
+
+        @Override
+        protected Query<SQLConnection> getQueryPlanMutation() throws Exception {
+            return Randomly.fromOptions(Action.ANALYZE_TABLE, Action.CREATE_INDEX).getQuery(this);
+        }
+
     }
 
     private static int mapActions(TiDBGlobalState globalState, Action a) {
@@ -148,8 +175,12 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
 
         String databaseName = globalState.getDatabaseName();
         String url = String.format("jdbc:mysql://%s:%d/", host, port);
-        Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
-                globalState.getOptions().getPassword());
+        // a batch stops at the first failing statement, so that the following statements can be executed individually
+        String parameters = "?rewriteBatchedStatements=true&continueBatchOnError=false";
+        Connection con = ConnectionPool.getConnection(url + parameters,
+                () -> DriverManager.getConnection(url + parameters, globalState.getOptions().getUserName(),
+                        globalState.getOptions().getPassword()),
+                null);
         globalState.getState().logStatement("USE test");
         globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
         String createDatabaseCommand = "CREATE DATABASE " + databaseName;
@@ -161,8 +192,7 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
         try (Statement s = con.createStatement()) {
             s.execute(createDatabaseCommand);
         }
-        con.close();
-        con = DriverManager.getConnection(url + databaseName, globalState.getOptions().getUserName(),
+        con = DriverManager.getConnection(url + databaseName + parameters, globalState.getOptions().getUserName(),
                 globalState.getOptions().getPassword());
         return new SQLConnection(con);
     }
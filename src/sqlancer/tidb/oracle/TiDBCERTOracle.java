@@ -0,0 +1,92 @@
+package sqlancer.tidb.oracle;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import sqlancer.Randomly;
+import sqlancer.common.oracle.CERTOracleBase;
+import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.SQLancerResultSet;
+import sqlancer.tidb.TiDBErrors;
+import sqlancer.tidb.TiDBExpressionGenerator;
+import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
+import sqlancer.tidb.TiDBSchema.TiDBTables;
+import sqlancer.tidb.ast.TiDBBinaryLogicalOperation;
+import sqlancer.tidb.ast.TiDBBinaryLogicalOperation.TiDBBinaryLogicalOperator;
+import sqlancer.tidb.ast.TiDBColumnReference;
+import sqlancer.tidb.ast.TiDBExpression;
+import sqlancer.tidb.ast.TiDBJoin;
+import sqlancer.tidb.ast.TiDBJoin.JoinType;
+import sqlancer.tidb.ast.TiDBSelect;
+import sqlancer.tidb.ast.TiDBTableReference;
+import sqlancer.tidb.visitor.TiDBVisitor;
+
+public class TiDBCERTOracle extends CERTOracleBase<TiDBGlobalState> implements TestOracle {
+
+    private TiDBExpressionGenerator gen;
+    private TiDBSelect select;
+
+    public TiDBCERTOracle(TiDBGlobalState globalState) {
+        super(globalState);
+        TiDBErrors.addExpressionErrors(errors);
+    }
+
+    @Override
+    protected String generateQuery() {
+        TiDBTables targetTables = state.getSchema().getRandomTableNonEmptyTables();
+        gen = new TiDBExpressionGenerator(state).setColumns(targetTables.getColumns());
+        List<TiDBExpression> tableList = targetTables.getTables().stream().map(t -> new TiDBTableReference(t))
+                .collect(Collectors.toList());
+        List<TiDBExpression> joins = TiDBJoin.getJoins(tableList, state);
+        select = new TiDBSelect();
+        select.setFetchColumns(Arrays.asList(new TiDBColumnReference(targetTables.getColumns().get(0))));
+        select.setFromList(tableList);
+        select.setJoinList(joins);
+        if (Randomly.getBoolean()) {
+            select.setWhereClause(gen.generateExpression());
+        }
+        return TiDBVisitor.asString(select);
+    }
+
+    @Override
+    protected String generateMoreRestrictiveQuery() {
+        List<TiDBExpression> joins = new ArrayList<>(select.getJoinList());
+        List<TiDBJoin> outerJoins = joins.stream().map(j -> (TiDBJoin) j)
+                .filter(j -> j.getJoinType() == JoinType.LEFT || j.getJoinType() == JoinType.RIGHT)
+                .collect(Collectors.toList());
+        if (!outerJoins.isEmpty() && Randomly.getBoolean()) {
+            // an inner join only fetches the rows of the corresponding outer join for which the ON clause holds
+            TiDBJoin outerJoin = Randomly.fromList(outerJoins);
+            joins.set(joins.indexOf(outerJoin), TiDBJoin.createInnerJoin(outerJoin.getLeftTable(),
+                    outerJoin.getRightTable(), outerJoin.getOnCondition()));
+            select.setJoinList(joins);
+        } else {
+            TiDBExpression predicate = gen.generateExpression();
+            if (select.getWhereClause() == null) {
+                select.setWhereClause(predicate);
+            } else {
+                select.setWhereClause(new TiDBBinaryLogicalOperation(select.getWhereClause(), predicate,
+                        TiDBBinaryLogicalOperator.AND));
+            }
+        }
+        return TiDBVisitor.asString(select);
+    }
+
+    @Override
+    protected String getExplainQuery(String query) {
+        return "EXPLAIN FORMAT='brief' " + query;
+    }
+
+    @Override
+    protected double getEstimatedRowCount(SQLancerResultSet explainResult) throws SQLException {
+        // the first row describes the root of the plan, and its second column is estRows
+        if (!explainResult.next()) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(explainResult.getString(2));
+    }
+
+}
@@ -0,0 +1,58 @@
+package sqlancer.tidb.oracle;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import sqlancer.PerformanceRewriter;
+import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
+import sqlancer.tidb.ast.TiDBExpression;
+import sqlancer.tidb.ast.TiDBText;
+import sqlancer.tidb.visitor.TiDBVisitor;
+
+public class TiDBPerformanceOracle extends TiDBTLPBase {
+
+    public TiDBPerformanceOracle(TiDBGlobalState state) {
+        super(state);
+    }
+
+    @Override
+    public void check() throws SQLException {
+        super.check();
+        new TiDBPerformanceRewriter().assumeNotSlower(state, errors, predicate, negatedPredicate, isNullPredicate);
+    }
+
+    private class TiDBPerformanceRewriter extends PerformanceRewriter<TiDBExpression> {
+
+        @Override
+        protected void setWhereClause(TiDBExpression whereClause) {
+            select.setWhereClause(whereClause);
+        }
+
+        @Override
+        protected void setFetchColumn(TiDBExpression fetchColumn) {
+            select.setFetchColumns(Arrays.asList(fetchColumn));
+        }
+
+        @Override
+        protected String asString() {
+            return TiDBVisitor.asString(select);
+        }
+
+        @Override
+        protected TiDBExpression negatePredicate(TiDBExpression predicate) {
+            return gen.negatePredicate(predicate);
+        }
+
+        @Override
+        protected TiDBExpression getCountColumn() {
+            return new TiDBText("COUNT(*)");
+        }
+
+        @Override
+        protected TiDBExpression getUnoptimizedCountColumn(TiDBExpression predicate) {
+            return new TiDBText("(" + TiDBVisitor.asString(predicate) + ") IS TRUE AS count");
+        }
+
+    }
+
+}
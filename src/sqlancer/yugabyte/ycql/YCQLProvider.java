@@ -138,7 +138,8 @@ public class YCQLProvider extends SQLProviderAdapter<YCQLGlobalState, YCQLOption
         final Connection connection = DriverManager.getConnection(
                 String.format(url, host, port, "system_schema", globalState.getDbmsSpecificOptions().datacenter));
 
-        synchronized (DDL_LOCK) {
+        DDL_LOCK.lock();
+        try {
             try (Statement stmt = connection.createStatement()) {
                 try {
                     stmt.execute("DROP KEYSPACE IF EXISTS " + globalState.getDatabaseName());
@@ -156,6 +157,8 @@ public class YCQLProvider extends SQLProviderAdapter<YCQLGlobalState, YCQLOption
 
                 stmt.execute("CREATE KEYSPACE IF NOT EXISTS " + globalState.getDatabaseName());
             }
+        } finally {
+            DDL_LOCK.unlock();
         }
 
         return new SQLConnection(DriverManager.getConnection(String.format(url, host, port,
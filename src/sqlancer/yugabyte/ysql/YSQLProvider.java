@@ -7,6 +7,9 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.google.auto.service.AutoService;
 
@@ -19,9 +22,11 @@ import sqlancer.SQLConnection;
 import sqlancer.SQLProviderAdapter;
 import sqlancer.StatementExecutor;
 import sqlancer.common.DBMSCommon;
+import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLQueryProvider;
 import sqlancer.common.query.SQLancerResultSet;
+import sqlancer.yugabyte.ysql.YSQLSchema.YSQLTable;
 import sqlancer.yugabyte.ysql.gen.YSQLAlterTableGenerator;
 import sqlancer.yugabyte.ysql.gen.YSQLAnalyzeGenerator;
 import sqlancer.yugabyte.ysql.gen.YSQLCommentGenerator;
@@ -45,11 +50,11 @@ import sqlancer.yugabyte.ysql.gen.YSQLViewGenerator;
 public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOptions> {
 
     // TODO Due to yugabyte problems with parallel DDL we need this lock object
-    public static final Object DDL_LOCK = new Object();
+    public static final Lock DDL_LOCK = new ReentrantLock();
     /**
      * Generate only data types and expressions that are understood by PQS.
      */
-    public static boolean generateOnlyKnown;
+    public static volatile boolean generateOnlyKnown;
     protected String entryURL;
     protected String username;
     protected String password;
@@ -58,6 +63,7 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
     protected int port;
     protected String testURL;
     protected String databaseName;
+    protected String entryDatabaseName;
     protected String createDatabaseCommand;
 
     public YSQLProvider() {
@@ -132,13 +138,21 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
 
     @Override
     public SQLConnection createDatabase(YSQLGlobalState globalState) throws SQLException {
+        initializeConnectionParameters(globalState);
+        createDatabaseSync(globalState, entryDatabaseName);
+        globalState.getState().logStatement(String.format("\\c %s;", databaseName));
+
+        return new SQLConnection(createConnectionSafely(testURL, username, password));
+    }
+
+    private void initializeConnectionParameters(YSQLGlobalState globalState) {
         username = globalState.getOptions().getUserName();
         password = globalState.getOptions().getPassword();
         host = globalState.getOptions().getHost();
         port = globalState.getOptions().getPort();
         entryPath = "/yugabyte";
         entryURL = globalState.getDbmsSpecificOptions().connectionURL;
-        String entryDatabaseName = entryPath.substring(1);
+        entryDatabaseName = entryPath.substring(1);
         databaseName = globalState.getDatabaseName();
 
         if (host == null) {
@@ -181,17 +195,105 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
             throw new AssertionError(e);
         }
 
-        createDatabaseSync(globalState, entryDatabaseName);
-
         int databaseIndex = entryURL.indexOf("/" + entryDatabaseName) + 1;
         String preDatabaseName = entryURL.substring(0, databaseIndex);
         String postDatabaseName = entryURL.substring(databaseIndex + entryDatabaseName.length());
         testURL = preDatabaseName + databaseName + postDatabaseName;
-        globalState.getState().logStatement(String.format("\\c %s;", databaseName));
+    }
+
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    /*
+     * YugabyteDB only accepts a database other than template0 and template1 as a template if database cloning is
+     * enabled for the cluster (see the enable_db_clone flag), so no snapshot is created if cloning fails.
+     */
+    @Override
+    public boolean createSnapshot(YSQLGlobalState globalState) throws SQLException {
+        // temporary tables only exist in the current session
+        if (globalState.getSchema().getDatabaseTables().stream()
+                .anyMatch(t -> t.getTableType() == YSQLTable.TableType.TEMPORARY)) {
+            return false;
+        }
+        // a database can only be used as a template when no other session is connected to it
+        globalState.getConnection().close();
+        boolean created;
+        DDL_LOCK.lock();
+        try (Connection con = createConnectionSafely(entryURL, username, password)) {
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + getSnapshotName());
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute(String.format("CREATE DATABASE %s TEMPLATE %s", getSnapshotName(), databaseName));
+                created = true;
+            } catch (SQLException e) {
+                created = false;
+            }
+        } finally {
+            DDL_LOCK.unlock();
+        }
+        globalState.setConnection(new SQLConnection(createConnectionSafely(testURL, username, password)));
+        restoreSessionSettings(globalState, globalState.getState().getStatements());
+        return created;
+    }
 
+    @Override
+    public SQLConnection createDatabaseFromSnapshot(YSQLGlobalState globalState) throws SQLException {
+        initializeConnectionParameters(globalState);
+        DDL_LOCK.lock();
+        try (Connection con = createConnectionSafely(entryURL, username, password)) {
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute(String.format("CREATE DATABASE %s TEMPLATE %s", databaseName, getSnapshotName()));
+            }
+        } finally {
+            DDL_LOCK.unlock();
+        }
         return new SQLConnection(createConnectionSafely(testURL, username, password));
     }
 
+    @Override
+    public void dropSnapshot(YSQLGlobalState globalState) throws SQLException {
+        DDL_LOCK.lock();
+        try (Connection con = createConnectionSafely(entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + getSnapshotName());
+        } finally {
+            DDL_LOCK.unlock();
+        }
+    }
+
+    @Override
+    protected void prepareClonedDatabase(YSQLGlobalState globalState) throws SQLException {
+        readFunctions(globalState);
+        restoreSessionSettings(globalState, globalState.getDatabaseSnapshot().getStatements());
+    }
+
+    private String getSnapshotName() {
+        return databaseName + "_snapshot";
+    }
+
+    /*
+     * Session settings (e.g., the statement_timeout set after generating the database) are not part of a template
+     * database, so the statements that changed them need to be re-executed on a new connection.
+     */
+    private void restoreSessionSettings(YSQLGlobalState globalState, List<Query<?>> statements) {
+        for (Query<?> q : statements) {
+            String queryString = q.getQueryString();
+            if (queryString.startsWith("SET") || queryString.startsWith("RESET") || queryString.startsWith("DISCARD")) {
+                try (Statement s = globalState.getConnection().createStatement()) {
+                    s.execute(queryString);
+                } catch (SQLException e) {
+                    // the statement might also have failed when generating the database
+                }
+            }
+        }
+    }
+
     @Override
     public String getDBMSName() {
         return "ysql";
@@ -199,7 +301,8 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
 
     // for some reason yugabyte unable to create few databases simultaneously
     private void createDatabaseSync(YSQLGlobalState globalState, String entryDatabaseName) throws SQLException {
-        synchronized (DDL_LOCK) {
+        DDL_LOCK.lock();
+        try {
             exceptionLessSleep(5000);
 
             Connection con = createConnectionSafely(entryURL, username, password);
@@ -214,6 +317,8 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
                 s.execute(createDatabaseCommand);
             }
             con.close();
+        } finally {
+            DDL_LOCK.unlock();
         }
     }
 
@@ -248,7 +353,8 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
     }
 
     protected void createTables(YSQLGlobalState globalState, int numTables) throws Exception {
-        synchronized (DDL_LOCK) {
+        DDL_LOCK.lock();
+        try {
             boolean prevCreationFailed = false; // small optimization - wait only after failed requests
             while (globalState.getSchema().getDatabaseTables().size() < numTables) {
                 if (!prevCreationFailed) {
@@ -265,6 +371,8 @@ public class YSQLProvider extends SQLProviderAdapter<YSQLGlobalState, YSQLOption
                     prevCreationFailed = true;
                 }
             }
+        } finally {
+            DDL_LOCK.unlock();
         }
     }
 
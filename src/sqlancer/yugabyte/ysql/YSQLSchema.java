@@ -72,6 +72,8 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
     public static YSQLSchema fromConnection(SQLConnection con, String databaseName) throws SQLException {
         try {
             List<YSQLTable> databaseTables = new ArrayList<>();
+            // statistics objects are not table-specific, so they are read only once
+            List<YSQLStatisticsObject> statistics = getStatistics(con);
             try (Statement s = con.createStatement()) {
                 try (ResultSet rs = s.executeQuery(
                         "SELECT table_name, table_schema, table_type, is_insertable_into FROM information_schema.tables WHERE table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY table_name;")) {
@@ -87,7 +89,6 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
                         YSQLTable.TableType tableType = getTableType(tableTypeSchema);
                         List<YSQLColumn> databaseColumns = getTableColumns(con, tableName);
                         List<YSQLIndex> indexes = getIndexes(con, tableName);
-                        List<YSQLStatisticsObject> statistics = getStatistics(con);
                         YSQLTable t = new YSQLTable(tableName, databaseColumns, indexes, tableType, statistics, isView,
                                 isInsertable);
                         for (YSQLColumn c : databaseColumns) {
@@ -49,7 +49,8 @@ public class YSQLCatalog implements TestOracle {
     }
 
     protected void createTables(YSQLGlobalState globalState, int numTables) throws Exception {
-        synchronized (DDL_LOCK) {
+        DDL_LOCK.lock();
+        try {
             while (globalState.getSchema().getDatabaseTables().size() < numTables) {
                 // TODO concurrent DDLs may produce a lot of noise in test logs so its disabled right now
                 // added timeout to avoid possible catalog collisions
@@ -69,6 +70,8 @@ public class YSQLCatalog implements TestOracle {
                     // do nothing
                 }
             }
+        } finally {
+            DDL_LOCK.unlock();
         }
     }
 
@@ -1,6 +1,5 @@
 package sqlancer.yugabyte.ysql.oracle;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -9,6 +8,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ComparatorHelper;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.common.oracle.NoRECBase;
@@ -82,7 +82,7 @@ public class YSQLNoRECOracle extends NoRECBase<YSQLGlobalState> implements TestO
         int secondCount = getUnoptimizedQueryCount(fromTables, randomWhereCondition, joinStatements);
         int firstCount = getOptimizedQueryCount(fromTables, columns, randomWhereCondition, joinStatements);
         if (firstCount == -1 || secondCount == -1) {
-            throw new IgnoreMeException();
+            throw new IgnoreMeException("expected error");
         }
         if (firstCount != secondCount) {
             String queryFormatString = "-- %s;\n-- count: %d";
@@ -151,10 +151,8 @@ public class YSQLNoRECOracle extends NoRECBase<YSQLGlobalState> implements TestO
             if (options.logEachSelect()) {
                 logger.writeCurrent(optimizedQueryString);
             }
-            try (ResultSet rs = stat.executeQuery(optimizedQueryString)) {
-                while (rs.next()) {
-                    firstCount++;
-                }
+            try (SQLancerResultSet rs = new SQLancerResultSet(stat.executeQuery(optimizedQueryString))) {
+                firstCount = ComparatorHelper.countRows(rs);
             }
         } catch (SQLException e) {
             throw new IgnoreMeException();
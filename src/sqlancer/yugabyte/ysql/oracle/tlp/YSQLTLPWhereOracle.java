@@ -1,7 +1,6 @@
 package sqlancer.yugabyte.ysql.oracle.tlp;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -27,7 +26,6 @@ public class YSQLTLPWhereOracle extends YSQLTLPBase {
             select.setOrderByExpressions(gen.generateOrderBy());
         }
         String originalQueryString = YSQLVisitor.asString(select);
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
 
         select.setOrderByExpressions(Collections.emptyList());
         select.setWhereClause(predicate);
@@ -36,10 +34,8 @@ public class YSQLTLPWhereOracle extends YSQLTLPBase {
         String secondQueryString = YSQLVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = YSQLVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, Randomly.getBoolean(), state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        List<String> combinedString = ComparatorHelper.getCombinedQueryStrings(firstQueryString, secondQueryString,
+                thirdQueryString, Randomly.getBoolean());
+        ComparatorHelper.assumeResultSetsAreEqual(originalQueryString, combinedString, errors, state);
     }
 }
@@ -0,0 +1,58 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestAdaptiveActionWeights {
+
+    private enum Action {
+        INSERT, ALTER, VACUUM, UNUSED
+    }
+
+    @Test
+    public void testNoObservations() {
+        AdaptiveActionWeights weights = new AdaptiveActionWeights();
+        int[] counts = { 10, 5, 3, 0 };
+        assertEquals(18, weights.reweight(Action.values(), counts));
+        assertArrayEquals(new int[] { 10, 5, 3, 0 }, counts);
+    }
+
+    @Test
+    public void testReweighting() {
+        AdaptiveActionWeights weights = new AdaptiveActionWeights();
+        for (int i = 0; i < 200; i++) {
+            weights.record(Action.INSERT, true, 1_000);
+            // mostly fails
+            weights.record(Action.ALTER, i % 10 == 0, 1_000);
+            // slow
+            weights.record(Action.VACUUM, true, 1_000_000);
+        }
+        int[] counts = { 20, 20, 20, 0 };
+        int total = weights.reweight(Action.values(), counts);
+        assertEquals(total, counts[0] + counts[1] + counts[2]);
+        assertTrue(counts[0] > 20);
+        assertTrue(counts[1] < 20 && counts[1] > counts[2]);
+        // rarely-useful actions are still performed
+        assertTrue(counts[2] >= 1);
+        assertEquals(0, counts[3]);
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        AdaptiveActionWeights weights = new AdaptiveActionWeights();
+        for (int i = 0; i < AdaptiveActionWeights.WINDOW_SIZE; i++) {
+            weights.record(Action.INSERT, false, 1_000);
+            weights.record(Action.ALTER, true, 1_000);
+        }
+        for (int i = 0; i < AdaptiveActionWeights.WINDOW_SIZE; i++) {
+            weights.record(Action.INSERT, true, 1_000);
+        }
+        int[] counts = { 10, 10, 0, 0 };
+        weights.reweight(Action.values(), counts);
+        assertArrayEquals(new int[] { 10, 10, 0, 0 }, counts);
+    }
+
+}
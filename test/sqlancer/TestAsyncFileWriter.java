@@ -0,0 +1,73 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestAsyncFileWriter {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testFlush() throws IOException {
+        File file = dir.resolve("cur.log").toFile();
+        try (Writer writer = new AsyncFileWriter(file)) {
+            writer.write("SELECT 1;\n");
+            writer.append("SELECT 2;\n");
+            writer.flush();
+            assertEquals("SELECT 1;\nSELECT 2;\n", Files.readString(file.toPath()));
+        }
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        File file = dir.resolve("cur.log").toFile();
+        StringBuilder expected = new StringBuilder();
+        Writer writer = new AsyncFileWriter(file);
+        for (int i = 0; i < 100000; i++) {
+            String statement = "INSERT INTO t0 VALUES (" + i + ");\n";
+            writer.write(statement);
+            expected.append(statement);
+        }
+        writer.close();
+        assertEquals(expected.toString(), Files.readString(file.toPath()));
+        assertThrows(IOException.class, () -> writer.write("SELECT 1;"));
+    }
+
+    @Test
+    public void testBackgroundFailure() throws IOException {
+        IOException diskFull = new IOException("No space left on device");
+        Writer writer = new AsyncFileWriter(new Writer() {
+
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                throw diskFull;
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        writer.write("SELECT 1;\n");
+        // the background thread fails to write the buffer, which is reported by the next call
+        AsyncFileWriter.drainAll();
+        IOException e = assertThrows(IOException.class, () -> writer.write("SELECT 2;\n"));
+        assertSame(diskFull, e.getCause());
+        assertThrows(IOException.class, writer::close);
+    }
+
+}
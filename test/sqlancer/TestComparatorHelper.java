@@ -1,6 +1,9 @@
 package sqlancer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
@@ -51,4 +54,42 @@ public class TestComparatorHelper {
         });
     }
 
+    @Test
+    public void testAreEqualMultisets() {
+        assertTrue(ComparatorHelper.areEqualMultisets(Arrays.asList("a", null, "b"), Arrays.asList("b", "a", null)));
+        assertTrue(ComparatorHelper.areEqualMultisets(Arrays.asList("a", "b", "a"), Arrays.asList("a", "a", "b")));
+        assertFalse(ComparatorHelper.areEqualMultisets(Arrays.asList("a", "b"), Arrays.asList("a", null)));
+        assertFalse(ComparatorHelper.areEqualMultisets(Arrays.asList("a", "a", "b"), Arrays.asList("a", "b", "b")));
+        assertFalse(ComparatorHelper.areEqualMultisets(Arrays.asList("a", "b"), Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void testAssumeResultSetsAreEqualWithDifferentMultiplicities() {
+        List<String> r1 = Arrays.asList("a", "a", "b");
+        List<String> r2 = Arrays.asList("a", "b", "b");
+        // see testAssumeResultSetsAreEqualWithUnequalValueSets
+        assertThrowsExactly(NullPointerException.class, () -> {
+            ComparatorHelper.assumeResultSetsAreEqual(r1, r2, "", Arrays.asList(""), null);
+        });
+    }
+
+    @Test
+    public void testRemoveTrailingZeros() {
+        assertEquals("1", ComparatorHelper.removeTrailingZeros("1.000"));
+        assertEquals("1.05", ComparatorHelper.removeTrailingZeros("1.05"));
+        assertEquals("100", ComparatorHelper.removeTrailingZeros("100"));
+        assertEquals("1.0a", ComparatorHelper.removeTrailingZeros("1.0a"));
+    }
+
+    @Test
+    public void testGetCombinedQueryStrings() {
+        assertEquals(Arrays.asList("q1 UNION ALL q2 UNION ALL q3"),
+                ComparatorHelper.getCombinedQueryStrings("q1", "q2", "q3", true));
+        assertEquals(Arrays.asList("q1", "q2", "q3"), ComparatorHelper.getCombinedQueryStrings("q1", "q2", "q3", false));
+        assertEquals(Arrays.asList("q1 UNION q2 UNION q3"),
+                ComparatorHelper.getCombinedQueryStringsNoDuplicates("q1", "q2", "q3", true));
+        assertEquals(Arrays.asList("SELECT DISTINCT * FROM (q1 UNION ALL q2 UNION ALL q3)"),
+                ComparatorHelper.getCombinedQueryStringsNoDuplicates("q1", "q2", "q3", false));
+    }
+
 }
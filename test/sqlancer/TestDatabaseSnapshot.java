@@ -0,0 +1,56 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.query.SQLQueryAdapter;
+
+public class TestDatabaseSnapshot {
+
+    @Test
+    public void testDroppedAfterLastClone() {
+        DatabaseSnapshot snapshot = new DatabaseSnapshot(2);
+        AtomicInteger nrDrops = new AtomicInteger();
+        assertFalse(snapshot.startNextDatabase());
+        snapshot.capture(Arrays.asList(new SQLQueryAdapter("SELECT 1;")), nrDrops::incrementAndGet);
+        assertTrue(snapshot.startNextDatabase());
+        assertTrue(snapshot.startNextDatabase());
+        assertTrue(snapshot.isLastClone());
+        assertEquals(0, nrDrops.get());
+        assertFalse(snapshot.startNextDatabase());
+        assertEquals(1, nrDrops.get());
+        snapshot.release();
+        assertEquals(1, nrDrops.get());
+    }
+
+    @Test
+    public void testDroppedWhenReleasedEarly() {
+        DatabaseSnapshot snapshot = new DatabaseSnapshot(10);
+        AtomicInteger nrDrops = new AtomicInteger();
+        snapshot.startNextDatabase();
+        snapshot.capture(Arrays.asList(new SQLQueryAdapter("SELECT 1;")), nrDrops::incrementAndGet);
+        assertTrue(snapshot.startNextDatabase());
+        // e.g., the owning thread stops due to an exception
+        snapshot.release();
+        assertEquals(1, nrDrops.get());
+    }
+
+    @Test
+    public void testFailedDrop() {
+        DatabaseSnapshot snapshot = new DatabaseSnapshot(1);
+        snapshot.startNextDatabase();
+        snapshot.capture(Arrays.asList(new SQLQueryAdapter("SELECT 1;")), () -> {
+            throw new IllegalStateException("server unavailable");
+        });
+        // a failure is only reported, so that the thread can still clean up its other resources
+        snapshot.release();
+        assertFalse(snapshot.startNextDatabase());
+    }
+
+}
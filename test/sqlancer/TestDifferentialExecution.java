@@ -0,0 +1,100 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.GlobalState.BatchOutcome;
+
+public class TestDifferentialExecution {
+
+    private static SQLConnection createConnection() throws SQLException {
+        return new SQLConnection(DriverManager.getConnection("jdbc:sqlite::memory:"));
+    }
+
+    @Test
+    public void testEqualResults() throws SQLException {
+        DifferentialExecution differential = new DifferentialExecution("sqlite3", 2);
+        differential.addMirror("first", createConnection());
+        differential.addMirror("second", createConnection());
+        differential.statementExecuted("CREATE TABLE t0(c0)", true);
+        for (int i = 0; i < 10; i++) {
+            differential.statementExecuted("INSERT INTO t0(c0) VALUES (" + i % 2 + ")", true);
+        }
+        differential.queryExecuted("SELECT c0 FROM t0 WHERE c0 = 1", Arrays.asList("1", "1", "1", "1", "1"));
+        // unsupported queries are skipped
+        differential.queryExecuted("SELECT c1 FROM t0", Arrays.asList("1"));
+        differential.finish();
+    }
+
+    @Test
+    public void testMismatch() throws SQLException {
+        DifferentialExecution differential = new DifferentialExecution("sqlite3", 10);
+        differential.addMirror("mirror", createConnection());
+        differential.statementExecuted("CREATE TABLE t0(c0)", true);
+        differential.statementExecuted("INSERT INTO t0(c0) VALUES (1), (2)", true);
+        differential.queryExecuted("SELECT c0 FROM t0", Arrays.asList("1", "3"));
+        AssertionError e = assertThrows(AssertionError.class, differential::finish);
+        assertTrue(e.getMessage().contains("only in sqlite3: [3]"), e.getMessage());
+        assertTrue(e.getMessage().contains("only in mirror: [2]"), e.getMessage());
+    }
+
+    @Test
+    public void testDivergence() throws SQLException {
+        DifferentialExecution differential = new DifferentialExecution("sqlite3", 10);
+        differential.addMirror("mirror", createConnection());
+        differential.statementExecuted("CREATE TABLE t0(c0)", true);
+        differential.statementExecuted("INSERT INTO t1(c0) VALUES (1)", true);
+        // the mirror's database no longer corresponds to the one of the tested DBMS
+        differential.queryExecuted("SELECT c0 FROM t0", Arrays.asList("1"));
+        differential.finish();
+    }
+
+    @Test
+    public void testFailedStatementSucceedsOnMirror() throws SQLException {
+        DifferentialExecution differential = new DifferentialExecution("sqlite3", 10);
+        differential.addMirror("mirror", createConnection());
+        differential.statementExecuted("CREATE TABLE t0(c0)", true);
+        // the statement failed on the DBMS under test, so the mirror has a row that the DBMS under test does not have
+        differential.statementExecuted("INSERT INTO t0 VALUES (1)", false);
+        differential.queryExecuted("SELECT c0 FROM t0", Arrays.asList());
+        differential.finish();
+    }
+
+    @Test
+    public void testFailedStatementInTransaction() throws SQLException {
+        DifferentialExecution differential = new DifferentialExecution("sqlite3", 10);
+        differential.addMirror("mirror", createConnection());
+        differential.statementExecuted("CREATE TABLE t0(c0)", true);
+        differential.statementExecuted("BEGIN", true);
+        differential.statementExecuted("INSERT INTO t0 VALUES (1)", true);
+        // e.g., PostgreSQL aborts the transaction, so that the COMMIT rolls back the INSERT
+        differential.statementExecuted("INSERT INTO t1 VALUES (1)", false);
+        differential.statementExecuted("COMMIT", true);
+        differential.queryExecuted("SELECT c0 FROM t0", Arrays.asList());
+        differential.finish();
+    }
+
+    @Test
+    public void testBatchOutcomes() throws SQLException {
+        DifferentialExecution differential = new DifferentialExecution("sqlite3", 10);
+        differential.addMirror("mirror", createConnection());
+        differential.statementExecuted("CREATE TABLE t0(c0)", true);
+        differential.statementExecuted("INSERT INTO t0 VALUES (1)", BatchOutcome.EXECUTED);
+        // the statement is executed again individually
+        differential.statementExecuted("INSERT INTO t0 VALUES (2)", BatchOutcome.NOT_EXECUTED);
+        differential.queryExecuted("SELECT c0 FROM t0", Arrays.asList("1"));
+        differential.statementExecuted("BEGIN", true);
+        // the failed batch might have aborted the transaction
+        differential.statementExecuted("INSERT INTO t0 VALUES (3)", BatchOutcome.NOT_EXECUTED);
+        differential.statementExecuted("COMMIT", true);
+        differential.queryExecuted("SELECT c0 FROM t0", Arrays.asList());
+        differential.finish();
+    }
+
+}
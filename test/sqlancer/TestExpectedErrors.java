@@ -3,6 +3,8 @@ package sqlancer;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.sql.SQLException;
+
 import org.junit.jupiter.api.Test;
 
 import sqlancer.common.query.ExpectedErrors;
@@ -29,6 +31,17 @@ public class TestExpectedErrors {
         assertFalse(errors.errorIsExpected("d"));
     }
 
+    @Test
+    public void testManyDistinctErrorSets() {
+        // more sets than are cached, so that the later ones are matched without a shared matcher
+        for (int i = 0; i < 1500; i++) {
+            ExpectedErrors errors = ExpectedErrors.from("error " + i, "other error " + i);
+            assertTrue(errors.errorIsExpected("an error " + i + "!"));
+            assertTrue(errors.errorIsExpected("other error " + i));
+            assertFalse(errors.errorIsExpected("error"));
+        }
+    }
+
     @Test
     public void testRealistic() {
         ExpectedErrors errors = new ExpectedErrors();
@@ -37,4 +50,41 @@ public class TestExpectedErrors {
         assertTrue(errors.errorIsExpected("PRIMARY KEY constraint was violated!"));
     }
 
+    @Test
+    public void testOverlapping() {
+        ExpectedErrors errors = ExpectedErrors.from("abcd", "bce", "cf");
+        assertTrue(errors.errorIsExpected("xabcexyz"));
+        assertTrue(errors.errorIsExpected("abcf"));
+        assertTrue(errors.errorIsExpected("abcabcd"));
+        assertFalse(errors.errorIsExpected("abcbcabd"));
+    }
+
+    @Test
+    public void testAddAfterMatching() {
+        ExpectedErrors errors = ExpectedErrors.from("constraint");
+        assertFalse(errors.errorIsExpected("division by zero"));
+        errors.add("division by zero");
+        assertTrue(errors.errorIsExpected("division by zero"));
+        assertTrue(errors.errorIsExpected("UNIQUE constraint failed"));
+    }
+
+    @Test
+    public void testSQLState() {
+        ExpectedErrors errors = new ExpectedErrors().addSQLState("22012").addSQLState("23");
+        assertTrue(errors.exceptionIsExpected(new SQLException("message of another version", "22012")));
+        assertTrue(errors.exceptionIsExpected(new SQLException("duplicate key", "23505")));
+        assertTrue(errors.exceptionIsExpected(new Exception(new SQLException(null, "22012"))));
+        assertFalse(errors.exceptionIsExpected(new SQLException("division by zero", "22003")));
+        assertFalse(errors.exceptionIsExpected(new SQLException("internal error", "XX000")));
+    }
+
+    @Test
+    public void testVendorCode() {
+        ExpectedErrors errors = ExpectedErrors.from("is out of range").addVendorCode(1690);
+        assertTrue(errors.exceptionIsExpected(new SQLException("unknown", "22003", 1690)));
+        assertTrue(errors.exceptionIsExpected(new SQLException("BIGINT value is out of range", "22003", 1264)));
+        assertFalse(errors.exceptionIsExpected(new SQLException("unknown", "22003", 1264)));
+        assertFalse(errors.exceptionIsExpected(new SQLException("unknown")));
+    }
+
 }
@@ -0,0 +1,83 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestMetrics {
+
+    @Test
+    public void testHistogramBuckets() {
+        for (long value : new long[] { 0, 7, 8, 15, 16, 17, 1000, 123_456_789, 1L << 40 }) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            assertTrue(LatencyHistogram.getBucketUpperBound(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.getBucketUpperBound(index - 1) < value);
+            // the bucket is at most 12.5% wider than the value
+            assertTrue(LatencyHistogram.getBucketUpperBound(index) - value <= value / 8);
+        }
+    }
+
+    @Test
+    public void testHistogramQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMin());
+        assertEquals(1_000_000, histogram.getMax());
+        long median = histogram.getValueAtQuantile(0.5);
+        assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8, String.valueOf(median));
+        assertEquals(1_000_000, histogram.getValueAtQuantile(1));
+        assertEquals(1000, histogram.getCountAtMost(10_000_000));
+        assertEquals(0, histogram.getCountAtMost(999));
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        Metrics.enable("sqlite3");
+        Thread other = new Thread(() -> Metrics.recordDuration(Metrics.STATEMENT_DURATION, 2_000_000, "action",
+                "INSERT", "outcome", "success"));
+        other.start();
+        other.join();
+        Metrics.recordDuration(Metrics.STATEMENT_DURATION, 4_000_000, "action", "INSERT", "outcome", "success");
+        String prometheus = MetricsExporter.toPrometheus();
+        assertTrue(prometheus.contains(
+                "sqlancer_statement_duration_seconds_count{dbms=\"sqlite3\",action=\"INSERT\",outcome=\"success\"} 2"),
+                prometheus);
+        assertTrue(prometheus.contains(
+                "sqlancer_statement_duration_seconds_bucket{dbms=\"sqlite3\",action=\"INSERT\",outcome=\"success\",le=\"0.005\"} 2"),
+                prometheus);
+        String json = MetricsExporter.toJson();
+        assertTrue(
+                json.contains(
+                        "\"labels\":{\"dbms\":\"sqlite3\",\"action\":\"INSERT\",\"outcome\":\"success\"},\"count\":2"),
+                json);
+    }
+
+    @Test
+    public void testIgnored() {
+        Metrics.enable("sqlite3");
+        IgnoreMeException e = new IgnoreMeException("no matching table");
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals(IgnoreMeException.UNSPECIFIED_REASON, new IgnoreMeException().getReason());
+        Metrics.ignored("generation", "INSERT", e);
+        Metrics.ignored("generation", "INSERT", e);
+        String prometheus = MetricsExporter.toPrometheus();
+        assertTrue(prometheus.contains(
+                "sqlancer_ignored_total{dbms=\"sqlite3\",phase=\"generation\",source=\"INSERT\",reason=\"no matching table\"} 2"),
+                prometheus);
+    }
+
+    @Test
+    public void testEscaping() {
+        Metrics.enable("sqlite3");
+        Metrics.ignored("generation", "INSERT", new IgnoreMeException("\"a\\b\"\n\tä"));
+        String prometheus = MetricsExporter.toPrometheus();
+        assertTrue(prometheus.contains("reason=\"\\\"a\\\\b\\\"\\n\tä\"} 1"), prometheus);
+        String json = MetricsExporter.toJson();
+        assertTrue(json.contains("\"reason\":\"\\\"a\\\\b\\\"\\n\\u0009ä\""), json);
+    }
+
+}
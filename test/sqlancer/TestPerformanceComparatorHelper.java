@@ -0,0 +1,84 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.PerformanceComparatorHelper.Rewrite;
+
+public class TestPerformanceComparatorHelper {
+
+    @Test
+    public void testRatio() {
+        long referenceNanos = TimeUnit.MILLISECONDS.toNanos(20);
+        assertTrue(PerformanceComparatorHelper.isPerformanceIssue(TimeUnit.MILLISECONDS.toNanos(201), referenceNanos,
+                10, 10));
+        assertFalse(PerformanceComparatorHelper.isPerformanceIssue(TimeUnit.MILLISECONDS.toNanos(200), referenceNanos,
+                10, 10));
+        // the equivalent query being much slower is not an issue
+        assertFalse(
+                PerformanceComparatorHelper.isPerformanceIssue(referenceNanos, TimeUnit.SECONDS.toNanos(1), 10, 10));
+    }
+
+    @Test
+    public void testMinimumRuntime() {
+        assertFalse(PerformanceComparatorHelper.isPerformanceIssue(TimeUnit.MILLISECONDS.toNanos(9), 1000, 10, 10));
+        assertTrue(PerformanceComparatorHelper.isPerformanceIssue(TimeUnit.MILLISECONDS.toNanos(10), 1000, 10, 10));
+    }
+
+    @Test
+    public void testRewrites() {
+        assertArrayEquals(new String[] { "SELECT * FROM t0 WHERE p", "SELECT * FROM t0 WHERE NOT (NOT (p))" },
+                new StringRewriter().rewrite(Rewrite.DOUBLE_NEGATION, "p", "NOT (p)", "(p) IS NULL"));
+        assertArrayEquals(
+                new String[] { "SELECT * FROM t0", "SELECT * FROM t0 WHERE p UNION ALL SELECT * FROM t0 WHERE NOT (p)"
+                        + " UNION ALL SELECT * FROM t0 WHERE (p) IS NULL" },
+                new StringRewriter().rewrite(Rewrite.PARTITIONING, "p", "NOT (p)", "(p) IS NULL"));
+        assertArrayEquals(
+                new String[] { "SELECT COUNT(*) FROM t0 WHERE p",
+                        "SELECT SUM(count) FROM (SELECT (p) IS TRUE AS count FROM t0) as res" },
+                new StringRewriter().rewrite(Rewrite.NO_OPTIMIZATION, "p", "NOT (p)", "(p) IS NULL"));
+    }
+
+    private static class StringRewriter extends PerformanceRewriter<String> {
+
+        private String fetchColumn = "*";
+        private String whereClause;
+
+        @Override
+        protected void setWhereClause(String whereClause) {
+            this.whereClause = whereClause;
+        }
+
+        @Override
+        protected void setFetchColumn(String fetchColumn) {
+            this.fetchColumn = fetchColumn;
+        }
+
+        @Override
+        protected String asString() {
+            return "SELECT " + fetchColumn + " FROM t0" + (whereClause == null ? "" : " WHERE " + whereClause);
+        }
+
+        @Override
+        protected String negatePredicate(String predicate) {
+            return "NOT (" + predicate + ")";
+        }
+
+        @Override
+        protected String getCountColumn() {
+            return "COUNT(*)";
+        }
+
+        @Override
+        protected String getUnoptimizedCountColumn(String predicate) {
+            return "(" + predicate + ") IS TRUE AS count";
+        }
+
+    }
+
+}
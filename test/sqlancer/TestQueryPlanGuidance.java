@@ -0,0 +1,61 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.sqlite3.SQLite3GlobalState;
+
+public class TestQueryPlanGuidance {
+
+    @Test
+    public void testLeastRecentlyUsed() {
+        QueryPlanGuidance guidance = new QueryPlanGuidance(2, 100);
+        assertTrue(guidance.isNewPlan("a"));
+        assertTrue(guidance.isNewPlan("b"));
+        assertFalse(guidance.isNewPlan("a"));
+        // evicts b, which was used less recently than a
+        assertTrue(guidance.isNewPlan("c"));
+        assertFalse(guidance.isNewPlan("a"));
+        assertTrue(guidance.isNewPlan("b"));
+    }
+
+    @Test
+    public void testStagnation() {
+        QueryPlanGuidance guidance = new QueryPlanGuidance(10, 3);
+        guidance.isNewPlan("a");
+        for (int i = 0; i < 3; i++) {
+            assertFalse(guidance.isStagnating());
+            guidance.isNewPlan("a");
+        }
+        assertTrue(guidance.isStagnating());
+        guidance.isNewPlan("b");
+        assertFalse(guidance.isStagnating());
+    }
+
+    @Test
+    public void testSQLite3QueryPlan() throws SQLException {
+        SQLGlobalState<?, ?> state = new SQLite3GlobalState();
+        state.setConnection(new SQLConnection(DriverManager.getConnection("jdbc:sqlite::memory:")));
+        try (Statement s = state.getConnection().createStatement()) {
+            s.execute("CREATE TABLE t0(c0)");
+            s.execute("CREATE TABLE t1(c0)");
+            s.execute("CREATE INDEX i0 ON t0(c0)");
+        }
+        String plan = state.getQueryPlan("SELECT * FROM t0 WHERE c0 = 1");
+        assertEquals("0 SEARCH t USING COVERING INDEX i (c=?)\n", plan);
+        assertEquals(plan, state.getQueryPlan("SELECT * FROM t0 WHERE c0 = 'a'"));
+        assertNotEquals(plan, state.getQueryPlan("SELECT * FROM t0 WHERE c0 + 1 = 1"));
+        assertEquals(state.getQueryPlan("SELECT * FROM t0 WHERE c0 + 1 = 1"),
+                state.getQueryPlan("SELECT * FROM t1 WHERE c0 = 1"));
+        state.getConnection().close();
+    }
+
+}
@@ -0,0 +1,129 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.log.SQLLoggableFactory;
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.sqlite3.SQLite3GlobalState;
+
+public class TestStatementHistory {
+
+    @Test
+    public void testSpilledStatements() {
+        StatementHistory history = new StatementHistory();
+        int nrStatements = 5000;
+        for (int i = 0; i < nrStatements; i++) {
+            // repeated statements are stored only once
+            String statement = i % 3 == 0 ? "VACUUM;" : "INSERT INTO t0 VALUES ('" + i + "ä');";
+            history.add(new SQLQueryAdapter(statement));
+        }
+        SQLQueryAdapter last = new SQLQueryAdapter("SELECT 1;");
+        history.add(last);
+        List<Query<?>> statements = history.asList();
+        assertEquals(nrStatements + 1, statements.size());
+        for (int i = 0; i < nrStatements; i++) {
+            String statement = i % 3 == 0 ? "VACUUM;" : "INSERT INTO t0 VALUES ('" + i + "ä');";
+            assertEquals(statement, statements.get(i).getQueryString());
+            assertEquals(statement, statements.get(i).getLogString());
+        }
+        assertSame(last, statements.get(nrStatements));
+        history.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteSpilledStatements() throws Exception {
+        StatementHistory history = new StatementHistory();
+        history.add(new SQLQueryAdapter("CREATE TABLE t0(c0 INT UNIQUE);", true));
+        history.add(new SQLQueryAdapter("INSERT INTO t0 VALUES (1);"));
+        history.add(new SQLQueryAdapter("INSERT INTO t0 VALUES (1);", ExpectedErrors.from("UNIQUE constraint failed")));
+        history.add(new SQLQueryAdapter("INSERT INTO t1 VALUES (1);"));
+        for (int i = 0; i < 1000; i++) {
+            history.add(new SQLQueryAdapter("SELECT 1;"));
+        }
+        try (SQLConnection con = new SQLConnection(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+            SQLite3GlobalState state = new SQLite3GlobalState();
+            state.setConnection(con);
+            state.setMainOptions(new MainOptions());
+            List<Query<?>> statements = history.asList();
+            assertTrue(statements.get(0).couldAffectSchema());
+            assertTrue(((Query<SQLConnection>) statements.get(0)).execute(state));
+            assertTrue(((Query<SQLConnection>) statements.get(1)).execute(state));
+            // the expected errors were spilled with the statement
+            assertTrue(statements.get(2).getExpectedErrors().errorIsExpected("UNIQUE constraint failed: t0.c0"));
+            assertFalse(((Query<SQLConnection>) statements.get(2)).execute(state));
+            // the table does not exist, which was not expected
+            assertThrows(AssertionError.class, () -> ((Query<SQLConnection>) statements.get(3)).execute(state));
+            try (Statement s = con.createStatement(); ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM t0")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+        } finally {
+            history.close();
+        }
+    }
+
+    @Test
+    public void testStatementsAfterUnspillableStatement() {
+        StatementHistory history = new StatementHistory();
+        history.add(new SQLQueryAdapter("SELECT 1;"));
+        Query<?> last = new SQLLoggableFactory().getQueryForStateToReproduce("SELECT 2;");
+        history.add(new Query<SQLancerDBConnection>() {
+
+            @Override
+            public String getLogString() {
+                return "db.c0.find()";
+            }
+
+            @Override
+            public String getQueryString() {
+                return "db.c0.find()";
+            }
+
+            @Override
+            public String getUnterminatedQueryString() {
+                return "db.c0.find()";
+            }
+
+            @Override
+            public boolean couldAffectSchema() {
+                return false;
+            }
+
+            @Override
+            public <G extends GlobalState<?, ?, SQLancerDBConnection>> boolean execute(G globalState,
+                    String... fills) {
+                return true;
+            }
+
+            @Override
+            public ExpectedErrors getExpectedErrors() {
+                return new ExpectedErrors();
+            }
+        });
+        for (int i = 0; i < 2000; i++) {
+            history.add(last);
+        }
+        List<Query<?>> statements = history.asList();
+        assertEquals(2002, statements.size());
+        // only the statement before the one that cannot be read back from the file was spilled
+        assertEquals("SELECT 1;", statements.get(0).getQueryString());
+        assertEquals("db.c0.find()", statements.get(1).getQueryString());
+        assertSame(last, statements.get(2001));
+        history.close();
+    }
+
+}
@@ -0,0 +1,42 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TestStatementWatchdog {
+
+    @Test
+    public void testKind() {
+        assertEquals("SELECT", StatementWatchdog.getKind("select * FROM t0;"));
+        assertEquals("WITH", StatementWatchdog.getKind("(WITH x AS (SELECT 1) SELECT * FROM x);"));
+        assertEquals("", StatementWatchdog.getKind(";"));
+    }
+
+    @Test
+    public void testFixedBudget() {
+        StatementWatchdog.Durations durations = new StatementWatchdog.Durations(500, 0);
+        for (int i = 0; i < StatementWatchdog.WINDOW_SIZE; i++) {
+            durations.record(TimeUnit.SECONDS.toNanos(10));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), durations.getBudgetNanos());
+    }
+
+    @Test
+    public void testAdaptiveBudget() {
+        StatementWatchdog.Durations durations = new StatementWatchdog.Durations(60_000, 10);
+        assertEquals(TimeUnit.SECONDS.toNanos(60), durations.getBudgetNanos());
+        for (int i = 0; i < StatementWatchdog.WINDOW_SIZE; i++) {
+            durations.record(TimeUnit.MILLISECONDS.toNanos(i < 980 ? 10 : 1000));
+        }
+        // ten times the 99th percentile
+        assertEquals(TimeUnit.SECONDS.toNanos(10), durations.getBudgetNanos());
+        for (int i = 0; i < StatementWatchdog.WINDOW_SIZE; i++) {
+            durations.record(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        assertEquals(StatementWatchdog.MIN_ADAPTIVE_BUDGET_NANOS, durations.getBudgetNanos());
+    }
+
+}
@@ -0,0 +1,81 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.schema.TableRowCounts;
+
+public class TestTableRowCounts {
+
+    @Test
+    public void testSingleTableStatements() {
+        TableRowCounts counts = new TableRowCounts();
+        counts.put("t0", false, 10);
+        counts.put("t1", false, 5);
+        counts.put("v0", true, 3);
+        counts.statementExecuted("INSERT OR IGNORE INTO t0(c0) VALUES (1), (2);", true, 2);
+        assertEquals(12, counts.get("t0", false));
+        assertNull(counts.get("v0", true));
+        counts.statementExecuted("DELETE FROM T0 WHERE c0 > 3;", true, 4);
+        assertEquals(8, counts.get("t0", false));
+        counts.statementExecuted("UPDATE t0 SET c0 = 1;", true, 8);
+        assertEquals(8, counts.get("t0", false));
+        counts.statementExecuted("SELECT COUNT(*) FROM t0;", true, TableRowCounts.UNKNOWN_UPDATE_COUNT);
+        counts.statementExecuted("CREATE INDEX i0 ON t0(c0);", true, 0);
+        assertEquals(8, counts.get("t0", false));
+        counts.statementExecuted("TRUNCATE TABLE t0;", true, 0);
+        assertEquals(0, counts.get("t0", false));
+        counts.statementExecuted("REPLACE INTO t0(c0) VALUES (1);", true, 2);
+        assertNull(counts.get("t0", false));
+        counts.statementExecuted("INSERT INTO t1(c0) VALUES (1);", false, TableRowCounts.UNKNOWN_UPDATE_COUNT);
+        assertNull(counts.get("t1", false));
+    }
+
+    @Test
+    public void testOtherStatements() {
+        TableRowCounts counts = new TableRowCounts();
+        counts.put("t0", false, 10);
+        counts.statementExecuted("INSERT INTO v0(c0) VALUES (1);", true, 1);
+        assertNull(counts.get("t0", false));
+        counts.put("t0", false, 10);
+        counts.statementExecuted("ROLLBACK;", true, 0);
+        assertNull(counts.get("t0", false));
+        counts.put("t0", false, 10);
+        counts.statementExecuted("BEGIN;", true, 0);
+        counts.statementExecuted("INSERT INTO t0(c0) VALUES (1);", true, 1);
+        assertEquals(11, counts.get("t0", false));
+        // the transaction is rolled back if a statement in it failed
+        counts.statementExecuted("COMMIT;", true, 0);
+        assertNull(counts.get("t0", false));
+        counts.statementExecuted("CREATE TRIGGER tr0 AFTER INSERT ON t0 BEGIN DELETE FROM t1; END;", true, 0);
+        counts.put("t0", false, 10);
+        counts.statementExecuted("INSERT INTO t0(c0) VALUES (1);", true, 1);
+        assertNull(counts.get("t0", false));
+    }
+
+    @Test
+    public void testFailedStatementsThatRollBack() {
+        TableRowCounts counts = new TableRowCounts();
+        counts.put("t0", false, 10);
+        counts.put("t1", false, 5);
+        counts.statementExecuted("BEGIN;", true, 0);
+        counts.statementExecuted("INSERT INTO t0(c0) VALUES (1);", true, 1);
+        assertEquals(11, counts.get("t0", false));
+        // the failed statement might have rolled back the insertion into t0
+        counts.statementExecuted("INSERT INTO t1(c0) VALUES (1);", false, TableRowCounts.UNKNOWN_UPDATE_COUNT);
+        assertNull(counts.get("t0", false));
+        counts.statementExecuted("ROLLBACK;", true, 0);
+        counts.put("t0", false, 10);
+        counts.put("t1", false, 5);
+        counts.statementExecuted("INSERT INTO t1(c0) VALUES (1);", false, TableRowCounts.UNKNOWN_UPDATE_COUNT);
+        assertEquals(10, counts.get("t0", false));
+        counts.statementExecuted("CREATE TABLE t2(c0 INT UNIQUE ON CONFLICT ROLLBACK);", true, 0);
+        counts.put("t0", false, 10);
+        counts.put("t2", false, 0);
+        counts.statementExecuted("INSERT INTO t2(c0) VALUES (1), (1);", false, TableRowCounts.UNKNOWN_UPDATE_COUNT);
+        assertNull(counts.get("t0", false));
+    }
+
+}